@@ -0,0 +1,80 @@
+package io.jistud.coindesk.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.jistud.coindesk.CoindeskApplication;
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.service.CoinService;
+
+/**
+ * Measures {@link CoinService#createCoin} throughput for a coin with ten localized names, against
+ * the in-memory H2 database of the {@code test} profile.
+ *
+ * <p>{@code jdbcBatchSize=0} turns Hibernate batching off, so every row is its own INSERT round
+ * trip as it was with IDENTITY ids. {@code jdbcBatchSize=50} is the configured setting, where the
+ * ten i18n rows go out as one JDBC batch and ids come from the pooled sequences.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoinCreateBenchmark {
+
+  private static final int LANGUAGES = 10;
+
+  @Param({"0", "50"})
+  public int jdbcBatchSize;
+
+  private ConfigurableApplicationContext context;
+  private CoinService coinService;
+  private Map<String, String> i18nNames;
+  private long sequence;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(CoindeskApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:coin-create-" + jdbcBatchSize + ";MODE=MySQL",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                "--logging.level.root=WARN");
+    coinService = context.getBean(CoinService.class);
+    i18nNames = new LinkedHashMap<>();
+    for (int i = 0; i < LANGUAGES; i++) {
+      i18nNames.put("l" + i, "Localized name " + i);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Coin createCoinWithTenLanguages() {
+    return coinService.createCoin("Coin " + sequence++, i18nNames);
+  }
+}
@@ -0,0 +1,79 @@
+package io.jistud.coindesk.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jistud.coindesk.dto.CoinDeskResponse;
+import io.jistud.coindesk.service.CoinDeskPayloadParser;
+import io.jistud.coindesk.service.PriceSnapshot;
+
+/**
+ * Compares the streaming {@link CoinDeskPayloadParser} with Jackson databind into {@link
+ * CoinDeskResponse}, which is what {@code RestTemplate.getForObject} did. Run with {@code -prof gc}
+ * to compare allocation per operation as well as latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoinDeskPayloadParserBenchmark {
+
+  static final String PAYLOAD =
+      "{"
+          + "\"time\":{"
+          + "\"updated\":\"Sep 2, 2024 07:07:20 UTC\","
+          + "\"updatedISO\":\"2024-09-02T07:07:20+00:00\","
+          + "\"updateduk\":\"Sep 2, 2024 at 08:07 BST\"},"
+          + "\"disclaimer\":\"just for test\","
+          + "\"chartName\":\"Bitcoin\","
+          + "\"bpi\":{"
+          + "\"USD\":{\"code\":\"USD\",\"symbol\":\"&#36;\",\"rate\":\"57,756.298\","
+          + "\"description\":\"United States Dollar\",\"rate_float\":57756.2984},"
+          + "\"GBP\":{\"code\":\"GBP\",\"symbol\":\"&pound;\",\"rate\":\"43,984.02\","
+          + "\"description\":\"British Pound Sterling\",\"rate_float\":43984.0203},"
+          + "\"EUR\":{\"code\":\"EUR\",\"symbol\":\"&euro;\",\"rate\":\"52,243.287\","
+          + "\"description\":\"Euro\",\"rate_float\":52243.2865}}}";
+
+  private byte[] payload;
+  private ObjectMapper objectMapper;
+  private CoinDeskPayloadParser parser;
+
+  @Setup
+  public void setUp() {
+    payload = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+    objectMapper = new ObjectMapper();
+    parser = new CoinDeskPayloadParser();
+  }
+
+  @Benchmark
+  public CoinDeskResponse jacksonDatabind() throws IOException {
+    return objectMapper.readValue(new ByteArrayInputStream(payload), CoinDeskResponse.class);
+  }
+
+  @Benchmark
+  public PriceSnapshot streamingParser() throws IOException {
+    return parser.parse(new ByteArrayInputStream(payload));
+  }
+
+  @Benchmark
+  public CoinDeskResponse streamingParserToResponse() throws IOException {
+    return parser.parse(new ByteArrayInputStream(payload)).toResponse();
+  }
+}
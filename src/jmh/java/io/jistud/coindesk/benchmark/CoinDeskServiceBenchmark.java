@@ -0,0 +1,121 @@
+package io.jistud.coindesk.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+import io.jistud.coindesk.config.CoinDeskProperties;
+import io.jistud.coindesk.dto.CoinDeskTransformedResponse;
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.entity.CoinI18n;
+import io.jistud.coindesk.repository.CoinRepository;
+import io.jistud.coindesk.service.CoinDeskPayloadParser;
+import io.jistud.coindesk.service.CoinDeskResponseTransformer;
+import io.jistud.coindesk.service.CoinDeskServiceImpl;
+import io.jistud.coindesk.service.CoinI18nIndexHolder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Measures {@link CoinDeskServiceImpl#getTransformedCoinDeskData} with the CoinDesk API stubbed
+ * in-process and the coin repository mocked, so only the service's own work is timed.
+ *
+ * <p>{@code cached} is the steady state, where the price snapshot is fresh and the transformed
+ * response for the language is reused. {@code refreshed} has a zero cache TTL, so every call also
+ * fetches, parses, transforms and serializes a new snapshot. Logging is raised to WARN so the
+ * per-call INFO lines do not dominate either.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoinDeskServiceBenchmark {
+
+  @Param({"zh-TW", "fr"})
+  public String lang;
+
+  private CoinDeskServiceImpl cached;
+  private CoinDeskServiceImpl refreshed;
+
+  @Setup
+  public void setUp() {
+    LoggingSystem.get(getClass().getClassLoader())
+        .setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.WARN);
+
+    Coin bitcoin = new Coin("Bitcoin");
+    bitcoin.setId(1L);
+    bitcoin.addI18nName(new CoinI18n(bitcoin, "zh-TW", "比特幣"));
+    bitcoin.addI18nName(new CoinI18n(bitcoin, "ja", "ビットコイン"));
+    CoinRepository coinRepository = Mockito.mock(CoinRepository.class);
+    when(coinRepository.findAllWithI18nNames()).thenReturn(Collections.singletonList(bitcoin));
+    CoinI18nIndexHolder indexHolder = new CoinI18nIndexHolder(coinRepository);
+    indexHolder.reload();
+
+    cached = service(indexHolder, Duration.ofMinutes(1));
+    refreshed = service(indexHolder, Duration.ZERO);
+    // Fill the caches, and fail the trial early if the stub is broken
+    cached.getTransformedCoinDeskData(lang);
+    refreshed.getTransformedCoinDeskData(lang);
+  }
+
+  @Benchmark
+  public CoinDeskTransformedResponse cached() {
+    return cached.getTransformedCoinDeskData(lang);
+  }
+
+  @Benchmark
+  public CoinDeskTransformedResponse refreshed() {
+    return refreshed.getTransformedCoinDeskData(lang);
+  }
+
+  private static CoinDeskServiceImpl service(CoinI18nIndexHolder indexHolder, Duration ttl) {
+    CoinDeskProperties properties = new CoinDeskProperties();
+    properties.getCache().setTtl(ttl);
+    return new CoinDeskServiceImpl(
+        stubbedRestTemplate(),
+        new CoinDeskPayloadParser(),
+        new CoinDeskResponseTransformer(indexHolder),
+        properties,
+        Jackson2ObjectMapperBuilder.json().build(),
+        event -> {},
+        new SimpleMeterRegistry());
+  }
+
+  /** @return A RestTemplate answering every request with the sample CoinDesk payload */
+  private static RestTemplate stubbedRestTemplate() {
+    byte[] payload = CoinDeskPayloadParserBenchmark.PAYLOAD.getBytes(StandardCharsets.UTF_8);
+    return new RestTemplate(
+        (uri, method) -> {
+          MockClientHttpResponse response = new MockClientHttpResponse(payload, HttpStatus.OK);
+          response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+          MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+          request.setResponse(response);
+          return request;
+        });
+  }
+}
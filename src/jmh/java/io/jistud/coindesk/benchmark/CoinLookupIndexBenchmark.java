@@ -0,0 +1,196 @@
+package io.jistud.coindesk.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the coin lookups that the V4 migration adds indexes for, on in-memory H2 holding
+ * {@code rows} i18n rows, with the schema migrated up to V3 ({@code indexed=false}) or to the
+ * latest version ({@code indexed=true}). The query plan of each lookup is printed during setup.
+ * The name lookups run the SQL of the {@code CoinRepository} queries, with {@code LOWER(name)}
+ * standing in for {@code name_lower} before V4.
+ *
+ * <p>Every coin has {@value #LANGUAGES} localized names, and one coin in {@value
+ * #RARE_LANGUAGE_EVERY} also has a name in the rare language {@value #RARE_LANGUAGE}, so looking
+ * that language up is selective.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CoinLookupIndexBenchmark {
+
+  private static final int LANGUAGES = 4;
+  private static final int RARE_LANGUAGE_EVERY = 100;
+  private static final String RARE_LANGUAGE = "eo";
+  private static final int INSERT_BATCH_SIZE = 1000;
+
+  @Param({"10000", "100000", "1000000"})
+  public int rows;
+
+  @Param({"false", "true"})
+  public boolean indexed;
+
+  private Connection connection;
+  private PreparedStatement byLangCode;
+  private PreparedStatement namesOfCoin;
+  private PreparedStatement byName;
+  private PreparedStatement byNameContainingIgnoreCase;
+  private int coins;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    String url =
+        "jdbc:h2:mem:coin-lookup-" + rows + "-" + indexed + ";MODE=MySQL;DB_CLOSE_DELAY=-1";
+    Flyway.configure()
+        .dataSource(url, "sa", "")
+        .locations("classpath:db/migration/common")
+        .target(indexed ? "latest" : "3")
+        .load()
+        .migrate();
+    connection = DriverManager.getConnection(url, "sa", "");
+    coins = rows / LANGUAGES;
+    load();
+
+    String nameLower = indexed ? "name_lower" : "LOWER(name)";
+    byLangCode =
+        prepare(
+            "SELECT id, coin_id, name FROM coin_i18n WHERE lang_code = '" + RARE_LANGUAGE + "'");
+    namesOfCoin =
+        prepare(
+            "SELECT i.lang_code, i.name FROM coins c JOIN coin_i18n i ON i.coin_id = c.id"
+                + " WHERE c.id = ? ORDER BY i.lang_code");
+    byName = prepare("SELECT id, name, created_at, updated_at FROM coins WHERE name = ?");
+    byNameContainingIgnoreCase =
+        prepare(
+            "SELECT id, name, created_at, updated_at FROM coins WHERE "
+                + nameLower
+                + " LIKE CONCAT('%', LOWER(?), '%') ESCAPE '\\'");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+    }
+    connection.close();
+  }
+
+  @Benchmark
+  public int findByLangCode() throws SQLException {
+    return count(byLangCode);
+  }
+
+  @Benchmark
+  public int findI18nNamesOfCoin() throws SQLException {
+    namesOfCoin.setLong(1, nextCoinId());
+    return count(namesOfCoin);
+  }
+
+  @Benchmark
+  public int findByName() throws SQLException {
+    byName.setString(1, "Coin " + nextCoinId());
+    return count(byName);
+  }
+
+  /** Also matches the coins whose id extends this one's, e.g. "Coin 12" and "Coin 120" for 12. */
+  @Benchmark
+  public int findByNameContainingIgnoreCase() throws SQLException {
+    byNameContainingIgnoreCase.setString(1, "OIN " + nextCoinId());
+    return count(byNameContainingIgnoreCase);
+  }
+
+  private long nextCoinId() {
+    next = next % coins + 1;
+    return next;
+  }
+
+  private void load() throws SQLException {
+    connection.setAutoCommit(false);
+    try (PreparedStatement coin =
+            connection.prepareStatement("INSERT INTO coins (id, name) VALUES (?, ?)");
+        PreparedStatement i18n =
+            connection.prepareStatement(
+                "INSERT INTO coin_i18n (id, coin_id, lang_code, name) VALUES (?, ?, ?, ?)")) {
+      long i18nId = 0;
+      for (long id = 1; id <= coins; id++) {
+        coin.setLong(1, id);
+        coin.setString(2, "Coin " + id);
+        coin.addBatch();
+        for (int lang = 0; lang < LANGUAGES; lang++) {
+          addI18n(i18n, ++i18nId, id, "l" + lang);
+        }
+        if (id % RARE_LANGUAGE_EVERY == 0) {
+          addI18n(i18n, ++i18nId, id, RARE_LANGUAGE);
+        }
+        if (id % INSERT_BATCH_SIZE == 0) {
+          coin.executeBatch();
+          i18n.executeBatch();
+        }
+      }
+      coin.executeBatch();
+      i18n.executeBatch();
+    }
+    connection.commit();
+    connection.setAutoCommit(true);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("ANALYZE");
+    }
+  }
+
+  private static void addI18n(PreparedStatement i18n, long id, long coinId, String langCode)
+      throws SQLException {
+    i18n.setLong(1, id);
+    i18n.setLong(2, coinId);
+    i18n.setString(3, langCode);
+    i18n.setString(4, "Localized coin " + coinId + " (" + langCode + ")");
+    i18n.addBatch();
+  }
+
+  /** Prepares a query and prints its plan, with any parameter bound to 1. */
+  private PreparedStatement prepare(String sql) throws SQLException {
+    try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+      if (sql.contains("?")) {
+        explain.setString(1, "1");
+      }
+      try (ResultSet plan = explain.executeQuery()) {
+        plan.next();
+        System.out.println("rows=" + rows + " indexed=" + indexed + "\n" + plan.getString(1));
+      }
+    }
+    return connection.prepareStatement(sql);
+  }
+
+  private static int count(PreparedStatement query) throws SQLException {
+    int count = 0;
+    try (ResultSet rs = query.executeQuery()) {
+      while (rs.next()) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
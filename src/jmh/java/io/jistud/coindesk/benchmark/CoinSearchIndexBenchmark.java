@@ -0,0 +1,90 @@
+package io.jistud.coindesk.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jistud.coindesk.dto.CoinSearchResult;
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.entity.CoinI18n;
+import io.jistud.coindesk.service.CoinSearchIndex;
+
+/**
+ * Measures {@link CoinSearchIndex} type-ahead lookups over a million names: 250,000 coins with a
+ * default name and three localized names each, built from random syllables. The target is well
+ * under a millisecond per search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CoinSearchIndexBenchmark {
+
+  private static final String[] SYLLABLES = {
+    "bit", "co", "in", "eth", "er", "um", "lite", "doge", "sol", "ana", "ri", "pple", "car", "da",
+    "no", "polka", "dot", "chain", "link", "ton", "tron", "ava", "lanche", "x", "mon", "ero"
+  };
+
+  private static final String[] LANGUAGES = {"ja", "zh-TW", "es"};
+
+  @Param({"250000"})
+  public int coins;
+
+  @Param({"bitco", "chain", "an"})
+  public String query;
+
+  private CoinSearchIndex index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    List<Coin> catalog = new ArrayList<>(coins);
+    for (long id = 1; id <= coins; id++) {
+      Coin coin = new Coin(capitalize(word(random)) + " " + id);
+      coin.setId(id);
+      for (String lang : LANGUAGES) {
+        coin.addI18nName(new CoinI18n(coin, lang, word(random) + "-" + lang + "-" + id));
+      }
+      catalog.add(coin);
+    }
+    index = CoinSearchIndex.of(catalog);
+  }
+
+  @Benchmark
+  public List<CoinSearchResult> searchAllLanguages() {
+    return index.search(query, null, 10);
+  }
+
+  @Benchmark
+  public List<CoinSearchResult> searchOneLanguage() {
+    return index.search(query, "ja", 10);
+  }
+
+  private static String word(Random random) {
+    StringBuilder word = new StringBuilder();
+    int syllables = 2 + random.nextInt(3);
+    for (int i = 0; i < syllables; i++) {
+      word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+    }
+    return word.toString();
+  }
+
+  private static String capitalize(String word) {
+    return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+  }
+}
@@ -0,0 +1,102 @@
+package io.jistud.coindesk.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jistud.coindesk.dto.CoinDeskResponse;
+import io.jistud.coindesk.dto.CoinResponse;
+import io.jistud.coindesk.dto.CoinSummaryDto;
+import io.jistud.coindesk.dto.SerializedJson;
+import io.jistud.coindesk.service.CoinDeskPayloadParser;
+
+/**
+ * Measures Jackson serialization of the response bodies, with a mapper configured like the one
+ * Spring MVC uses. {@code coinDeskResponseSerializedJson} adds the ETag digest that is computed
+ * when a price snapshot is cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+  private static final int LANGUAGES = 10;
+
+  /** Size of the coin summary list; 100 is the default page size and 500 the maximum. */
+  @Param({"100", "500"})
+  public int summaries;
+
+  private ObjectMapper objectMapper;
+  private CoinDeskResponse coinDeskResponse;
+  private CoinResponse coinResponse;
+  private List<CoinSummaryDto> summaryList;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    coinDeskResponse =
+        new CoinDeskPayloadParser()
+            .parse(CoinDeskPayloadParserBenchmark.PAYLOAD.getBytes(StandardCharsets.UTF_8))
+            .toResponse();
+
+    coinResponse = new CoinResponse();
+    coinResponse.setId(1L);
+    coinResponse.setName("Bitcoin");
+    coinResponse.setCreatedAt(LocalDateTime.of(2024, 9, 2, 7, 7, 20));
+    coinResponse.setUpdatedAt(LocalDateTime.of(2024, 9, 2, 7, 7, 20));
+    Map<String, String> i18nNames = new LinkedHashMap<>();
+    for (int i = 0; i < LANGUAGES; i++) {
+      i18nNames.put("lang" + i, "Bitcoin " + i);
+    }
+    coinResponse.setI18nNames(i18nNames);
+
+    summaryList = new ArrayList<>(summaries);
+    for (long id = 1; id <= summaries; id++) {
+      summaryList.add(new CoinSummaryDto(id, "Coin " + id));
+    }
+  }
+
+  @Benchmark
+  public byte[] coinDeskResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(coinDeskResponse);
+  }
+
+  @Benchmark
+  public SerializedJson coinDeskResponseSerializedJson() {
+    return SerializedJson.of(objectMapper, coinDeskResponse);
+  }
+
+  @Benchmark
+  public byte[] coinResponse() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(coinResponse);
+  }
+
+  @Benchmark
+  public byte[] coinSummaryList() throws JsonProcessingException {
+    return objectMapper.writeValueAsBytes(summaryList);
+  }
+}
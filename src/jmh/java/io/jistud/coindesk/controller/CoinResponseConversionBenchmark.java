@@ -0,0 +1,54 @@
+package io.jistud.coindesk.controller;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jistud.coindesk.dto.CoinResponse;
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.entity.CoinI18n;
+
+/**
+ * Measures {@link CoinController#convertToResponse} for a coin with {@code languages} localized
+ * names. Lives in the controller package because that method is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CoinResponseConversionBenchmark {
+
+  @Param({"0", "10"})
+  public int languages;
+
+  private Coin coin;
+
+  @Setup
+  public void setUp() {
+    coin = new Coin("Bitcoin");
+    coin.setId(1L);
+    coin.setCreatedAt(LocalDateTime.of(2024, 9, 2, 7, 7, 20));
+    coin.setUpdatedAt(LocalDateTime.of(2024, 9, 2, 7, 7, 20));
+    for (int i = 0; i < languages; i++) {
+      coin.addI18nName(new CoinI18n(coin, "lang" + i, "Bitcoin " + i));
+    }
+  }
+
+  @Benchmark
+  public CoinResponse convertToResponse() {
+    return CoinController.convertToResponse(coin);
+  }
+}
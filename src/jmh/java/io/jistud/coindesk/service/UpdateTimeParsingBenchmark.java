@@ -0,0 +1,36 @@
+package io.jistud.coindesk.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing of CoinDesk's {@code updatedISO} timestamp by {@link
+ * CoinDeskResponseTransformer#parseUpdateTime}. Lives in the service package because that method
+ * is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateTimeParsingBenchmark {
+
+  // Not final, so the JIT cannot fold the parse into a constant
+  private String updatedIso = "2024-09-02T07:07:20+00:00";
+
+  @Benchmark
+  public LocalDateTime parseUpdateTime() {
+    return CoinDeskResponseTransformer.parseUpdateTime(updatedIso);
+  }
+}
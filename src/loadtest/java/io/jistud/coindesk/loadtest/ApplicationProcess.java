@@ -0,0 +1,127 @@
+package io.jistud.coindesk.loadtest;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.jistud.coindesk.CoindeskApplication;
+
+/**
+ * Runs the application in its own JVM, so the threads and memory it reports are not mixed with
+ * the load generator's. The child JVM gets the runner's class path and JVM options, such as its
+ * heap size, and serves the actuator on a separate management port, so it can still be read while
+ * the request workers are saturated.
+ */
+final class ApplicationProcess implements AutoCloseable {
+
+  private static final long STARTUP_TIMEOUT_MILLIS = 120_000;
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+  private static final long POLL_INTERVAL_MILLIS = 250;
+
+  private final Process process;
+  private final int port;
+  private final int managementPort;
+
+  private ApplicationProcess(Process process, int port, int managementPort) {
+    this.process = process;
+    this.port = port;
+    this.managementPort = managementPort;
+  }
+
+  /**
+   * Starts the application with the {@code loadtest} profile and waits until its health endpoint
+   * answers.
+   *
+   * @param stubUrl URL of the CoinDesk stub, set as {@code coindesk.api-url}
+   * @param properties Application property overrides from the scenario
+   * @return The running application
+   * @throws IOException if the process cannot be started
+   * @throws InterruptedException if interrupted while waiting for startup
+   */
+  static ApplicationProcess start(String stubUrl, Map<String, String> properties)
+      throws IOException, InterruptedException {
+    int port = freePort();
+    int managementPort = freePort();
+    List<String> command = new ArrayList<>();
+    command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+    command.add("-classpath");
+    command.add(System.getProperty("java.class.path"));
+    command.add(CoindeskApplication.class.getName());
+    command.add("--spring.profiles.active=loadtest");
+    command.add("--server.port=" + port);
+    command.add("--management.server.port=" + managementPort);
+    // Publishes tomcat.threads.busy
+    command.add("--server.tomcat.mbeanregistry.enabled=true");
+    command.add("--coindesk.api-url=" + stubUrl);
+    properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+
+    Process process = new ProcessBuilder(command).inheritIO().start();
+    ApplicationProcess application = new ApplicationProcess(process, port, managementPort);
+    try {
+      application.awaitReady();
+    } catch (IOException | InterruptedException | RuntimeException e) {
+      application.close();
+      throw e;
+    }
+    return application;
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private void awaitReady() throws IOException, InterruptedException {
+    long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+    while (System.currentTimeMillis() < deadline) {
+      if (!process.isAlive()) {
+        throw new IllegalStateException(
+            "Application exited during startup with code " + process.exitValue());
+      }
+      try {
+        HttpURLConnection connection =
+            (HttpURLConnection) new URL(getManagementUrl() + "/actuator/health").openConnection();
+        if (connection.getResponseCode() == 200) {
+          return;
+        }
+      } catch (IOException e) {
+        // Not listening yet
+      }
+      Thread.sleep(POLL_INTERVAL_MILLIS);
+    }
+    throw new IOException("Application not ready after " + STARTUP_TIMEOUT_MILLIS + " ms");
+  }
+
+  /** @return The base URL of the application's API */
+  String getBaseUrl() {
+    return "http://localhost:" + port;
+  }
+
+  /** @return The base URL of the application's actuator */
+  String getManagementUrl() {
+    return "http://localhost:" + managementPort;
+  }
+
+  /** @return The port the API is served on, which names its Tomcat connector */
+  int getPort() {
+    return port;
+  }
+
+  /** Stops the application gracefully, or forcibly if it does not stop in time. */
+  @Override
+  public void close() throws InterruptedException {
+    process.destroy();
+    if (!process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+      process.destroyForcibly().waitFor();
+    }
+  }
+}
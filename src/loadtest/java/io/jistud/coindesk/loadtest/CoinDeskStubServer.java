@@ -0,0 +1,106 @@
+package io.jistud.coindesk.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves a fixed CoinDesk price document on a local port, after a configurable delay. Honors
+ * {@code If-None-Match} like the real API's CDN, so revalidations get an empty 304.
+ */
+public class CoinDeskStubServer implements AutoCloseable {
+
+  private static final String PATH = "/coindesk.json";
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final byte[] payload;
+  private final String eTag;
+  private final long latencyMillis;
+  private final long jitterMillis;
+  private final AtomicLong requests = new AtomicLong();
+
+  /**
+   * Starts the stub on an ephemeral loopback port.
+   *
+   * @param upstream Delay to add to every response
+   * @throws IOException if the payload cannot be read or the port cannot be bound
+   */
+  public CoinDeskStubServer(Scenario.Upstream upstream) throws IOException {
+    try (InputStream in = getClass().getResourceAsStream("/coindesk-stub.json")) {
+      payload = StreamUtils.copyToByteArray(in);
+    }
+    eTag = "\"" + DigestUtils.md5DigestAsHex(payload) + "\"";
+    latencyMillis = upstream.getLatencyMillis();
+    jitterMillis = upstream.getJitterMillis();
+
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(PATH, this::handle);
+    // Delayed responses sleep on their own thread, so slow answers never queue behind each other
+    executor = Executors.newCachedThreadPool();
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  /** @return The URL to configure as {@code coindesk.api-url} */
+  public String getUrl() {
+    InetSocketAddress address = server.getAddress();
+    return "http://" + address.getHostString() + ":" + address.getPort() + PATH;
+  }
+
+  /** @return The number of requests served so far */
+  public long getRequestCount() {
+    return requests.get();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      requests.incrementAndGet();
+      delay();
+      exchange.getResponseHeaders().set("ETag", eTag);
+      if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+        exchange.sendResponseHeaders(304, -1);
+        return;
+      }
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, payload.length);
+      try (OutputStream body = exchange.getResponseBody()) {
+        body.write(payload);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private void delay() {
+    long millis =
+        latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis) : 0);
+    if (millis <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.MILLISECONDS.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
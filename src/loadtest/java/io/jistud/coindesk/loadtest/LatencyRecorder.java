@@ -0,0 +1,64 @@
+package io.jistud.coindesk.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records every latency of one kind of request, so percentiles are exact rather than bucketed.
+ * Not thread-safe: each client thread keeps its own recorders, merged once the run is over.
+ */
+class LatencyRecorder {
+
+  private long[] latencies = new long[1024];
+  private int count;
+  private long errors;
+
+  void record(long latencyNanos, boolean success) {
+    if (count == latencies.length) {
+      latencies = Arrays.copyOf(latencies, count * 2);
+    }
+    latencies[count++] = latencyNanos;
+    if (!success) {
+      errors++;
+    }
+  }
+
+  void merge(LatencyRecorder other) {
+    if (count + other.count > latencies.length) {
+      latencies = Arrays.copyOf(latencies, Math.max(count + other.count, latencies.length * 2));
+    }
+    System.arraycopy(other.latencies, 0, latencies, count, other.count);
+    count += other.count;
+    errors += other.errors;
+  }
+
+  /**
+   * Summarizes the recorded latencies.
+   *
+   * @param seconds Length of the recording window, for the throughput
+   * @return Count, errors, throughput and latency percentiles in milliseconds, in report order
+   */
+  Map<String, Object> summarize(double seconds) {
+    long[] sorted = Arrays.copyOf(latencies, count);
+    Arrays.sort(sorted);
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("count", count);
+    summary.put("errors", errors);
+    summary.put("throughput", count / seconds);
+    summary.put("p50Millis", percentileMillis(sorted, 50));
+    summary.put("p99Millis", percentileMillis(sorted, 99));
+    summary.put("p999Millis", percentileMillis(sorted, 99.9));
+    summary.put("maxMillis", count == 0 ? 0.0 : sorted[count - 1] / 1e6);
+    return summary;
+  }
+
+  /** @return The nearest-rank percentile of sorted latencies, in milliseconds */
+  private static double percentileMillis(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0.0;
+    }
+    int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+    return sorted[Math.max(rank, 1) - 1] / 1e6;
+  }
+}
@@ -0,0 +1,356 @@
+package io.jistud.coindesk.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Runs a load-test scenario end to end: starts the CoinDesk stub, starts the application against
+ * it in its own JVM with the {@code loadtest} profile, seeds coins, drives the scenario's traffic
+ * mix and reports latency percentiles and throughput per request, along with the application's
+ * peak threads and heap.
+ *
+ * <p>Usage: {@code LoadTestRunner <scenario> [result directory]}, where the scenario is either the
+ * name of a file under {@code scenarios/} on the classpath or a path to a JSON file.
+ */
+public final class LoadTestRunner {
+
+  private static final int SEED_BATCH_SIZE = 1000;
+  private static final int TIMEOUT_MILLIS = 30_000;
+
+  private final Scenario scenario;
+  private final ObjectMapper objectMapper;
+  private final int[] cumulativeWeights;
+  private final AtomicLong sequence = new AtomicLong();
+  private List<Long> coinIds = Collections.emptyList();
+
+  LoadTestRunner(Scenario scenario, ObjectMapper objectMapper) {
+    if (scenario.getRequests().isEmpty()) {
+      throw new IllegalArgumentException("Scenario " + scenario.getName() + " has no requests");
+    }
+    this.scenario = scenario;
+    this.objectMapper = objectMapper;
+    this.cumulativeWeights = new int[scenario.getRequests().size()];
+    int total = 0;
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      total += scenario.getRequests().get(i).getWeight();
+      cumulativeWeights[i] = total;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 1) {
+      System.err.println("Usage: LoadTestRunner <scenario name or file> [result directory]");
+      System.exit(2);
+    }
+    ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    Scenario scenario = loadScenario(objectMapper, args[0]);
+    // Keep one pooled connection per client thread instead of the JDK default of five
+    System.setProperty("http.maxConnections", String.valueOf(scenario.getThreads()));
+
+    Map<String, Object> report = new LoadTestRunner(scenario, objectMapper).run();
+
+    Path directory = Paths.get(args.length > 1 ? args[1] : "target/loadtest");
+    Files.createDirectories(directory);
+    Path result = directory.resolve(scenario.getName() + ".json");
+    objectMapper.writeValue(result.toFile(), report);
+    System.out.println("Results written to " + result);
+    // Lingering non-daemon threads must not keep the JVM alive
+    System.exit(0);
+  }
+
+  private static Scenario loadScenario(ObjectMapper objectMapper, String nameOrPath)
+      throws IOException {
+    Path path = Paths.get(nameOrPath);
+    if (Files.isRegularFile(path)) {
+      return objectMapper.readValue(path.toFile(), Scenario.class);
+    }
+    String resource = "/scenarios/" + nameOrPath + ".json";
+    try (InputStream in = LoadTestRunner.class.getResourceAsStream(resource)) {
+      if (in == null) {
+        throw new IllegalArgumentException("No scenario file or resource " + nameOrPath);
+      }
+      return objectMapper.readValue(in, Scenario.class);
+    }
+  }
+
+  Map<String, Object> run() throws Exception {
+    try (CoinDeskStubServer stub = new CoinDeskStubServer(scenario.getUpstream());
+        ApplicationProcess application =
+            ApplicationProcess.start(stub.getUrl(), scenario.getProperties())) {
+      String baseUrl = application.getBaseUrl();
+      coinIds = seed(baseUrl);
+
+      long upstreamBefore = stub.getRequestCount();
+      ResourceSampler sampler = new ResourceSampler(application, objectMapper).start();
+      Map<String, LatencyRecorder> recorders;
+      try {
+        recorders = drive(baseUrl);
+      } finally {
+        sampler.close();
+      }
+      long upstreamRequests = stub.getRequestCount() - upstreamBefore;
+
+      Map<String, Object> report = report(recorders, upstreamRequests, sampler.summarize());
+      print(report);
+      return report;
+    }
+  }
+
+  /**
+   * Creates Bitcoin and the scenario's seed coins, each with two localized names.
+   *
+   * @return Ids of the seed coins, not including Bitcoin, so that writes never rename it away
+   *     from the name the transformed endpoint looks up
+   */
+  private List<Long> seed(String baseUrl) throws IOException {
+    List<Map<String, Object>> coins = new ArrayList<>();
+    coins.add(coin("Bitcoin", "比特幣", "ビットコイン"));
+    for (int i = 1; i < scenario.getSeedCoins(); i++) {
+      coins.add(coin("Seed coin " + i, "種子幣 " + i, "シードコイン " + i));
+    }
+
+    List<Long> ids = new ArrayList<>();
+    for (int from = 0; from < coins.size(); from += SEED_BATCH_SIZE) {
+      List<Map<String, Object>> batch =
+          coins.subList(from, Math.min(from + SEED_BATCH_SIZE, coins.size()));
+      Response response =
+          send(baseUrl, "POST", "/api/v1/coins/batch", objectMapper.writeValueAsString(batch));
+      if (response.status != 200) {
+        throw new IllegalStateException("Seeding coins failed with HTTP " + response.status);
+      }
+      for (JsonNode item : objectMapper.readTree(response.body)) {
+        if (item.hasNonNull("id") && !"Bitcoin".equals(item.path("name").asText())) {
+          ids.add(item.get("id").asLong());
+        }
+      }
+    }
+    return ids;
+  }
+
+  private static Map<String, Object> coin(String name, String chinese, String japanese) {
+    Map<String, String> i18nNames = new LinkedHashMap<>();
+    i18nNames.put("zh-TW", chinese);
+    i18nNames.put("ja", japanese);
+    Map<String, Object> coin = new LinkedHashMap<>();
+    coin.put("name", name);
+    coin.put("i18nNames", i18nNames);
+    return coin;
+  }
+
+  /**
+   * Sends the traffic mix from the scenario's client threads for the warm-up and the recorded
+   * duration, and returns the latencies recorded after the warm-up, by request name.
+   */
+  private Map<String, LatencyRecorder> drive(String baseUrl)
+      throws InterruptedException, ExecutionException {
+    long start = System.nanoTime();
+    long recordFrom = start + TimeUnit.SECONDS.toNanos(scenario.getWarmupSeconds());
+    long end = recordFrom + TimeUnit.SECONDS.toNanos(scenario.getDurationSeconds());
+    long interval =
+        scenario.getTargetRate() > 0
+            ? (long) (TimeUnit.SECONDS.toNanos(1) / scenario.getTargetRate())
+            : 0;
+    AtomicLong tickets = new AtomicLong();
+
+    ExecutorService clients = Executors.newFixedThreadPool(scenario.getThreads());
+    List<Future<Map<String, LatencyRecorder>>> results = new ArrayList<>();
+    for (int i = 0; i < scenario.getThreads(); i++) {
+      results.add(
+          clients.submit(
+              () -> {
+                Map<String, LatencyRecorder> recorders = new HashMap<>();
+                while (true) {
+                  // With a target rate each request has a due time, and latency counts from it
+                  long due =
+                      interval > 0
+                          ? start + tickets.getAndIncrement() * interval
+                          : System.nanoTime();
+                  if (due >= end) {
+                    return recorders;
+                  }
+                  sleepUntil(due);
+                  Scenario.RequestSpec request = pick();
+                  boolean success = execute(baseUrl, request);
+                  long latency = System.nanoTime() - due;
+                  if (due >= recordFrom) {
+                    recorders
+                        .computeIfAbsent(request.getName(), name -> new LatencyRecorder())
+                        .record(latency, success);
+                  }
+                }
+              }));
+    }
+    clients.shutdown();
+
+    Map<String, LatencyRecorder> merged = new TreeMap<>();
+    for (Future<Map<String, LatencyRecorder>> result : results) {
+      result
+          .get()
+          .forEach(
+              (name, recorder) ->
+                  merged.computeIfAbsent(name, key -> new LatencyRecorder()).merge(recorder));
+    }
+    return merged;
+  }
+
+  private Scenario.RequestSpec pick() {
+    int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    int i = 0;
+    while (cumulativeWeights[i] <= roll) {
+      i++;
+    }
+    return scenario.getRequests().get(i);
+  }
+
+  private boolean execute(String baseUrl, Scenario.RequestSpec request) {
+    String seq = String.valueOf(sequence.incrementAndGet());
+    String coinId =
+        coinIds.isEmpty()
+            ? "0"
+            : String.valueOf(coinIds.get(ThreadLocalRandom.current().nextInt(coinIds.size())));
+    String path = request.getPath().replace("{seq}", seq).replace("{coinId}", coinId);
+    String body =
+        request.getBody() == null
+            ? null
+            : request.getBody().replace("{seq}", seq).replace("{coinId}", coinId);
+    try {
+      return send(baseUrl, request.getMethod(), path, body).status < 400;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static Response send(String baseUrl, String method, String path, String body)
+      throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+    connection.setRequestMethod(method);
+    connection.setConnectTimeout(TIMEOUT_MILLIS);
+    connection.setReadTimeout(TIMEOUT_MILLIS);
+    connection.setRequestProperty("Accept", "application/json");
+    if (body != null) {
+      connection.setDoOutput(true);
+      connection.setRequestProperty("Content-Type", "application/json");
+      try (OutputStream out = connection.getOutputStream()) {
+        out.write(body.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+    int status = connection.getResponseCode();
+    // Read the body to the end so the connection goes back to the keep-alive pool
+    InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+    byte[] responseBody = new byte[0];
+    if (in != null) {
+      try (InputStream stream = in) {
+        responseBody = StreamUtils.copyToByteArray(stream);
+      }
+    }
+    return new Response(status, responseBody);
+  }
+
+  private static void sleepUntil(long deadline) throws InterruptedException {
+    long remaining = deadline - System.nanoTime();
+    if (remaining > 0) {
+      TimeUnit.NANOSECONDS.sleep(remaining);
+    }
+  }
+
+  private Map<String, Object> report(
+      Map<String, LatencyRecorder> recorders,
+      long upstreamRequests,
+      Map<String, Object> resources) {
+    double seconds = scenario.getDurationSeconds();
+    LatencyRecorder total = new LatencyRecorder();
+    Map<String, Object> requests = new LinkedHashMap<>();
+    recorders.forEach(
+        (name, recorder) -> {
+          requests.put(name, recorder.summarize(seconds));
+          total.merge(recorder);
+        });
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("scenario", scenario.getName());
+    report.put("durationSeconds", scenario.getDurationSeconds());
+    report.put("threads", scenario.getThreads());
+    report.put("targetRate", scenario.getTargetRate());
+    report.put("upstreamLatencyMillis", scenario.getUpstream().getLatencyMillis());
+    report.put("upstreamJitterMillis", scenario.getUpstream().getJitterMillis());
+    report.put("upstreamRequests", upstreamRequests);
+    report.put(
+        "virtualThreads",
+        Boolean.parseBoolean(
+            scenario.getProperties().getOrDefault("coindesk.virtual-threads.enabled", "false")));
+    // Read from the application's actuator, so the client threads are not counted
+    report.put("resources", resources);
+    report.put("total", total.summarize(seconds));
+    report.put("requests", requests);
+    return report;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void print(Map<String, Object> report) {
+    String format = "%-24s %9s %7s %9s %9s %9s %9s %9s%n";
+    System.out.printf(
+        "%nScenario %s: %s s recorded, %s upstream calls%n",
+        report.get("scenario"), report.get("durationSeconds"), report.get("upstreamRequests"));
+    System.out.printf(
+        format, "request", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+    Map<String, Object> rows = new LinkedHashMap<>((Map<String, Object>) report.get("requests"));
+    rows.put("TOTAL", report.get("total"));
+    rows.forEach(
+        (name, value) -> {
+          Map<String, Object> row = (Map<String, Object>) value;
+          System.out.printf(
+              format,
+              name,
+              row.get("count"),
+              row.get("errors"),
+              String.format("%.1f", (Double) row.get("throughput")),
+              String.format("%.2f", (Double) row.get("p50Millis")),
+              String.format("%.2f", (Double) row.get("p99Millis")),
+              String.format("%.2f", (Double) row.get("p999Millis")),
+              String.format("%.2f", (Double) row.get("maxMillis")));
+        });
+    Map<String, Object> resources = (Map<String, Object>) report.get("resources");
+    System.out.printf(
+        "Application peak platform threads %s, busy Tomcat workers %s, heap used %s MB%n",
+        resources.get("peakPlatformThreads"),
+        resources.get("peakBusyWorkers"),
+        resources.get("peakHeapUsedMb"));
+  }
+
+  private static final class Response {
+    private final int status;
+    private final byte[] body;
+
+    private Response(int status, byte[] body) {
+      this.status = status;
+      this.body = body;
+    }
+  }
+}
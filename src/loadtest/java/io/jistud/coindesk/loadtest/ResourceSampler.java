@@ -0,0 +1,101 @@
+package io.jistud.coindesk.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Samples the application's live platform threads, busy Tomcat worker threads and used heap from
+ * its actuator while a scenario runs, and keeps the peak of each. The application runs in its own
+ * process, so the load generator's client threads are not counted. Virtual threads are not
+ * platform threads and do not show up in the thread count, which is what makes it useful for
+ * comparing the two threading modes.
+ */
+final class ResourceSampler implements AutoCloseable {
+
+  private static final long INTERVAL_MILLIS = 250;
+  private static final int TIMEOUT_MILLIS = 5_000;
+
+  private final String metricsUrl;
+  private final String connectorName;
+  private final ObjectMapper objectMapper;
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-sampler");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private volatile long peakThreads = -1;
+  private volatile long peakBusyWorkers = -1;
+  private volatile long peakHeapBytes = -1;
+
+  /**
+   * @param application The application to sample
+   * @param objectMapper Mapper to read the actuator's responses with
+   */
+  ResourceSampler(ApplicationProcess application, ObjectMapper objectMapper) {
+    this.metricsUrl = application.getManagementUrl() + "/actuator/metrics/";
+    this.connectorName = "http-nio-" + application.getPort();
+    this.objectMapper = objectMapper;
+  }
+
+  ResourceSampler start() {
+    executor.scheduleAtFixedRate(this::sample, 0, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    return this;
+  }
+
+  private void sample() {
+    peakThreads = Math.max(peakThreads, metric("jvm.threads.live"));
+    peakBusyWorkers =
+        Math.max(peakBusyWorkers, metric("tomcat.threads.busy?tag=name:" + connectorName));
+    peakHeapBytes = Math.max(peakHeapBytes, metric("jvm.memory.used?tag=area:heap"));
+  }
+
+  /** @return The metric's current value, or -1 if the application does not publish it */
+  private long metric(String nameAndTags) {
+    try {
+      HttpURLConnection connection =
+          (HttpURLConnection) new URL(metricsUrl + nameAndTags).openConnection();
+      connection.setConnectTimeout(TIMEOUT_MILLIS);
+      connection.setReadTimeout(TIMEOUT_MILLIS);
+      if (connection.getResponseCode() != 200) {
+        return -1;
+      }
+      try (InputStream in = connection.getInputStream()) {
+        JsonNode value = objectMapper.readTree(in).path("measurements").path(0).path("value");
+        return value.isNumber() ? value.asLong() : -1;
+      }
+    } catch (IOException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * @return Peak live platform threads, busy Tomcat workers and heap in megabytes; each is -1 when
+   *     unavailable, e.g. busy workers while requests run on virtual threads
+   */
+  Map<String, Object> summarize() {
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("peakPlatformThreads", peakThreads);
+    summary.put("peakBusyWorkers", peakBusyWorkers);
+    summary.put("peakHeapUsedMb", peakHeapBytes < 0 ? -1 : peakHeapBytes / (1024 * 1024));
+    return summary;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    sample();
+  }
+}
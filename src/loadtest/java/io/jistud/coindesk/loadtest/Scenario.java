@@ -0,0 +1,206 @@
+package io.jistud.coindesk.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A load-test scenario, bound from a JSON file under {@code src/loadtest/resources/scenarios}.
+ *
+ * <p>Request paths and bodies may contain {@code {coinId}}, replaced by the id of a random seeded
+ * coin, and {@code {seq}}, replaced by a number unique within the run.
+ */
+public class Scenario {
+
+  private String name;
+  private String description;
+
+  /** Seconds of traffic before recording starts, to let the JIT and caches warm up. */
+  private int warmupSeconds = 10;
+
+  /** Seconds of recorded traffic. */
+  private int durationSeconds = 60;
+
+  /** Number of concurrent client threads. */
+  private int threads = 16;
+
+  /**
+   * Requests per second across all threads, or 0 to send as fast as the threads allow. With a rate,
+   * latency is measured from when a request was due rather than when it was sent, so time spent
+   * queued behind slow requests counts.
+   */
+  private double targetRate;
+
+  /** Coins created before the run, for {@code {coinId}} to pick from. */
+  private int seedCoins = 100;
+
+  private Upstream upstream = new Upstream();
+
+  /** Application properties overriding {@code application-loadtest.properties}. */
+  private Map<String, String> properties = new LinkedHashMap<>();
+
+  private List<RequestSpec> requests = new ArrayList<>();
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public void setDescription(String description) {
+    this.description = description;
+  }
+
+  public int getWarmupSeconds() {
+    return warmupSeconds;
+  }
+
+  public void setWarmupSeconds(int warmupSeconds) {
+    this.warmupSeconds = warmupSeconds;
+  }
+
+  public int getDurationSeconds() {
+    return durationSeconds;
+  }
+
+  public void setDurationSeconds(int durationSeconds) {
+    this.durationSeconds = durationSeconds;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+  public double getTargetRate() {
+    return targetRate;
+  }
+
+  public void setTargetRate(double targetRate) {
+    this.targetRate = targetRate;
+  }
+
+  public int getSeedCoins() {
+    return seedCoins;
+  }
+
+  public void setSeedCoins(int seedCoins) {
+    this.seedCoins = seedCoins;
+  }
+
+  public Upstream getUpstream() {
+    return upstream;
+  }
+
+  public void setUpstream(Upstream upstream) {
+    this.upstream = upstream;
+  }
+
+  public Map<String, String> getProperties() {
+    return properties;
+  }
+
+  public void setProperties(Map<String, String> properties) {
+    this.properties = properties;
+  }
+
+  public List<RequestSpec> getRequests() {
+    return requests;
+  }
+
+  public void setRequests(List<RequestSpec> requests) {
+    this.requests = requests;
+  }
+
+  /** Behaviour of the stubbed CoinDesk API. */
+  public static class Upstream {
+
+    /** Minimum response delay in milliseconds. */
+    private long latencyMillis;
+
+    /** Extra delay, uniformly distributed between 0 and this many milliseconds. */
+    private long jitterMillis;
+
+    public long getLatencyMillis() {
+      return latencyMillis;
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+      this.latencyMillis = latencyMillis;
+    }
+
+    public long getJitterMillis() {
+      return jitterMillis;
+    }
+
+    public void setJitterMillis(long jitterMillis) {
+      this.jitterMillis = jitterMillis;
+    }
+  }
+
+  /** One kind of request in the traffic mix. */
+  public static class RequestSpec {
+
+    /** Name the request's latencies are reported under. */
+    private String name;
+
+    private String method = "GET";
+    private String path;
+
+    /** JSON request body, if any. */
+    private String body;
+
+    /** Relative share of the traffic. */
+    private int weight = 1;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getMethod() {
+      return method;
+    }
+
+    public void setMethod(String method) {
+      this.method = method;
+    }
+
+    public String getPath() {
+      return path;
+    }
+
+    public void setPath(String path) {
+      this.path = path;
+    }
+
+    public String getBody() {
+      return body;
+    }
+
+    public void setBody(String body) {
+      this.body = body;
+    }
+
+    public int getWeight() {
+      return weight;
+    }
+
+    public void setWeight(int weight) {
+      this.weight = weight;
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package db.migration.common;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Creates the sequences the {@code coins} and {@code coin_i18n} ids are now drawn from. Each
+ * sequence starts after the highest id already in its table, so existing rows keep their ids.
+ *
+ * <p>The increment must match the {@code increment_size} of the entity id generators: with the
+ * pooled-lo optimizer, every value read from a sequence reserves that many ids.
+ */
+public class V3__Create_id_sequences extends BaseJavaMigration {
+
+  static final int ALLOCATION_SIZE = 50;
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    createSequence(connection, "coins_seq", "coins");
+    createSequence(connection, "coin_i18n_seq", "coin_i18n");
+  }
+
+  private static void createSequence(Connection connection, String sequence, String table)
+      throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      long start;
+      try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+        rs.next();
+        start = rs.getLong(1);
+      }
+      statement.execute(
+          "CREATE SEQUENCE "
+              + sequence
+              + " START WITH "
+              + start
+              + " INCREMENT BY "
+              + ALLOCATION_SIZE);
+    }
+  }
+}
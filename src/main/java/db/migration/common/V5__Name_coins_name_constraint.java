@@ -0,0 +1,57 @@
+package db.migration.common;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Names the unique constraint on {@code coins.name} {@code uk_coins_name}, as the {@code Coin}
+ * entity declares it. V1 created it unnamed, so the database generated a name, and a duplicate
+ * name could not be told apart from any other integrity violation by the constraint it broke.
+ *
+ * <p>The constraint is dropped and recreated rather than renamed: H2 reports the index behind a
+ * unique constraint, and only a new constraint gets an index named after it.
+ */
+public class V5__Name_coins_name_constraint extends BaseJavaMigration {
+
+  static final String CONSTRAINT = "uk_coins_name";
+
+  @Override
+  public void migrate(Context context) throws SQLException {
+    Connection connection = context.getConnection();
+    String generated = findNameConstraint(connection);
+    if (CONSTRAINT.equalsIgnoreCase(generated)) {
+      return;
+    }
+    try (Statement statement = connection.createStatement()) {
+      if (generated != null) {
+        statement.execute("ALTER TABLE coins DROP CONSTRAINT " + generated);
+      }
+      statement.execute("ALTER TABLE coins ADD CONSTRAINT " + CONSTRAINT + " UNIQUE (name)");
+    }
+  }
+
+  /** @return The unique constraint covering only {@code coins.name}, or null if there is none */
+  private static String findNameConstraint(Connection connection) throws SQLException {
+    try (PreparedStatement query =
+        connection.prepareStatement(
+            "SELECT tc.constraint_name FROM information_schema.table_constraints tc"
+                + " JOIN information_schema.key_column_usage k"
+                + " ON k.constraint_schema = tc.constraint_schema"
+                + " AND k.constraint_name = tc.constraint_name"
+                + " WHERE tc.constraint_type = 'UNIQUE' AND tc.table_schema = ?"
+                + " AND UPPER(tc.table_name) = 'COINS'"
+                + " GROUP BY tc.constraint_name"
+                + " HAVING COUNT(*) = 1 AND MAX(UPPER(k.column_name)) = 'NAME'")) {
+      query.setString(1, connection.getSchema());
+      try (ResultSet rs = query.executeQuery()) {
+        return rs.next() ? rs.getString(1) : null;
+      }
+    }
+  }
+}
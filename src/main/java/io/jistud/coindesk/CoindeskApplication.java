@@ -2,11 +2,32 @@ package io.jistud.coindesk;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.jistud.coindesk.config.CoinDeskProperties;
+import io.jistud.coindesk.config.StartupTimelineReporter;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class CoindeskApplication {
 
+  /** Startup steps kept for the timeline; a context refresh records a few thousand. */
+  static final int STARTUP_TIMELINE_CAPACITY = 10_000;
+
   public static void main(String[] args) {
-    SpringApplication.run(CoindeskApplication.class, args);
+    ConfigurableApplicationContext context = application().run(args);
+    if (context.getBean(CoinDeskProperties.class).getStartup().isExitOnReady()) {
+      System.exit(SpringApplication.exit(context));
+    }
+  }
+
+  /** @return The application, recording a startup timeline that is reported once it is ready */
+  static SpringApplication application() {
+    SpringApplication application = new SpringApplication(CoindeskApplication.class);
+    application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_TIMELINE_CAPACITY));
+    application.addListeners(new StartupTimelineReporter());
+    return application;
   }
 }
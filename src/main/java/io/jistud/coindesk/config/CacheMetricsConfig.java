@@ -0,0 +1,99 @@
+package io.jistud.coindesk.config;
+
+import java.lang.management.ManagementFactory;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.entity.CoinI18n;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Metrics for the Hibernate second-level cache regions and the query cache, read from the JCache
+ * statistics Ehcache keeps per cache rather than from Hibernate statistics, so they work without
+ * {@code hibernate.generate_statistics}. Each region gets the {@link JCacheMetrics} meters ({@code
+ * cache.gets}, {@code cache.puts}, ...) and a hit-ratio gauge tagged by {@code region}.
+ */
+@Configuration
+public class CacheMetricsConfig {
+
+  private static final String[] ENTITY_REGIONS = {
+    Coin.CACHE_REGION, Coin.I18N_NAMES_CACHE_REGION, CoinI18n.CACHE_REGION
+  };
+
+  private static final String QUERY_REGION = "default-query-results-region";
+
+  @Bean
+  public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+    RegionFactory regionFactory =
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+    return registry -> {
+      // No JCache regions when the second-level cache is turned off
+      if (!(regionFactory instanceof JCacheRegionFactory)) {
+        return;
+      }
+      CacheManager cacheManager = ((JCacheRegionFactory) regionFactory).getCacheManager();
+      for (String region : ENTITY_REGIONS) {
+        monitor(registry, cacheManager, "coindesk.cache.l2.hit.ratio", region);
+      }
+      monitor(registry, cacheManager, "coindesk.cache.query.hit.ratio", QUERY_REGION);
+    };
+  }
+
+  private static void monitor(
+      MeterRegistry registry, CacheManager cacheManager, String hitRatioName, String region) {
+    Cache<Object, Object> cache = cacheManager.getCache(region);
+    if (cache == null) {
+      return;
+    }
+    cacheManager.enableStatistics(region, true);
+    JCacheMetrics.monitor(registry, cache, Tags.empty());
+    Gauge.builder(hitRatioName, statistics(cacheManager, region), CacheMetricsConfig::hitRatio)
+        .description("Share of cache lookups served from the cache since startup")
+        .tag("region", region)
+        .register(registry);
+  }
+
+  /** The statistics MBean the JCache provider registers once statistics are enabled. */
+  private static CacheStatisticsMXBean statistics(CacheManager cacheManager, String cacheName) {
+    try {
+      ObjectName name =
+          new ObjectName(
+              "javax.cache:type=CacheStatistics,CacheManager="
+                  + mbeanSafe(cacheManager.getURI().toString())
+                  + ",Cache="
+                  + mbeanSafe(cacheName));
+      return JMX.newMXBeanProxy(
+          ManagementFactory.getPlatformMBeanServer(), name, CacheStatisticsMXBean.class);
+    } catch (MalformedObjectNameException e) {
+      throw new IllegalStateException("Invalid statistics MBean name for cache " + cacheName, e);
+    }
+  }
+
+  /** Replaces the characters JCache providers replace in MBean key values. */
+  private static String mbeanSafe(String value) {
+    return value.replaceAll("[,:=\n]", ".");
+  }
+
+  private static double hitRatio(CacheStatisticsMXBean statistics) {
+    long hits = statistics.getCacheHits();
+    long lookups = hits + statistics.getCacheMisses();
+    return lookups == 0 ? Double.NaN : (double) hits / lookups;
+  }
+}
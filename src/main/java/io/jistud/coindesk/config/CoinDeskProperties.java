@@ -0,0 +1,363 @@
+package io.jistud.coindesk.config;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Configuration properties for the CoinDesk integration, bound from {@code coindesk.*}. */
+@ConfigurationProperties(prefix = "coindesk")
+public class CoinDeskProperties {
+
+  /** URL of the CoinDesk price document. */
+  private String apiUrl = "https://kengp3.github.io/blog/coindesk.json";
+
+  private final Cache cache = new Cache();
+  private final Poller poller = new Poller();
+  private final Http http = new Http();
+  private final Stream stream = new Stream();
+  private final Metrics metrics = new Metrics();
+  private final VirtualThreads virtualThreads = new VirtualThreads();
+  private final Startup startup = new Startup();
+
+  public String getApiUrl() {
+    return apiUrl;
+  }
+
+  public void setApiUrl(String apiUrl) {
+    this.apiUrl = apiUrl;
+  }
+
+  public Cache getCache() {
+    return cache;
+  }
+
+  public Poller getPoller() {
+    return poller;
+  }
+
+  public Http getHttp() {
+    return http;
+  }
+
+  public Stream getStream() {
+    return stream;
+  }
+
+  public Metrics getMetrics() {
+    return metrics;
+  }
+
+  public VirtualThreads getVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public Startup getStartup() {
+    return startup;
+  }
+
+  /** Settings for the in-process CoinDesk price snapshot cache. */
+  public static class Cache {
+
+    /** How long a fetched price snapshot is served before the upstream is called again. */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    public Duration getTtl() {
+      return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+      this.ttl = ttl;
+    }
+  }
+
+  /** Settings for the background poller that keeps the price snapshot hot. */
+  public static class Poller {
+
+    /**
+     * Whether to refresh the price snapshot on a fixed interval. When enabled, requests always get
+     * the last good snapshot and never wait on the upstream once the first fetch has completed.
+     */
+    private boolean enabled = false;
+
+    /** Delay between the end of one refresh and the start of the next. */
+    private Duration interval = Duration.ofSeconds(10);
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Duration getInterval() {
+      return interval;
+    }
+
+    public void setInterval(Duration interval) {
+      this.interval = interval;
+    }
+  }
+
+  /** Settings for the pooled HTTP client used to call the CoinDesk API. */
+  public static class Http {
+
+    /** Maximum number of pooled connections across all routes. */
+    private int maxTotal = 50;
+
+    /** Maximum number of pooled connections to a single host. */
+    private int maxPerRoute = 20;
+
+    /** Timeout for establishing a TCP connection. */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /** Timeout waiting for data once connected (socket read timeout). */
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    /** Timeout waiting to lease a connection from the pool when all are in use. */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    /** Upper bound on how long an idle connection is kept alive for reuse. */
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /** Idle connections older than this are closed by a background evictor. */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /** Maximum lifetime of a pooled connection, regardless of activity. */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    /** Pooled connections idle for longer than this are re-validated before being leased. */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+    /** Number of TLS sessions cached for abbreviated handshakes on new connections. */
+    private int tlsSessionCacheSize = 100;
+
+    /** How long a cached TLS session may be resumed. */
+    private Duration tlsSessionTimeout = Duration.ofHours(1);
+
+    public int getMaxTotal() {
+      return maxTotal;
+    }
+
+    public void setMaxTotal(int maxTotal) {
+      this.maxTotal = maxTotal;
+    }
+
+    public int getMaxPerRoute() {
+      return maxPerRoute;
+    }
+
+    public void setMaxPerRoute(int maxPerRoute) {
+      this.maxPerRoute = maxPerRoute;
+    }
+
+    public Duration getConnectTimeout() {
+      return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+      return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+      this.readTimeout = readTimeout;
+    }
+
+    public Duration getConnectionRequestTimeout() {
+      return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+      this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    public Duration getKeepAlive() {
+      return keepAlive;
+    }
+
+    public void setKeepAlive(Duration keepAlive) {
+      this.keepAlive = keepAlive;
+    }
+
+    public Duration getIdleTimeout() {
+      return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+      this.idleTimeout = idleTimeout;
+    }
+
+    public Duration getTimeToLive() {
+      return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+      this.timeToLive = timeToLive;
+    }
+
+    public Duration getValidateAfterInactivity() {
+      return validateAfterInactivity;
+    }
+
+    public void setValidateAfterInactivity(Duration validateAfterInactivity) {
+      this.validateAfterInactivity = validateAfterInactivity;
+    }
+
+    public int getTlsSessionCacheSize() {
+      return tlsSessionCacheSize;
+    }
+
+    public void setTlsSessionCacheSize(int tlsSessionCacheSize) {
+      this.tlsSessionCacheSize = tlsSessionCacheSize;
+    }
+
+    public Duration getTlsSessionTimeout() {
+      return tlsSessionTimeout;
+    }
+
+    public void setTlsSessionTimeout(Duration tlsSessionTimeout) {
+      this.tlsSessionTimeout = tlsSessionTimeout;
+    }
+  }
+
+  /** Settings for the server-sent price stream. */
+  public static class Stream {
+
+    /** Maximum number of concurrent stream subscribers; further subscriptions are refused. */
+    private int maxSubscribers = 10_000;
+
+    /** Threads shared by all subscribers for writing updates. */
+    private int fanoutThreads = 2;
+
+    /**
+     * A subscriber still busy with an earlier update has newer ones conflated into the latest
+     * snapshot; after this many consecutive conflations it is treated as too slow and evicted.
+     */
+    private int maxSkippedUpdates = 3;
+
+    /**
+     * Longest a single write to a subscriber may block, e.g. on a client that stopped reading,
+     * before the subscriber is evicted and an extra fan-out thread stands in for the blocked one.
+     */
+    private Duration writeTimeout = Duration.ofSeconds(10);
+
+    /** How long a stream stays open before the client has to reconnect. */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    public int getMaxSubscribers() {
+      return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(int maxSubscribers) {
+      this.maxSubscribers = maxSubscribers;
+    }
+
+    public int getFanoutThreads() {
+      return fanoutThreads;
+    }
+
+    public void setFanoutThreads(int fanoutThreads) {
+      this.fanoutThreads = fanoutThreads;
+    }
+
+    public int getMaxSkippedUpdates() {
+      return maxSkippedUpdates;
+    }
+
+    public void setMaxSkippedUpdates(int maxSkippedUpdates) {
+      this.maxSkippedUpdates = maxSkippedUpdates;
+    }
+
+    public Duration getWriteTimeout() {
+      return writeTimeout;
+    }
+
+    public void setWriteTimeout(Duration writeTimeout) {
+      this.writeTimeout = writeTimeout;
+    }
+
+    public Duration getTimeout() {
+      return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+      this.timeout = timeout;
+    }
+  }
+
+  /** Settings for the application's metrics. */
+  public static class Metrics {
+
+    /**
+     * Language codes reported as themselves in the {@code lang} tag of request metrics. Any other
+     * requested language is reported as {@code other}, so arbitrary values cannot create series.
+     */
+    private Set<String> langTags = new LinkedHashSet<>();
+
+    public Set<String> getLangTags() {
+      return langTags;
+    }
+
+    public void setLangTags(Set<String> langTags) {
+      this.langTags = langTags;
+    }
+  }
+
+  /** Settings for running request handling and scheduled tasks on virtual threads. */
+  public static class VirtualThreads {
+
+    /** Whether to use virtual threads; needs a Java 21 runtime. */
+    private boolean enabled;
+
+    /** Shortest time a virtual thread may stay pinned to its carrier before it is reported. */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public Duration getPinnedThreshold() {
+      return pinnedThreshold;
+    }
+
+    public void setPinnedThreshold(Duration pinnedThreshold) {
+      this.pinnedThreshold = pinnedThreshold;
+    }
+  }
+
+  /** Settings for the startup timeline report. */
+  public static class Startup {
+
+    /** How many of the slowest startup steps to log once the application is ready; 0 for none. */
+    private int reportSteps = 10;
+
+    /** Whether to exit as soon as the application is ready, as in the AppCDS training run. */
+    private boolean exitOnReady;
+
+    public int getReportSteps() {
+      return reportSteps;
+    }
+
+    public void setReportSteps(int reportSteps) {
+      this.reportSteps = reportSteps;
+    }
+
+    public boolean isExitOnReady() {
+      return exitOnReady;
+    }
+
+    public void setExitOnReady(boolean exitOnReady) {
+      this.exitOnReady = exitOnReady;
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package io.jistud.coindesk.config;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.web.reactive.server.WebFluxTagsContributor;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Metrics on top of those Actuator binds by default (JVM, GC, Hikari pool, {@code
+ * http.server.requests} and {@code http.client.requests}). Request metrics get a {@code lang} tag
+ * bucketed to {@code coindesk.metrics.lang-tags}, and repository calls are timed as {@value
+ * RepositoryMetricsPostProcessor#METRIC_NAME}.
+ */
+@Configuration
+public class MetricsConfig {
+
+  static final String LANG_TAG = "lang";
+
+  @Bean
+  @Profile("!reactive")
+  public WebMvcTagsContributor langWebMvcTagsContributor(CoinDeskProperties properties) {
+    LangTags langTags = new LangTags(properties.getMetrics().getLangTags());
+    return new WebMvcTagsContributor() {
+      @Override
+      public Iterable<Tag> getTags(
+          HttpServletRequest request,
+          HttpServletResponse response,
+          Object handler,
+          Throwable exception) {
+        return Tags.of(LANG_TAG, langTags.of(request.getParameter("lang")));
+      }
+
+      @Override
+      public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.empty();
+      }
+    };
+  }
+
+  @Bean
+  @Profile("reactive")
+  public WebFluxTagsContributor langWebFluxTagsContributor(CoinDeskProperties properties) {
+    LangTags langTags = new LangTags(properties.getMetrics().getLangTags());
+    return (exchange, exception) ->
+        Tags.of(LANG_TAG, langTags.of(exchange.getRequest().getQueryParams().getFirst("lang")));
+  }
+
+  // Static, so the post-processor does not force this configuration to be created early
+  @Bean
+  public static BeanPostProcessor repositoryMetricsPostProcessor(
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    return new RepositoryMetricsPostProcessor(meterRegistry);
+  }
+
+  /** Maps requested language codes onto a fixed set of tag values. */
+  static final class LangTags {
+
+    static final String NONE = "none";
+    static final String OTHER = "other";
+
+    private final Map<String, String> known = new HashMap<>();
+
+    LangTags(Collection<String> langCodes) {
+      for (String langCode : langCodes) {
+        known.put(normalize(langCode), langCode);
+      }
+    }
+
+    /**
+     * @param langCode Requested language code, possibly null
+     * @return The configured spelling of the code, {@value #NONE} if none was requested, or
+     *     {@value #OTHER} for a code that is not configured
+     */
+    String of(String langCode) {
+      if (langCode == null || langCode.trim().isEmpty()) {
+        return NONE;
+      }
+      return known.getOrDefault(normalize(langCode), OTHER);
+    }
+
+    private static String normalize(String langCode) {
+      return langCode.trim().replace('_', '-').toLowerCase(Locale.ROOT);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package io.jistud.coindesk.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ReflectionUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every call to a repository bean, Spring Data or plain JDBC {@code @Repository}, tagged
+ * with the bean name, the method and whether it threw. Methods returning a stream are timed up to
+ * the stream being returned, not while it is consumed.
+ */
+class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+  static final String METRIC_NAME = "coindesk.repository.invocations";
+
+  private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+  // Resolved on first use: post-processors are created before the registry exists
+  private volatile MeterRegistry meterRegistry;
+
+  RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+    this.meterRegistryProvider = meterRegistryProvider;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (!(bean instanceof Repository)
+        && !AnnotatedElementUtils.hasAnnotation(
+            AopUtils.getTargetClass(bean), org.springframework.stereotype.Repository.class)) {
+      return bean;
+    }
+    TimingInterceptor interceptor = new TimingInterceptor(beanName);
+    if (bean instanceof Advised && !((Advised) bean).isFrozen()) {
+      // Spring Data repositories are proxies already; time the whole chain, transaction included
+      ((Advised) bean).addAdvice(0, interceptor);
+      return bean;
+    }
+    ProxyFactory proxyFactory = new ProxyFactory(bean);
+    proxyFactory.setProxyTargetClass(proxyFactory.getProxiedInterfaces().length == 0);
+    proxyFactory.addAdvice(interceptor);
+    return proxyFactory.getProxy(bean.getClass().getClassLoader());
+  }
+
+  private MeterRegistry meterRegistry() {
+    MeterRegistry registry = meterRegistry;
+    if (registry == null) {
+      registry = meterRegistryProvider.getIfAvailable();
+      meterRegistry = registry;
+    }
+    return registry;
+  }
+
+  private final class TimingInterceptor implements MethodInterceptor {
+
+    private final String repository;
+    // Registered once per method and outcome, so a call only records
+    private final ConcurrentMap<Method, Timer> successTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, Timer> errorTimers = new ConcurrentHashMap<>();
+
+    private TimingInterceptor(String repository) {
+      this.repository = repository;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+      Method method = invocation.getMethod();
+      MeterRegistry registry = meterRegistry();
+      if (registry == null || ReflectionUtils.isObjectMethod(method)) {
+        return invocation.proceed();
+      }
+      long start = System.nanoTime();
+      boolean success = false;
+      try {
+        Object result = invocation.proceed();
+        success = true;
+        return result;
+      } finally {
+        timer(registry, method, success).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    private Timer timer(MeterRegistry registry, Method method, boolean success) {
+      ConcurrentMap<Method, Timer> timers = success ? successTimers : errorTimers;
+      // A plain get first: computeIfAbsent locks the entry even when it is present
+      Timer timer = timers.get(method);
+      if (timer == null) {
+        timer =
+            timers.computeIfAbsent(
+                method,
+                key ->
+                    Timer.builder(METRIC_NAME)
+                        .description("Repository method calls")
+                        .tag("repository", repository)
+                        .tag("method", key.getName())
+                        .tag("outcome", success ? "success" : "error")
+                        .register(registry));
+      }
+      return timer;
+    }
+  }
+}
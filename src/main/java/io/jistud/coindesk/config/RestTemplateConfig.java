@@ -1,20 +1,155 @@
 package io.jistud.coindesk.config;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.ssl.SSLContexts;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
 /** Configuration class for REST client related beans. */
 @Configuration
+@Profile("!reactive")
 public class RestTemplateConfig {
 
   /**
-   * Creates a RestTemplate bean for making HTTP requests.
+   * Creates the pooled HTTP client used for outbound calls. Connection limits, timeouts and
+   * eviction are driven by {@code coindesk.http.*}; pool usage is exported as metrics.
+   *
+   * @param properties CoinDesk integration properties
+   * @param meterRegistry Registry the pool metrics are bound to
+   * @return A pooled, timeout-bounded HTTP client
+   */
+  @Bean
+  public CloseableHttpClient coinDeskHttpClient(
+      CoinDeskProperties properties, MeterRegistry meterRegistry) {
+    CoinDeskProperties.Http http = properties.getHttp();
+
+    // Dedicated TLS context so resumable sessions are cached independently of the JVM default
+    SSLContext sslContext = SSLContexts.createDefault();
+    SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+    sessionContext.setSessionCacheSize(http.getTlsSessionCacheSize());
+    sessionContext.setSessionTimeout((int) http.getTlsSessionTimeout().getSeconds());
+
+    Registry<ConnectionSocketFactory> socketFactories =
+        RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", new SSLConnectionSocketFactory(sslContext))
+            .build();
+
+    MeteredConnectionManager connectionManager =
+        new MeteredConnectionManager(
+            socketFactories,
+            http.getTimeToLive().toMillis(),
+            Timer.builder("coindesk.http.pool.acquire")
+                .description("Time spent waiting to lease a pooled HTTP connection")
+                .register(meterRegistry));
+    connectionManager.setMaxTotal(http.getMaxTotal());
+    connectionManager.setDefaultMaxPerRoute(http.getMaxPerRoute());
+    connectionManager.setValidateAfterInactivity(
+        (int) http.getValidateAfterInactivity().toMillis());
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "coindesk")
+        .bindTo(meterRegistry);
+
+    RequestConfig requestConfig =
+        RequestConfig.custom()
+            .setConnectTimeout((int) http.getConnectTimeout().toMillis())
+            .setSocketTimeout((int) http.getReadTimeout().toMillis())
+            .setConnectionRequestTimeout((int) http.getConnectionRequestTimeout().toMillis())
+            .build();
+
+    long maxKeepAliveMillis = http.getKeepAlive().toMillis();
+    return HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(requestConfig)
+        .setKeepAliveStrategy(
+            (response, context) -> {
+              long keepAlive =
+                  DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(
+                      response, context);
+              return keepAlive > 0 ? Math.min(keepAlive, maxKeepAliveMillis) : maxKeepAliveMillis;
+            })
+        .evictExpiredConnections()
+        .evictIdleConnections(http.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+        // No per-user connection state, so TLS connections stay reusable across requests
+        .disableConnectionState()
+        // Callers negotiate and decode gzip themselves so they can measure bytes on the wire
+        .disableContentCompression()
+        .build();
+  }
+
+  /**
+   * Creates a RestTemplate bean for making HTTP requests. It is built with Boot's builder so that
+   * calls are timed as {@code http.client.requests}.
    *
+   * @param restTemplateBuilder Builder carrying Boot's customizers, including metrics
+   * @param coinDeskHttpClient The pooled HTTP client requests are executed on
    * @return A configured RestTemplate instance
    */
   @Bean
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
+  public RestTemplate restTemplate(
+      RestTemplateBuilder restTemplateBuilder, CloseableHttpClient coinDeskHttpClient) {
+    return restTemplateBuilder
+        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(coinDeskHttpClient))
+        .build();
+  }
+
+  /** Connection manager that records how long callers wait to lease a pooled connection. */
+  private static class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final Timer acquireTimer;
+
+    MeteredConnectionManager(
+        Registry<ConnectionSocketFactory> socketFactories, long timeToLiveMillis, Timer timer) {
+      super(socketFactories, null, null, null, timeToLiveMillis, TimeUnit.MILLISECONDS);
+      this.acquireTimer = timer;
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route, Object state) {
+      ConnectionRequest delegate = super.requestConnection(route, state);
+      return new ConnectionRequest() {
+        @Override
+        public HttpClientConnection get(long timeout, TimeUnit timeUnit)
+            throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+          long start = System.nanoTime();
+          try {
+            return delegate.get(timeout, timeUnit);
+          } finally {
+            acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+          }
+        }
+
+        @Override
+        public boolean cancel() {
+          return delegate.cancel();
+        }
+      };
+    }
   }
 }
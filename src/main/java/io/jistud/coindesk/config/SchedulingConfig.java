@@ -0,0 +1,9 @@
+package io.jistud.coindesk.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Configuration class enabling Spring's scheduled task execution. */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
@@ -0,0 +1,40 @@
+package io.jistud.coindesk.config;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import io.jistud.coindesk.service.CoinDeskSnapshotPoller;
+import io.jistud.coindesk.service.CoinSearchService;
+
+/**
+ * Configuration of the {@code startup} profile, which turns on lazy initialization so that most
+ * beans, e.g. controllers and the services behind them, are created by the first request that
+ * needs them rather than before the application reports ready.
+ */
+@Configuration
+@Profile("startup")
+public class StartupConfig {
+
+  /**
+   * Keeps the beans that must not wait for a request eager: migrations and the entity manager
+   * factory, so a bad schema still fails startup; the search index, which is loaded from the
+   * database; and the snapshot poller, which nothing else would ever create.
+   *
+   * @return The filter excluding those beans from lazy initialization
+   */
+  @Bean
+  public static LazyInitializationExcludeFilter eagerBeans() {
+    return LazyInitializationExcludeFilter.forBeanTypes(
+        FlywayMigrationInitializer.class,
+        EntityManagerFactory.class,
+        AbstractEntityManagerFactoryBean.class,
+        CoinSearchService.class,
+        CoinDeskSnapshotPoller.class);
+  }
+}
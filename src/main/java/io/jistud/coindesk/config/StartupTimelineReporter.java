@@ -0,0 +1,101 @@
+package io.jistud.coindesk.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+/**
+ * Logs where startup time went once the application is ready: the total time and the slowest
+ * steps of a {@link BufferingApplicationStartup} timeline. Steps nest, e.g. creating a bean
+ * includes creating its dependencies, so each step is ranked by its own time, excluding its
+ * children. The full timeline stays available from {@code /actuator/startup}.
+ */
+public class StartupTimelineReporter implements ApplicationListener<ApplicationReadyEvent> {
+
+  private static final Logger logger = LoggerFactory.getLogger(StartupTimelineReporter.class);
+
+  @Override
+  public void onApplicationEvent(ApplicationReadyEvent event) {
+    ConfigurableApplicationContext context = event.getApplicationContext();
+    ApplicationStartup startup = context.getApplicationStartup();
+    int steps = context.getBean(CoinDeskProperties.class).getStartup().getReportSteps();
+    if (steps <= 0 || !(startup instanceof BufferingApplicationStartup)) {
+      return;
+    }
+    logger.info(describe(((BufferingApplicationStartup) startup).getBufferedTimeline(), steps));
+  }
+
+  /**
+   * Describes a startup timeline.
+   *
+   * @param timeline Recorded startup steps
+   * @param steps Number of steps to list
+   * @return The time from the start of the timeline to its last step, and the slowest steps by
+   *     own time, one per line
+   */
+  public static String describe(StartupTimeline timeline, int steps) {
+    Map<Long, Duration> childTime = new HashMap<>();
+    Duration total = Duration.ZERO;
+    for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+      Long parentId = event.getStartupStep().getParentId();
+      if (parentId != null) {
+        childTime.merge(parentId, event.getDuration(), Duration::plus);
+      }
+      Duration sinceStart = Duration.between(timeline.getStartTime(), event.getEndTime());
+      if (sinceStart.compareTo(total) > 0) {
+        total = sinceStart;
+      }
+    }
+
+    List<Step> ranked = new ArrayList<>();
+    for (StartupTimeline.TimelineEvent event : timeline.getEvents()) {
+      StartupStep step = event.getStartupStep();
+      Duration own =
+          event.getDuration().minus(childTime.getOrDefault(step.getId(), Duration.ZERO));
+      ranked.add(new Step(step, own));
+    }
+    ranked.sort(Comparator.comparing((Step step) -> step.own).reversed());
+
+    StringBuilder description =
+        new StringBuilder(
+            String.format(
+                "Startup timeline: %d ms over %d steps; slowest by own time:",
+                total.toMillis(), timeline.getEvents().size()));
+    for (Step step : ranked.subList(0, Math.min(steps, ranked.size()))) {
+      description.append(String.format("%n%8d ms  %s", step.own.toMillis(), step.describe()));
+    }
+    return description.toString();
+  }
+
+  private static final class Step {
+    private final StartupStep step;
+    private final Duration own;
+
+    private Step(StartupStep step, Duration own) {
+      this.step = step;
+      this.own = own;
+    }
+
+    /** @return The step name and its tags, e.g. the bean name of a bean instantiation */
+    private String describe() {
+      StringBuilder description = new StringBuilder(step.getName());
+      for (StartupStep.Tag tag : step.getTags()) {
+        description.append(' ').append(tag.getKey()).append('=').append(tag.getValue());
+      }
+      return description.toString();
+    }
+  }
+}
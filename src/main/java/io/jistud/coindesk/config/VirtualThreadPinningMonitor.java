@@ -0,0 +1,105 @@
+package io.jistud.coindesk.config;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, typically by blocking inside a
+ * {@code synchronized} block, for longer than a threshold. A pinned thread holds one of the few
+ * carrier threads, so enough of them stall every other virtual thread.
+ *
+ * <p>Listens for the JDK's {@value #EVENT} flight recorder event through reflection, so that this
+ * class compiles for Java 8. Each event increments {@code coindesk.virtual.threads.pinned} and
+ * logs where the thread was pinned.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+  static final String EVENT = "jdk.VirtualThreadPinned";
+
+  private static final String APPLICATION_PACKAGE = "io.jistud.";
+
+  private final AutoCloseable stream;
+
+  /**
+   * Starts listening for pinned virtual threads.
+   *
+   * @param threshold Shortest pinning reported
+   * @param meterRegistry Registry for the pinning counter
+   * @throws IllegalStateException if the JVM has no flight recorder event streaming
+   */
+  VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+    Counter pinned =
+        Counter.builder("coindesk.virtual.threads.pinned")
+            .description("Virtual threads pinned to their carrier for longer than the threshold")
+            .register(meterRegistry);
+    Consumer<Object> onPinned =
+        event -> {
+          pinned.increment();
+          logger.warn(
+              "Virtual thread pinned for {} ms at {}",
+              ((Duration) call(event, "getDuration")).toMillis(),
+              location(event));
+        };
+    try {
+      Class<?> streamType = Class.forName("jdk.jfr.consumer.RecordingStream");
+      Class<?> settingsType = Class.forName("jdk.jfr.EventSettings");
+      Object recordingStream = streamType.getConstructor().newInstance();
+      Object settings = streamType.getMethod("enable", String.class).invoke(recordingStream, EVENT);
+      settingsType.getMethod("withThreshold", Duration.class).invoke(settings, threshold);
+      settingsType.getMethod("withStackTrace").invoke(settings);
+      streamType
+          .getMethod("onEvent", String.class, Consumer.class)
+          .invoke(recordingStream, EVENT, onPinned);
+      streamType.getMethod("startAsync").invoke(recordingStream);
+      this.stream = (AutoCloseable) recordingStream;
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Could not listen for " + EVENT + " events", e);
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    stream.close();
+  }
+
+  /** @return The innermost application frame of the event's stack, or its top frame */
+  private static String location(Object event) {
+    Object stackTrace = call(event, "getStackTrace");
+    if (stackTrace == null) {
+      return "unknown location";
+    }
+    List<?> frames = (List<?>) call(stackTrace, "getFrames");
+    String top = null;
+    for (Object frame : frames) {
+      Object method = call(frame, "getMethod");
+      String type = (String) call(call(method, "getType"), "getName");
+      String location = type + "." + call(method, "getName") + ":" + call(frame, "getLineNumber");
+      if (type.startsWith(APPLICATION_PACKAGE)) {
+        return location;
+      }
+      if (top == null) {
+        top = location;
+      }
+    }
+    return top == null ? "unknown location" : top;
+  }
+
+  private static Object call(Object target, String method) {
+    try {
+      Method getter = target.getClass().getMethod(method);
+      return getter.invoke(target);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Could not read " + method + " of " + target, e);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package io.jistud.coindesk.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to the virtual-thread API of Java 21 from code compiled for Java 8. Everything goes
+ * through reflection, so this class loads on any JVM and only fails when used on one without
+ * virtual threads.
+ */
+public final class VirtualThreads {
+
+  /** First release with virtual threads as a final, not preview, feature. */
+  private static final int MINIMUM_JAVA_VERSION = 21;
+
+  private static final Method OF_VIRTUAL = findMethod(Thread.class, "ofVirtual");
+  private static final Method IS_VIRTUAL = findMethod(Thread.class, "isVirtual");
+
+  private VirtualThreads() {}
+
+  /** @return true if the running JVM supports virtual threads */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null && javaVersion() >= MINIMUM_JAVA_VERSION;
+  }
+
+  /**
+   * Creates a factory of virtual threads named {@code prefix0}, {@code prefix1}, and so on.
+   *
+   * @param prefix Thread name prefix
+   * @return The thread factory
+   * @throws IllegalStateException if the JVM does not support virtual threads
+   */
+  public static ThreadFactory factory(String prefix) {
+    requireSupported();
+    try {
+      // Call through the public builder interfaces; the builder implementation is not accessible
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      Object builder = OF_VIRTUAL.invoke(null);
+      builder =
+          builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+      return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+    } catch (ClassNotFoundException
+        | NoSuchMethodException
+        | IllegalAccessException
+        | InvocationTargetException e) {
+      throw new IllegalStateException("Could not create a virtual thread factory", e);
+    }
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread for each task.
+   *
+   * @param prefix Thread name prefix
+   * @return The executor
+   * @throws IllegalStateException if the JVM does not support virtual threads
+   */
+  public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+    ThreadFactory factory = factory(prefix);
+    try {
+      return (ExecutorService)
+          Executors.class
+              .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+              .invoke(null, factory);
+    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalStateException("Could not create a virtual thread executor", e);
+    }
+  }
+
+  /**
+   * @param thread A thread
+   * @return true if the thread is a virtual thread
+   */
+  public static boolean isVirtual(Thread thread) {
+    try {
+      return IS_VIRTUAL != null && (Boolean) IS_VIRTUAL.invoke(thread);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      return false;
+    }
+  }
+
+  private static void requireSupported() {
+    if (!isSupported()) {
+      throw new IllegalStateException(
+          "Virtual threads need Java "
+              + MINIMUM_JAVA_VERSION
+              + " or later, running on "
+              + System.getProperty("java.version"));
+    }
+  }
+
+  /** @return The feature release of the running JVM, e.g. 8 or 21 */
+  private static int javaVersion() {
+    String version = System.getProperty("java.specification.version");
+    // Java 8 and earlier report 1.x
+    return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+  }
+
+  private static Method findMethod(Class<?> type, String name) {
+    try {
+      return type.getMethod(name);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+}
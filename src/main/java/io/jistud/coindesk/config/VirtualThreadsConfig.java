@@ -0,0 +1,49 @@
+package io.jistud.coindesk.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Opt-in execution on virtual threads, enabled by {@code coindesk.virtual-threads.enabled} and
+ * requiring a Java 21 runtime. Tomcat handles each request on its own virtual thread, so requests
+ * blocked on the database or the CoinDesk API no longer hold one of a bounded pool of platform
+ * threads. Scheduled tasks, including the CoinDesk poller, run on virtual threads too.
+ */
+@Configuration
+@ConditionalOnProperty(name = "coindesk.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+  public VirtualThreadsConfig() {
+    // Fail at startup rather than silently falling back to platform threads
+    if (!VirtualThreads.isSupported()) {
+      throw new IllegalStateException(
+          "coindesk.virtual-threads.enabled requires Java 21 or later, running on "
+              + System.getProperty("java.version"));
+    }
+  }
+
+  /** Replaces Tomcat's worker pool, which capped concurrent requests, with a thread per request. */
+  @Bean
+  public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+    return protocolHandler ->
+        protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+  }
+
+  @Bean
+  public TaskSchedulerCustomizer virtualThreadTaskSchedulerCustomizer() {
+    return scheduler -> scheduler.setThreadFactory(VirtualThreads.factory("scheduling-vt-"));
+  }
+
+  @Bean
+  public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+      CoinDeskProperties properties, MeterRegistry meterRegistry) {
+    return new VirtualThreadPinningMonitor(
+        properties.getVirtualThreads().getPinnedThreshold(), meterRegistry);
+  }
+}
@@ -0,0 +1,47 @@
+package io.jistud.coindesk.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/** Configuration class for the non-blocking HTTP client used by the reactive stack. */
+@Configuration
+@Profile("reactive")
+public class WebClientConfig {
+
+  /**
+   * Creates a WebClient on a Reactor Netty connection pool sized and timed by {@code
+   * coindesk.http.*}, mirroring the blocking client's limits.
+   *
+   * @param builder Boot-configured builder carrying the application's Jackson codecs
+   * @param properties CoinDesk integration properties
+   * @return A configured WebClient instance
+   */
+  @Bean
+  public WebClient coinDeskWebClient(WebClient.Builder builder, CoinDeskProperties properties) {
+    CoinDeskProperties.Http http = properties.getHttp();
+
+    ConnectionProvider connectionProvider =
+        ConnectionProvider.builder("coindesk")
+            .maxConnections(http.getMaxPerRoute())
+            .pendingAcquireTimeout(http.getConnectionRequestTimeout())
+            .maxIdleTime(http.getIdleTimeout())
+            .maxLifeTime(http.getTimeToLive())
+            .evictInBackground(http.getIdleTimeout())
+            .metrics(true)
+            .build();
+
+    HttpClient httpClient =
+        HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) http.getConnectTimeout().toMillis())
+            .responseTimeout(http.getReadTimeout());
+
+    return builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+  }
+}
@@ -7,10 +7,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -19,20 +22,33 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jistud.coindesk.dto.CoinBatchItemResult;
 import io.jistud.coindesk.dto.CoinCreateRequest;
 import io.jistud.coindesk.dto.CoinResponse;
+import io.jistud.coindesk.dto.CoinSearchResult;
 import io.jistud.coindesk.dto.CoinSummaryDto;
 import io.jistud.coindesk.dto.CoinUpdateRequest;
 import io.jistud.coindesk.dto.ErrorResponse;
+import io.jistud.coindesk.dto.SerializedJson;
 import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.service.CoinExportFormat;
+import io.jistud.coindesk.service.CoinExportService;
+import io.jistud.coindesk.service.CoinSearchService;
 import io.jistud.coindesk.service.CoinService;
+import io.jistud.coindesk.service.CoinSummaryListCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -40,15 +56,40 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/coins")
 @Tag(name = "Coin Management", description = "APIs for managing cryptocurrency coin information")
 public class CoinController {
 
+  /** Response header carrying the {@code after} value of the next page. */
+  public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+  static final int DEFAULT_PAGE_SIZE = 100;
+  static final int MAX_PAGE_SIZE = 500;
+  static final int MAX_BATCH_SIZE = 10_000;
+  static final int DEFAULT_SEARCH_RESULTS = 10;
+  static final int MAX_SEARCH_RESULTS = 100;
+
+  private static final int EXPORT_BUFFER_SIZE = 8192;
+
   private final CoinService coinService;
+  private final CoinSummaryListCache coinSummaryListCache;
+  private final CoinExportService coinExportService;
+  private final CoinSearchService coinSearchService;
+  private final ObjectMapper objectMapper;
 
   @Autowired
-  public CoinController(CoinService coinService) {
+  public CoinController(
+      CoinService coinService,
+      CoinSummaryListCache coinSummaryListCache,
+      CoinExportService coinExportService,
+      CoinSearchService coinSearchService,
+      ObjectMapper objectMapper) {
     this.coinService = coinService;
+    this.coinSummaryListCache = coinSummaryListCache;
+    this.coinExportService = coinExportService;
+    this.coinSearchService = coinSearchService;
+    this.objectMapper = objectMapper;
   }
 
   /**
@@ -115,16 +156,91 @@ public class CoinController {
   }
 
   /**
-   * Get all coins or filter by ID or name
+   * Create many coins in one request. Items are validated and applied independently, so one bad
+   * item does not reject the others.
+   *
+   * @param requests Coins to create, at most {@value #MAX_BATCH_SIZE}
+   * @param upsert Whether to merge the i18n names of existing coins instead of reporting a conflict
+   * @return One result per item, in request order
+   * @throws IllegalArgumentException if the request is empty or too large
+   */
+  @Operation(
+      summary = "Create coins in bulk",
+      description =
+          "Create up to "
+              + MAX_BATCH_SIZE
+              + " coins with optional internationalized names, returning an outcome per item")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Per-item outcomes",
+            content =
+                @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array =
+                        @ArraySchema(
+                            schema = @Schema(implementation = CoinBatchItemResult.class)))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Empty or oversized request",
+            content =
+                @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @PostMapping("/batch")
+  public ResponseEntity<List<CoinBatchItemResult>> createCoins(
+      @Parameter(description = "Coins to create", required = true) @RequestBody
+          List<CoinCreateRequest> requests,
+      @Parameter(description = "Merge i18n names into coins that already exist")
+          @RequestParam(defaultValue = "false")
+          boolean upsert) {
+    if (requests.isEmpty()) {
+      throw new IllegalArgumentException("At least one coin is required");
+    }
+    if (requests.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException(
+          "At most " + MAX_BATCH_SIZE + " coins can be created per request");
+    }
+    return ResponseEntity.ok(coinService.createCoins(requests, upsert));
+  }
+
+  /**
+   * Get a page of coins or filter by ID or name. Pages are ordered by ID; pass the {@value
+   * #NEXT_CURSOR_HEADER} header of one page as {@code after} to get the next.
    *
    * @param id Optional ID to filter by
    * @param name Optional name to filter by
-   * @return List of coins matching criteria
-   * @throws IllegalArgumentException if both id and name parameters are provided
+   * @param after Optional ID of the last coin on the previous page
+   * @param limit Optional page size, at most {@value #MAX_PAGE_SIZE}
+   * @param ifNoneMatch ETag of the list the client already holds, if any
+   * @return List of coins matching criteria, or 304 if unchanged
+   * @throws IllegalArgumentException if both id and name parameters are provided, or limit is
+   *     below 1
    */
-  @Operation(summary = "Get coins", description = "Retrieve all coins or filter by ID or name")
+  @Operation(
+      summary = "Get coins",
+      description =
+          "Retrieve a page of coins ordered by ID, or filter by ID or name. The "
+              + NEXT_CURSOR_HEADER
+              + " response header holds the 'after' value of the next page.")
   @ApiResponses(
       value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Coins matching the criteria",
+            headers =
+                @Header(
+                    name = NEXT_CURSOR_HEADER,
+                    description = "ID to pass as 'after' for the next page; absent on the last"),
+            content =
+                @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = CoinSummaryDto.class)))),
+        @ApiResponse(
+            responseCode = "304",
+            description = "List unchanged since the ETag given in If-None-Match"),
         @ApiResponse(
             responseCode = "400",
             description = "Invalid request parameters",
@@ -134,16 +250,38 @@ public class CoinController {
                     schema = @Schema(implementation = ErrorResponse.class)))
       })
   @GetMapping
-  public ResponseEntity<List<CoinSummaryDto>> getCoins(
+  public ResponseEntity<byte[]> getCoins(
       @Parameter(description = "Coin ID to filter by") @RequestParam(required = false) Long id,
       @Parameter(description = "Coin name to filter by") @RequestParam(required = false)
-          String name) {
+          String name,
+      @Parameter(description = "Return coins with an ID greater than this")
+          @RequestParam(required = false)
+          Long after,
+      @Parameter(description = "Page size, default " + DEFAULT_PAGE_SIZE + ", max " + MAX_PAGE_SIZE)
+          @RequestParam(required = false)
+          Integer limit,
+      @Parameter(hidden = true) @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false)
+          String ifNoneMatch) {
 
     // Check if both id and name parameters are provided
     if (id != null && name != null) {
       throw new IllegalArgumentException("Cannot filter by both id and name simultaneously");
     }
 
+    // The unfiltered list is the hot path; serve its pre-serialized pages
+    if (id == null && name == null) {
+      if (limit != null && limit < 1) {
+        throw new IllegalArgumentException("limit must be at least 1");
+      }
+      int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+      CoinSummaryListCache.Page page = coinSummaryListCache.getPage(after, pageSize);
+      HttpHeaders headers = new HttpHeaders();
+      if (page.getNextCursor() != null) {
+        headers.set(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+      }
+      return JsonResponses.conditional(page.getJson(), ifNoneMatch, headers);
+    }
+
     List<Coin> coins = new ArrayList<>();
 
     // Filter by ID if provided
@@ -156,16 +294,126 @@ public class CoinController {
       Optional<Coin> coin = coinService.findByName(name);
       coin.ifPresent(coins::add);
     }
-    // Return all coins if no filter is provided
-    else {
-      coins = coinService.findAll();
-    }
 
     // Convert to summary DTOs
     List<CoinSummaryDto> response =
         coins.stream().map(this::convertToSummary).collect(Collectors.toList());
 
-    return ResponseEntity.ok(response);
+    return JsonResponses.conditional(SerializedJson.of(objectMapper, response), ifNoneMatch);
+  }
+
+  /**
+   * Export every coin with its localized names. Rows are streamed from the database as they are
+   * written, so memory use does not grow with the catalog.
+   *
+   * @param format Export format, {@code ndjson} or {@code csv}
+   * @param acceptEncoding Accept-Encoding request header; the export is gzipped if it allows gzip
+   * @return The export, written after the handler returns
+   * @throws IllegalArgumentException if the format is not supported
+   */
+  @Operation(
+      summary = "Export coins",
+      description = "Stream every coin with its i18n names as NDJSON or CSV, gzipped on request")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Coin catalog export"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unsupported export format",
+            content =
+                @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportCoins(
+      @Parameter(description = "Export format, ndjson or csv")
+          @RequestParam(defaultValue = "ndjson")
+          String format,
+      @Parameter(hidden = true)
+          @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false)
+          String acceptEncoding) {
+    CoinExportFormat exportFormat = CoinExportFormat.fromParameter(format);
+    boolean gzip = acceptsGzip(acceptEncoding);
+
+    StreamingResponseBody body =
+        out -> {
+          if (gzip) {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE);
+            coinExportService.export(exportFormat, compressed);
+            compressed.finish();
+          } else {
+            coinExportService.export(exportFormat, out);
+          }
+        };
+
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .header(
+                HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"coins." + exportFormat.getFileExtension() + "\"");
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    return response.body(body);
+  }
+
+  /**
+   * Search coins by default or localized name, for type-ahead. Answered from an in-memory index
+   * without querying the database.
+   *
+   * @param q Text the names must contain, ignoring case
+   * @param lang Optional language code; only localized names in that language are matched
+   * @param limit Optional maximum number of coins, at most {@value #MAX_SEARCH_RESULTS}
+   * @return Matching coins, those whose name starts with {@code q} first
+   * @throws IllegalArgumentException if q is blank or limit is below 1
+   */
+  @Operation(
+      summary = "Search coins",
+      description =
+          "Find coins whose default or localized name contains the query, prefix matches first")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Matching coins",
+            content =
+                @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array =
+                        @ArraySchema(schema = @Schema(implementation = CoinSearchResult.class)))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid request parameters",
+            content =
+                @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  @GetMapping("/search")
+  public ResponseEntity<List<CoinSearchResult>> searchCoins(
+      @Parameter(description = "Text to search for", required = true) @RequestParam String q,
+      @Parameter(description = "Language code of the localized names to match")
+          @RequestParam(required = false)
+          String lang,
+      @Parameter(
+              description =
+                  "Maximum results, default "
+                      + DEFAULT_SEARCH_RESULTS
+                      + ", max "
+                      + MAX_SEARCH_RESULTS)
+          @RequestParam(required = false)
+          Integer limit) {
+    if (q.trim().isEmpty()) {
+      throw new IllegalArgumentException("q must not be blank");
+    }
+    if (limit != null && limit < 1) {
+      throw new IllegalArgumentException("limit must be at least 1");
+    }
+    int maxResults = limit == null ? DEFAULT_SEARCH_RESULTS : Math.min(limit, MAX_SEARCH_RESULTS);
+    return ResponseEntity.ok(coinSearchService.search(q, lang, maxResults));
   }
 
   /**
@@ -198,7 +446,7 @@ public class CoinController {
   public ResponseEntity<CoinResponse> getCoinById(
       @Parameter(description = "Coin ID", required = true) @PathVariable Long id) {
 
-    Optional<Coin> coinOpt = coinService.findById(id);
+    Optional<Coin> coinOpt = coinService.findWithI18nNamesById(id);
     if (!coinOpt.isPresent()) {
       return ResponseEntity.notFound().build();
     }
@@ -261,13 +509,8 @@ public class CoinController {
       throw new IllegalArgumentException("Coin name cannot be empty");
     }
 
-    Optional<Coin> coinOpt = coinService.findById(id);
-    if (!coinOpt.isPresent()) {
-      return ResponseEntity.notFound().build();
-    }
-
     try {
-      // Update the coin with optional i18n names
+      // Update the coin with optional i18n names; an unknown ID surfaces as CoinNotFoundException
       Coin coin = coinService.updateCoin(id, request.getName(), request.getI18nNames());
       CoinResponse response = convertToResponse(coin);
 
@@ -305,13 +548,8 @@ public class CoinController {
   public ResponseEntity<Void> deleteCoin(
       @Parameter(description = "Coin ID", required = true) @PathVariable Long id) {
 
-    Optional<Coin> coinOpt = coinService.findById(id);
-    if (!coinOpt.isPresent()) {
-      return ResponseEntity.notFound().build();
-    }
-
     try {
-      // Delete the coin and its i18n names
+      // Delete the coin and its i18n names; an unknown ID surfaces as CoinNotFoundException
       coinService.deleteCoin(id);
       return ResponseEntity.noContent().build();
     } catch (IllegalArgumentException e) {
@@ -331,12 +569,13 @@ public class CoinController {
   }
 
   /**
-   * Converts a Coin entity to a CoinResponse DTO with all details
+   * Converts a Coin entity to a CoinResponse DTO with all details. Package-private so that it can
+   * be benchmarked.
    *
    * @param coin The coin entity
    * @return CoinResponse with detailed coin information including i18n names
    */
-  private CoinResponse convertToResponse(Coin coin) {
+  static CoinResponse convertToResponse(Coin coin) {
     CoinResponse response = new CoinResponse();
     response.setId(coin.getId());
     response.setName(coin.getName());
@@ -352,4 +591,24 @@ public class CoinController {
 
     return response;
   }
+
+  /**
+   * Checks whether an Accept-Encoding header allows a gzip response
+   *
+   * @param acceptEncoding The header value, possibly null
+   * @return true if gzip is listed without a zero quality value
+   */
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      if (parts[0].trim().equalsIgnoreCase("gzip")) {
+        // "gzip;q=0" explicitly refuses it
+        return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+      }
+    }
+    return false;
+  }
 }
@@ -1,16 +1,22 @@
 package io.jistud.coindesk.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.jistud.coindesk.dto.CoinDeskResponse;
 import io.jistud.coindesk.dto.ErrorResponse;
+import io.jistud.coindesk.dto.SerializedJson;
 import io.jistud.coindesk.service.CoinDeskService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,10 +24,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/coindesk")
 @Tag(name = "CoinDesk API", description = "Operations related to CoinDesk data")
 public class CoinDeskController {
 
+  /** Response header carrying the age, in seconds, of the CoinDesk snapshot being served. */
+  public static final String SNAPSHOT_AGE_HEADER = "X-CoinDesk-Snapshot-Age";
+
   private final CoinDeskService coinDeskService;
 
   @Autowired
@@ -32,7 +42,8 @@ public class CoinDeskController {
   /**
    * Get data from external CoinDesk API
    *
-   * @return Current Bitcoin price information from CoinDesk API
+   * @param ifNoneMatch ETag of the representation the client already holds, if any
+   * @return Current Bitcoin price information from CoinDesk API, or 304 if unchanged
    */
   @Operation(
       summary = "Get data from external CoinDesk API",
@@ -42,10 +53,17 @@ public class CoinDeskController {
         @ApiResponse(
             responseCode = "200",
             description = "Successfully retrieved data",
+            headers =
+                @Header(
+                    name = SNAPSHOT_AGE_HEADER,
+                    description = "Age in seconds of the CoinDesk snapshot being served"),
             content =
                 @Content(
                     mediaType = MediaType.APPLICATION_JSON_VALUE,
                     schema = @Schema(implementation = CoinDeskResponse.class))),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Data unchanged since the ETag given in If-None-Match"),
         @ApiResponse(
             responseCode = "500",
             description = "Internal server error occurred while fetching data from external API",
@@ -55,8 +73,15 @@ public class CoinDeskController {
                     schema = @Schema(implementation = ErrorResponse.class)))
       })
   @GetMapping
-  public ResponseEntity<CoinDeskResponse> getCoinDeskData() {
-    CoinDeskResponse response = coinDeskService.getCurrentBitcoinPrice();
-    return ResponseEntity.ok(response);
+  public ResponseEntity<byte[]> getCoinDeskData(
+      @Parameter(hidden = true) @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false)
+          String ifNoneMatch) {
+    SerializedJson response = coinDeskService.getCurrentBitcoinPriceJson();
+
+    HttpHeaders headers = new HttpHeaders();
+    coinDeskService
+        .getSnapshotAge()
+        .ifPresent(age -> headers.set(SNAPSHOT_AGE_HEADER, Long.toString(age.getSeconds())));
+    return JsonResponses.conditional(response, ifNoneMatch, headers);
   }
 }
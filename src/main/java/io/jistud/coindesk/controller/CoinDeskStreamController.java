@@ -0,0 +1,79 @@
+package io.jistud.coindesk.controller;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.jistud.coindesk.config.CoinDeskProperties;
+import io.jistud.coindesk.service.CoinDeskPriceBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/v1/coindesk/stream")
+@Tag(name = "CoinDesk API", description = "Operations related to CoinDesk data")
+public class CoinDeskStreamController {
+
+  private final CoinDeskPriceBroadcaster broadcaster;
+  private final long timeoutMillis;
+
+  @Autowired
+  public CoinDeskStreamController(
+      CoinDeskPriceBroadcaster broadcaster, CoinDeskProperties properties) {
+    this.broadcaster = broadcaster;
+    this.timeoutMillis = properties.getStream().getTimeout().toMillis();
+  }
+
+  /**
+   * Stream CoinDesk price updates as server-sent events
+   *
+   * @return An event stream that starts with the current snapshot and then carries rate changes
+   */
+  @Operation(
+      summary = "Stream CoinDesk price updates",
+      description =
+          "Server-sent events: a 'snapshot' event with the full CoinDesk response, then a 'rates'"
+              + " event with the changed bpi rates for each new snapshot. Clients that fall"
+              + " behind receive a fresh 'snapshot' instead, and are disconnected if they keep"
+              + " falling behind.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "503", description = "Subscriber limit reached")
+      })
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamCoinDeskData() {
+    SseEmitter emitter = new SseEmitter(timeoutMillis);
+    CoinDeskPriceBroadcaster.Sink sink =
+        new CoinDeskPriceBroadcaster.Sink() {
+          @Override
+          public void send(String event, byte[] json) throws IOException {
+            emitter.send(SseEmitter.event().name(event).data(json, MediaType.APPLICATION_JSON));
+          }
+
+          @Override
+          public void close() {
+            emitter.complete();
+          }
+        };
+    emitter.onCompletion(() -> broadcaster.unsubscribe(sink));
+    emitter.onTimeout(() -> broadcaster.unsubscribe(sink));
+    emitter.onError(e -> broadcaster.unsubscribe(sink));
+
+    if (!broadcaster.subscribe(sink)) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+    return ResponseEntity.ok(emitter);
+  }
+}
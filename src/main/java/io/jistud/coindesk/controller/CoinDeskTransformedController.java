@@ -2,6 +2,7 @@ package io.jistud.coindesk.controller;
 
 import io.jistud.coindesk.dto.CoinDeskTransformedResponse;
 import io.jistud.coindesk.dto.ErrorResponse;
+import io.jistud.coindesk.dto.SerializedJson;
 import io.jistud.coindesk.service.CoinDeskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,14 +12,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/v1/transformed-coindesk")
 @Tag(name = "Transformed CoinDesk API", description = "Operations related to transformed CoinDesk data")
 public class CoinDeskTransformedController {
@@ -34,7 +39,8 @@ public class CoinDeskTransformedController {
      * Get transformed CoinDesk data with optional language filtering
      *
      * @param langCode Optional language code for localized names
-     * @return Transformed response with CoinDesk data and localized names
+     * @param ifNoneMatch ETag of the representation the client already holds, if any
+     * @return Transformed response with CoinDesk data and localized names, or 304 if unchanged
      */
     @Operation(
         summary = "Get transformed CoinDesk data",
@@ -50,6 +56,10 @@ public class CoinDeskTransformedController {
                     schema = @Schema(implementation = CoinDeskTransformedResponse.class)
                 )
             ),
+            @ApiResponse(
+                responseCode = "304",
+                description = "Data unchanged since the ETag given in If-None-Match"
+            ),
             @ApiResponse(
                 responseCode = "500",
                 description = "Internal server error occurred while processing data",
@@ -61,11 +71,17 @@ public class CoinDeskTransformedController {
         }
     )
     @GetMapping
-    public ResponseEntity<CoinDeskTransformedResponse> getTransformedCoinDeskData(
+    public ResponseEntity<byte[]> getTransformedCoinDeskData(
             @Parameter(description = "Language code (e.g., 'zh-TW', 'en') for localized names")
-            @RequestParam(name = "lang", required = false) String langCode) {
+            @RequestParam(name = "lang", required = false) String langCode,
+            @Parameter(hidden = true)
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
-        CoinDeskTransformedResponse response = coinDeskService.getTransformedCoinDeskData(langCode);
-        return ResponseEntity.ok(response);
+        SerializedJson response = coinDeskService.getTransformedCoinDeskDataJson(langCode);
+
+        HttpHeaders headers = new HttpHeaders();
+        coinDeskService.getSnapshotAge().ifPresent(age -> headers.set(
+                CoinDeskController.SNAPSHOT_AGE_HEADER, Long.toString(age.getSeconds())));
+        return JsonResponses.conditional(response, ifNoneMatch, headers);
     }
 }
@@ -0,0 +1,43 @@
+package io.jistud.coindesk.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import io.jistud.coindesk.dto.SerializedJson;
+
+/** Builds conditional responses from pre-serialized JSON. */
+final class JsonResponses {
+
+  private JsonResponses() {}
+
+  /**
+   * Writes pre-serialized JSON with its ETag, or answers 304 without a body when the client's
+   * {@code If-None-Match} already matches it.
+   *
+   * @param json The current representation
+   * @param ifNoneMatch The request's If-None-Match header, or null
+   * @param headers Additional response headers
+   * @return The response entity
+   */
+  static ResponseEntity<byte[]> conditional(
+      SerializedJson json, String ifNoneMatch, HttpHeaders headers) {
+    if (json.matches(ifNoneMatch)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .headers(headers)
+          .eTag(json.getETag())
+          .build();
+    }
+    return ResponseEntity.ok()
+        .headers(headers)
+        .eTag(json.getETag())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(json.getBody());
+  }
+
+  /** Same as {@link #conditional(SerializedJson, String, HttpHeaders)} without extra headers. */
+  static ResponseEntity<byte[]> conditional(SerializedJson json, String ifNoneMatch) {
+    return conditional(json, ifNoneMatch, HttpHeaders.EMPTY);
+  }
+}
@@ -0,0 +1,41 @@
+package io.jistud.coindesk.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.jistud.coindesk.dto.CoinDeskResponse;
+import io.jistud.coindesk.service.ReactiveCoinDeskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Mono;
+
+/** Non-blocking variant of {@link CoinDeskController}, served under the "reactive" profile. */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/coindesk")
+@Tag(name = "CoinDesk API", description = "Operations related to CoinDesk data")
+public class ReactiveCoinDeskController {
+
+  private final ReactiveCoinDeskService coinDeskService;
+
+  @Autowired
+  public ReactiveCoinDeskController(ReactiveCoinDeskService coinDeskService) {
+    this.coinDeskService = coinDeskService;
+  }
+
+  /**
+   * Get data from external CoinDesk API
+   *
+   * @return Current Bitcoin price information from CoinDesk API
+   */
+  @Operation(
+      summary = "Get data from external CoinDesk API",
+      description = "Retrieves current Bitcoin price information from the CoinDesk API")
+  @GetMapping
+  public Mono<CoinDeskResponse> getCoinDeskData() {
+    return coinDeskService.getCurrentBitcoinPrice();
+  }
+}
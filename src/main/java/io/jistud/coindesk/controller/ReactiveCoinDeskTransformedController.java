@@ -0,0 +1,52 @@
+package io.jistud.coindesk.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.jistud.coindesk.dto.CoinDeskTransformedResponse;
+import io.jistud.coindesk.service.ReactiveCoinDeskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link CoinDeskTransformedController}, served under the "reactive"
+ * profile.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/v1/transformed-coindesk")
+@Tag(
+    name = "Transformed CoinDesk API",
+    description = "Operations related to transformed CoinDesk data")
+public class ReactiveCoinDeskTransformedController {
+
+  private final ReactiveCoinDeskService coinDeskService;
+
+  @Autowired
+  public ReactiveCoinDeskTransformedController(ReactiveCoinDeskService coinDeskService) {
+    this.coinDeskService = coinDeskService;
+  }
+
+  /**
+   * Get transformed CoinDesk data with optional language filtering
+   *
+   * @param langCode Optional language code for localized names
+   * @return Transformed response with CoinDesk data and localized names
+   */
+  @Operation(
+      summary = "Get transformed CoinDesk data",
+      description = "Retrieves transformed Bitcoin price data with localized coin names")
+  @GetMapping
+  public Mono<CoinDeskTransformedResponse> getTransformedCoinDeskData(
+      @Parameter(description = "Language code (e.g., 'zh-TW', 'en') for localized names")
+          @RequestParam(name = "lang", required = false)
+          String langCode) {
+    return coinDeskService.getTransformedCoinDeskData(langCode);
+  }
+}
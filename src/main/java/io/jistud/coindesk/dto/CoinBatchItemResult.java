@@ -0,0 +1,91 @@
+package io.jistud.coindesk.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/** Outcome of one item of a bulk coin create request. */
+@Schema(description = "Outcome of one item of a bulk coin create request")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CoinBatchItemResult {
+
+  /** What happened to an item. */
+  public enum Status {
+    /** A new coin was inserted. */
+    CREATED,
+    /** The coin already existed and its i18n names were merged (upsert only). */
+    UPDATED,
+    /**
+     * The coin already existed or was created concurrently, or its name repeats an earlier item
+     * of the same request.
+     */
+    CONFLICT,
+    /** The item failed validation and was skipped. */
+    INVALID
+  }
+
+  @Schema(description = "Position of the item in the request", example = "0")
+  private int index;
+
+  @Schema(description = "Name of the coin as sent", example = "Bitcoin")
+  private String name;
+
+  @Schema(description = "Outcome of the item", example = "CREATED")
+  private Status status;
+
+  @Schema(description = "ID of the created or updated coin", example = "1")
+  private Long id;
+
+  @Schema(description = "Why the item was not applied", example = "Coin name is required")
+  private String message;
+
+  public CoinBatchItemResult() {}
+
+  public CoinBatchItemResult(int index, String name, Status status, Long id, String message) {
+    this.index = index;
+    this.name = name;
+    this.status = status;
+    this.id = id;
+    this.message = message;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Status status) {
+    this.status = status;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+}
@@ -0,0 +1,64 @@
+package io.jistud.coindesk.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/** A coin found by a name search, with the name that matched. */
+@Schema(description = "A coin found by a name search")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CoinSearchResult {
+
+  @Schema(description = "Unique identifier of the coin", example = "1")
+  private Long id;
+
+  @Schema(description = "Default name of the coin", example = "Bitcoin")
+  private String name;
+
+  @Schema(description = "The default or localized name that matched", example = "ビットコイン")
+  private String matchedName;
+
+  @Schema(description = "Language of the matched name; absent for the default name", example = "ja")
+  private String langCode;
+
+  public CoinSearchResult() {}
+
+  public CoinSearchResult(Long id, String name, String matchedName, String langCode) {
+    this.id = id;
+    this.name = name;
+    this.matchedName = matchedName;
+    this.langCode = langCode;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public String getMatchedName() {
+    return matchedName;
+  }
+
+  public void setMatchedName(String matchedName) {
+    this.matchedName = matchedName;
+  }
+
+  public String getLangCode() {
+    return langCode;
+  }
+
+  public void setLangCode(String langCode) {
+    this.langCode = langCode;
+  }
+}
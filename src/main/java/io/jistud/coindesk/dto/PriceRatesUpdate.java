@@ -0,0 +1,35 @@
+package io.jistud.coindesk.dto;
+
+import java.util.Map;
+
+/**
+ * Compact price stream message carrying only the {@code bpi} rates that changed since the previous
+ * snapshot, keyed by currency code.
+ */
+public class PriceRatesUpdate {
+  private String updatedISO;
+  private Map<String, Double> rates;
+
+  public PriceRatesUpdate() {}
+
+  public PriceRatesUpdate(String updatedISO, Map<String, Double> rates) {
+    this.updatedISO = updatedISO;
+    this.rates = rates;
+  }
+
+  public String getUpdatedISO() {
+    return updatedISO;
+  }
+
+  public void setUpdatedISO(String updatedISO) {
+    this.updatedISO = updatedISO;
+  }
+
+  public Map<String, Double> getRates() {
+    return rates;
+  }
+
+  public void setRates(Map<String, Double> rates) {
+    this.rates = rates;
+  }
+}
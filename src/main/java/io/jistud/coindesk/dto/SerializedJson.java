@@ -0,0 +1,72 @@
+package io.jistud.coindesk.dto;
+
+import java.io.UncheckedIOException;
+
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The UTF-8 JSON bytes of a representation together with a strong ETag derived from them. Built
+ * once when the underlying object changes, so hot read endpoints can write the bytes as-is instead
+ * of re-serializing the same object on every request.
+ */
+public final class SerializedJson {
+
+  private final byte[] body;
+  private final String eTag;
+
+  private SerializedJson(byte[] body) {
+    this.body = body;
+    this.eTag = "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+  }
+
+  /**
+   * Serializes a value with the given mapper.
+   *
+   * @param objectMapper Mapper configured like the one used for regular responses
+   * @param value Value to serialize
+   * @return The serialized representation
+   */
+  public static SerializedJson of(ObjectMapper objectMapper, Object value) {
+    try {
+      return new SerializedJson(objectMapper.writeValueAsBytes(value));
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException("Could not serialize " + value.getClass().getName(), e);
+    }
+  }
+
+  /** @return The JSON bytes; must not be modified */
+  public byte[] getBody() {
+    return body;
+  }
+
+  /** @return The quoted strong entity tag of the body */
+  public String getETag() {
+    return eTag;
+  }
+
+  /**
+   * Evaluates an {@code If-None-Match} header against this representation, using the weak
+   * comparison RFC 7232 prescribes for that header.
+   *
+   * @param ifNoneMatch Header value, possibly a comma-separated list, or null if absent
+   * @return true if the client already holds this representation
+   */
+  public boolean matches(String ifNoneMatch) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(eTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -6,18 +6,44 @@ import java.util.Set;
 
 import javax.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 @Entity
 @Table(
     name = "coins",
     uniqueConstraints = {
       @UniqueConstraint(
-          name = "uk_coins_name",
+          name = Coin.NAME_CONSTRAINT,
           columnNames = {"name"})
     })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Coin.CACHE_REGION)
 public class Coin {
 
+  /** Unique constraint on {@code coins.name}; a violation means the name is already taken. */
+  public static final String NAME_CONSTRAINT = "uk_coins_name";
+
+  /** Second-level cache region holding coins, configured in {@code ehcache.xml}. */
+  public static final String CACHE_REGION = "coins";
+
+  /** Second-level cache region holding the ids of each coin's i18n names. */
+  public static final String I18N_NAMES_CACHE_REGION = "coin-i18n-names";
+
+  // Drawn from a sequence rather than IDENTITY so that Hibernate can batch inserts; pooled-lo
+  // reserves increment_size ids per sequence call and must match the sequence's INCREMENT BY
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coin_id")
+  @GenericGenerator(
+      name = "coin_id",
+      strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+      parameters = {
+        @Parameter(name = "sequence_name", value = "coins_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+      })
   @Column(name = "id", nullable = false, updatable = false)
   private Long id;
 
@@ -31,6 +57,7 @@ public class Coin {
   private LocalDateTime updatedAt;
 
   @OneToMany(mappedBy = "coin", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = I18N_NAMES_CACHE_REGION)
   private Set<CoinI18n> i18nNames = new HashSet<>();
 
   // Constructors
@@ -4,12 +4,31 @@ import java.time.LocalDateTime;
 
 import javax.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 @Entity
 @Table(name = "coin_i18n")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CoinI18n.CACHE_REGION)
 public class CoinI18n {
 
+  /** Second-level cache region holding i18n names, configured in {@code ehcache.xml}. */
+  public static final String CACHE_REGION = "coin-i18n";
+
+  // Same pooled-lo sequence scheme as Coin.id
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coin_i18n_id")
+  @GenericGenerator(
+      name = "coin_i18n_id",
+      strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+      parameters = {
+        @Parameter(name = "sequence_name", value = "coin_i18n_seq"),
+        @Parameter(name = "increment_size", value = "50"),
+        @Parameter(name = "optimizer", value = "pooled-lo")
+      })
   @Column(name = "id", nullable = false, updatable = false)
   private Long id;
 
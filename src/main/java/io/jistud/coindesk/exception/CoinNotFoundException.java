@@ -0,0 +1,12 @@
+package io.jistud.coindesk.exception;
+
+/**
+ * Thrown when a coin addressed by ID does not exist. Extends {@link IllegalArgumentException} so
+ * callers that treat an unknown ID as a bad argument keep working; the API maps it to 404.
+ */
+public class CoinNotFoundException extends IllegalArgumentException {
+
+  public CoinNotFoundException(Long id) {
+    super("Coin with ID " + id + " not found");
+  }
+}
@@ -0,0 +1,35 @@
+package io.jistud.coindesk.exception;
+
+import java.util.regex.Pattern;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/** Tells which database constraint a translated integrity violation broke. */
+public final class ConstraintViolations {
+
+  private ConstraintViolations() {}
+
+  /**
+   * Checks whether a violation was raised by a given constraint. The name comes from Hibernate's
+   * {@link ConstraintViolationException}; H2 reports the constraint's index there, e.g. {@code
+   * PUBLIC.UK_COINS_NAME_INDEX_4 ON PUBLIC.COINS(NAME) ...}, so that form matches too.
+   *
+   * @param e Translated violation
+   * @param constraint Constraint name, e.g. "uk_coins_name"
+   * @return true if the violation names the constraint
+   */
+  public static boolean violates(DataIntegrityViolationException e, String constraint) {
+    Pattern name =
+        Pattern.compile(
+            "(?<!\\w)" + Pattern.quote(constraint) + "(_INDEX_\\d+)?(?!\\w)",
+            Pattern.CASE_INSENSITIVE);
+    for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException) {
+        String violated = ((ConstraintViolationException) cause).getConstraintName();
+        return violated != null && name.matcher(violated).find();
+      }
+    }
+    return false;
+  }
+}
@@ -1,5 +1,7 @@
 package io.jistud.coindesk.exception;
 
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -8,11 +10,27 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import io.jistud.coindesk.dto.ErrorResponse;
+import io.jistud.coindesk.entity.Coin;
 
 /** Global exception handler to provide consistent error responses across the application. */
 @RestControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
+  /**
+   * Handle CoinNotFoundException. Takes precedence over the IllegalArgumentException handler as
+   * the more specific type.
+   *
+   * @param ex The exception
+   * @return Error response with 404 Not Found status
+   */
+  @ExceptionHandler(CoinNotFoundException.class)
+  @ResponseStatus(HttpStatus.NOT_FOUND)
+  public ResponseEntity<ErrorResponse> handleCoinNotFoundException(CoinNotFoundException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage());
+    return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+  }
+
   /**
    * Handle IllegalArgumentException. This is used for invalid request parameters or business rule
    * violations.
@@ -41,6 +59,26 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
   }
 
+  /**
+   * Handle DataIntegrityViolationException. Writes rely on database constraints rather than
+   * lookups to detect duplicates, so a duplicate coin name the service did not translate is still
+   * a 409. Any other violation is unexpected and handled like any other unhandled exception.
+   *
+   * @param ex The exception
+   * @return Error response with 409 Conflict status for a duplicate coin name, otherwise 500
+   *     Internal Server Error
+   */
+  @ExceptionHandler(DataIntegrityViolationException.class)
+  public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+      DataIntegrityViolationException ex) {
+    if (!ConstraintViolations.violates(ex, Coin.NAME_CONSTRAINT)) {
+      return handleGenericException(ex);
+    }
+    ErrorResponse errorResponse =
+        new ErrorResponse(HttpStatus.CONFLICT.value(), "Coin with this name already exists");
+    return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+  }
+
   /**
    * Fallback handler for any unhandled exceptions.
    *
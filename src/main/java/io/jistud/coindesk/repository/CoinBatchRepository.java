@@ -0,0 +1,184 @@
+package io.jistud.coindesk.repository;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Set-based coin writes in plain JDBC, for bulk loads where inserting entity by entity through
+ * JPA costs one round trip per row. Ids are drawn from the same sequences as the entities' ids.
+ * Callers must run inside a transaction and publish the usual {@code CoinChangedEvent}, since
+ * caches are not told about these writes otherwise. The SQL is H2's, in any compatibility mode.
+ */
+@Repository
+public class CoinBatchRepository {
+
+  /** Rows sent per JDBC batch, and names per {@code IN} list. */
+  static final int CHUNK_SIZE = 500;
+
+  /**
+   * Ids reserved per sequence value. Must match the sequences' INCREMENT BY and the entities'
+   * pooled-lo {@code increment_size}, so JDBC and Hibernate inserts never hand out the same id.
+   */
+  static final int ID_ALLOCATION_SIZE = 50;
+
+  private static final String COIN_SEQUENCE = "coins_seq";
+  private static final String I18N_SEQUENCE = "coin_i18n_seq";
+
+  // Inserts nothing, rather than failing the batch, for a name another transaction has committed
+  private static final String MERGE_COIN =
+      "MERGE INTO coins t"
+          + " USING (SELECT CAST(? AS BIGINT) AS id, CAST(? AS VARCHAR(255)) AS name) s"
+          + " ON t.name = s.name"
+          + " WHEN NOT MATCHED THEN INSERT (id, name) VALUES (s.id, s.name)";
+
+  // Merges on the unique_coin_lang key: an existing pair is renamed, and only a new pair draws an
+  // id. The sequence value is used as is; like a pooled-lo block of its own, it collides with no
+  // id Hibernate hands out.
+  private static final String MERGE_I18N =
+      "MERGE INTO coin_i18n t"
+          + " USING (SELECT CAST(? AS BIGINT) AS coin_id, CAST(? AS VARCHAR(10)) AS lang_code,"
+          + " CAST(? AS VARCHAR(255)) AS name) s"
+          + " ON t.coin_id = s.coin_id AND t.lang_code = s.lang_code"
+          + " WHEN MATCHED THEN UPDATE SET name = s.name, updated_at = CURRENT_TIMESTAMP"
+          + " WHEN NOT MATCHED THEN INSERT (id, coin_id, lang_code, name)"
+          + " VALUES (NEXT VALUE FOR "
+          + I18N_SEQUENCE
+          + ", s.coin_id, s.lang_code, s.name)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+  @Autowired
+  public CoinBatchRepository(
+      JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.namedJdbcTemplate = namedJdbcTemplate;
+  }
+
+  /**
+   * Looks up the ids of the coins with the given names, one query per {@value #CHUNK_SIZE} names.
+   *
+   * @param names Coin names
+   * @return Ids keyed by name, for the names that exist
+   */
+  public Map<String, Long> findIdsByNames(Collection<String> names) {
+    Map<String, Long> ids = new HashMap<>();
+    for (List<String> chunk : chunks(new ArrayList<>(names))) {
+      namedJdbcTemplate.query(
+          "SELECT id, name FROM coins WHERE name IN (:names)",
+          Collections.singletonMap("names", chunk),
+          rs -> {
+            ids.put(rs.getString("name"), rs.getLong("id"));
+          });
+    }
+    return ids;
+  }
+
+  /**
+   * Inserts coins in JDBC batches. A name that already exists by the time its row is written is
+   * skipped, and left out of the result.
+   *
+   * @param names Names of the coins to insert
+   * @return The ids given to the coins inserted, keyed by name
+   */
+  public Map<String, Long> insertCoins(List<String> names) {
+    List<Long> ids = allocateIds(COIN_SEQUENCE, names.size());
+    List<Map.Entry<String, Long>> rows = new ArrayList<>(names.size());
+    for (int i = 0; i < names.size(); i++) {
+      rows.add(new AbstractMap.SimpleImmutableEntry<>(names.get(i), ids.get(i)));
+    }
+    Map<String, Long> idsByName = new LinkedHashMap<>();
+    for (List<Map.Entry<String, Long>> chunk : chunks(rows)) {
+      int[] counts =
+          jdbcTemplate.batchUpdate(
+              MERGE_COIN,
+              chunk,
+              chunk.size(),
+              (ps, row) -> {
+                ps.setLong(1, row.getValue());
+                ps.setString(2, row.getKey());
+              })[0];
+      for (int i = 0; i < counts.length; i++) {
+        if (counts[i] > 0) {
+          idsByName.put(chunk.get(i).getKey(), chunk.get(i).getValue());
+        }
+      }
+    }
+    return idsByName;
+  }
+
+  /**
+   * Merges localized names in JDBC batches, replacing the name of any language a coin already has
+   * and inserting the rest. Ids are only drawn for the rows inserted.
+   *
+   * @param namesByCoinId Localized names keyed by language code, keyed by coin id
+   */
+  public void upsertI18nNames(Map<Long, Map<String, String>> namesByCoinId) {
+    List<Object[]> rows = new ArrayList<>();
+    namesByCoinId.forEach(
+        (coinId, names) ->
+            names.forEach((langCode, name) -> rows.add(new Object[] {coinId, langCode, name})));
+    for (List<Object[]> chunk : chunks(rows)) {
+      jdbcTemplate.batchUpdate(MERGE_I18N, chunk);
+    }
+  }
+
+  /**
+   * Looks up the ids of the given coins' localized names, one query per {@value #CHUNK_SIZE}
+   * coins.
+   *
+   * @param coinIds Coin ids
+   * @return Ids of the coins' rows in {@code coin_i18n}
+   */
+  public List<Long> findI18nIdsByCoinIds(Collection<Long> coinIds) {
+    List<Long> ids = new ArrayList<>();
+    for (List<Long> chunk : chunks(new ArrayList<>(coinIds))) {
+      ids.addAll(
+          namedJdbcTemplate.queryForList(
+              "SELECT id FROM coin_i18n WHERE coin_id IN (:coinIds)",
+              Collections.singletonMap("coinIds", chunk),
+              Long.class));
+    }
+    return ids;
+  }
+
+  /**
+   * Reserves ids the way Hibernate's pooled-lo optimizer does: each sequence value {@code v} owns
+   * the ids {@code v} to {@code v + ID_ALLOCATION_SIZE - 1}. All values come from one query.
+   */
+  private List<Long> allocateIds(String sequence, int count) {
+    List<Long> ids = new ArrayList<>(count);
+    if (count == 0) {
+      return ids;
+    }
+    int blocks = (count + ID_ALLOCATION_SIZE - 1) / ID_ALLOCATION_SIZE;
+    List<Long> blockStarts =
+        jdbcTemplate.queryForList(
+            "SELECT NEXT VALUE FOR " + sequence + " FROM SYSTEM_RANGE(1, ?)", Long.class, blocks);
+    for (Long start : blockStarts) {
+      for (int i = 0; i < ID_ALLOCATION_SIZE && ids.size() < count; i++) {
+        ids.add(start + i);
+      }
+    }
+    return ids;
+  }
+
+  private static <T> List<List<T>> chunks(List<T> items) {
+    List<List<T>> chunks = new ArrayList<>();
+    for (int from = 0; from < items.size(); from += CHUNK_SIZE) {
+      chunks.add(items.subList(from, Math.min(from + CHUNK_SIZE, items.size())));
+    }
+    return chunks;
+  }
+}
@@ -0,0 +1,15 @@
+package io.jistud.coindesk.repository;
+
+/**
+ * One row of the coin catalog export: a coin joined with one of its localized names. A coin
+ * without localized names yields a single row whose language fields are null.
+ */
+public interface CoinExportRow {
+  Long getId();
+
+  String getName();
+
+  String getLangCode();
+
+  String getLocalizedName();
+}
@@ -1,18 +1,102 @@
 package io.jistud.coindesk.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import io.jistud.coindesk.entity.Coin;
 
 @Repository
 public interface CoinRepository extends JpaRepository<Coin, Long> {
+
+  /** Rows the JDBC driver fetches per round trip while streaming the export. */
+  String EXPORT_FETCH_SIZE = "1000";
+
+  /**
+   * Served from the query cache until a write to the coins table invalidates it. The match is
+   * exact, so the {@code uk_coins_name} unique index serves a miss.
+   */
+  @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
   Optional<Coin> findByName(String name);
 
+  /**
+   * Finds coins whose name contains the given text, ignoring case. Filters on the generated
+   * {@code name_lower} column rather than {@code LOWER(name)}, so no row is lower-cased per
+   * lookup; a leading wildcard still scans every name. {@code %} and {@code _} in the text match
+   * themselves.
+   */
+  @Query(
+      value =
+          "SELECT c.id, c.name, c.created_at, c.updated_at FROM coins c"
+              + " WHERE c.name_lower LIKE CONCAT('%', LOWER(?#{escape([0])}), '%')"
+              + " ESCAPE ?#{escapeCharacter()}",
+      nativeQuery = true)
   List<Coin> findByNameContainingIgnoreCase(String partialName);
 
   boolean existsByName(String name);
+
+  @EntityGraph(attributePaths = "i18nNames")
+  Optional<Coin> findWithI18nNamesById(Long id);
+
+  /**
+   * Renames a coin in one statement. The unique constraint on the name rejects a name taken by
+   * another coin, so no lookup is needed first.
+   *
+   * @return The number of coins updated, 0 if none has the ID
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update Coin c set c.name = :name, c.updatedAt = :updatedAt where c.id = :id")
+  int updateName(
+      @Param("id") Long id,
+      @Param("name") String name,
+      @Param("updatedAt") LocalDateTime updatedAt);
+
+  /**
+   * Deletes a coin in one statement, without loading it first. Its i18n names must be deleted
+   * before.
+   *
+   * @return The number of coins deleted, 0 if none has the ID
+   */
+  @Modifying
+  @Query("delete from Coin c where c.id = :id")
+  int deleteCoinById(@Param("id") Long id);
+
+  @Query("select c.id as id, c.name as name from Coin c where c.id > :after order by c.id")
+  List<CoinSummaryView> findSummariesAfter(@Param("after") Long after, Pageable pageable);
+
+  @Query("select distinct c from Coin c left join fetch c.i18nNames")
+  List<Coin> findAllWithI18nNames();
+
+  /**
+   * Loads the given coins with their localized names in one query. Ids of coins that no longer
+   * exist are skipped.
+   */
+  @Query("select distinct c from Coin c left join fetch c.i18nNames where c.id in :ids")
+  List<Coin> findAllWithI18nNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Streams every coin with its localized names, ordered by coin id so that a coin's rows are
+   * adjacent. Must be consumed, and closed, inside a transaction.
+   */
+  @QueryHints({
+    @QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE),
+    @QueryHint(name = "org.hibernate.readOnly", value = "true")
+  })
+  @Query(
+      "select c.id as id, c.name as name, i.langCode as langCode, i.name as localizedName"
+          + " from Coin c left join c.i18nNames i order by c.id, i.langCode")
+  Stream<CoinExportRow> streamExportRows();
 }
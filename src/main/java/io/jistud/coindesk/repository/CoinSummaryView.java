@@ -0,0 +1,8 @@
+package io.jistud.coindesk.repository;
+
+/** Read-only projection of a coin's id and name, selected without loading the entity. */
+public interface CoinSummaryView {
+  Long getId();
+
+  String getName();
+}
@@ -0,0 +1,83 @@
+package io.jistud.coindesk.service;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.entity.CoinI18n;
+import io.jistud.coindesk.repository.CoinBatchRepository;
+
+/**
+ * Evicts a changed coin from the Hibernate second-level cache. Hibernate keeps the cache current
+ * for writes it runs itself, but the bulk writer and the i18n upsert update rows with plain JDBC,
+ * which Hibernate never sees.
+ *
+ * <p>Entries are evicted just before the change commits and again just after: a reader that
+ * loaded the old rows in between puts them back only until the second eviction, rather than for
+ * the rest of the region's TTL.
+ */
+@Component
+public class CoinCacheEvictor {
+
+  private static final String I18N_NAMES_ROLE = Coin.class.getName() + ".i18nNames";
+
+  private final Cache cache;
+  private final CoinBatchRepository coinBatchRepository;
+
+  @Autowired
+  public CoinCacheEvictor(
+      EntityManagerFactory entityManagerFactory, CoinBatchRepository coinBatchRepository) {
+    this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    this.coinBatchRepository = coinBatchRepository;
+  }
+
+  /**
+   * Drops cached state that the change may make stale, and drops it again once the change has
+   * committed.
+   *
+   * @param event The coin change about to commit
+   */
+  @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+  public void onCoinChanged(CoinChangedEvent event) {
+    Set<Long> coinIds = event.getCoinIds();
+    boolean bulk = event.isBulk();
+    // Read inside the transaction, so the ids include rows it inserted
+    List<Long> i18nIds = coinBatchRepository.findI18nIdsByCoinIds(coinIds);
+    evict(coinIds, i18nIds, bulk);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              evict(coinIds, i18nIds, bulk);
+            }
+          });
+    }
+  }
+
+  private void evict(Set<Long> coinIds, List<Long> i18nIds, boolean bulk) {
+    for (Long coinId : coinIds) {
+      cache.evictEntityData(Coin.class, coinId);
+      cache.evictCollectionData(I18N_NAMES_ROLE, coinId);
+    }
+    for (Long i18nId : i18nIds) {
+      cache.evictEntityData(CoinI18n.class, i18nId);
+    }
+    // Renames and deletes run through Hibernate, which invalidates cached query results itself,
+    // but cached findByName results may miss coins inserted with plain JDBC
+    if (bulk) {
+      cache.evictDefaultQueryRegion();
+    }
+  }
+}
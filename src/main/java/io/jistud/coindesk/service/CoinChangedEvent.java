@@ -0,0 +1,55 @@
+package io.jistud.coindesk.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Published by {@link CoinService} when coins or their localized names are created, updated or
+ * deleted. Listeners that cache coin data should bind to the after-commit phase so they never
+ * observe uncommitted changes.
+ */
+public class CoinChangedEvent {
+
+  private final Set<Long> coinIds;
+  private final boolean bulk;
+
+  /** @param coinId The id of the changed coin */
+  public CoinChangedEvent(Long coinId) {
+    this(Collections.singleton(coinId), false);
+  }
+
+  private CoinChangedEvent(Set<Long> coinIds, boolean bulk) {
+    this.coinIds = coinIds;
+    this.bulk = bulk;
+  }
+
+  /**
+   * Creates the event for a bulk write, which inserts coins with plain JDBC.
+   *
+   * @param coinIds Ids of the coins the write created or changed
+   * @return The event
+   */
+  public static CoinChangedEvent bulk(Collection<Long> coinIds) {
+    return new CoinChangedEvent(Collections.unmodifiableSet(new LinkedHashSet<>(coinIds)), true);
+  }
+
+  /** @return The ids of the changed coins; a deleted coin's id is included */
+  public Set<Long> getCoinIds() {
+    return coinIds;
+  }
+
+  /**
+   * @return Whether coins were inserted with plain JDBC, unseen by Hibernate's query cache
+   *     invalidation
+   */
+  public boolean isBulk() {
+    return bulk;
+  }
+
+  @Override
+  public String toString() {
+    return "CoinChangedEvent{" + "coinIds=" + coinIds + ", bulk=" + bulk + '}';
+  }
+}
@@ -0,0 +1,217 @@
+package io.jistud.coindesk.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Streaming parser for the CoinDesk price document. Reads tokens straight from the upstream bytes
+ * into a {@link PriceSnapshot} instead of buffering the body and data-binding it into {@code
+ * CoinDeskResponse}, so rates never get boxed and currency codes are not re-allocated.
+ */
+@Component
+public class CoinDeskPayloadParser {
+
+  /**
+   * Currency codes CoinDesk publishes; matching codes resolve to these exact instances. Other codes
+   * come straight from the payload and are not interned, so a hostile or changing upstream cannot
+   * grow the JVM string table.
+   */
+  private static final String[] KNOWN_CODES = {"USD", "GBP", "EUR"};
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  /**
+   * Parses a CoinDesk document from a byte array
+   *
+   * @param payload UTF-8 JSON bytes
+   * @return The parsed snapshot
+   * @throws IOException if the payload is not a valid CoinDesk document
+   */
+  public PriceSnapshot parse(byte[] payload) throws IOException {
+    try (JsonParser parser = jsonFactory.createParser(payload)) {
+      return parse(parser);
+    }
+  }
+
+  /**
+   * Parses a CoinDesk document from a stream. The stream is not closed.
+   *
+   * @param payload Stream of UTF-8 JSON bytes
+   * @return The parsed snapshot
+   * @throws IOException if the stream cannot be read or is not a valid CoinDesk document
+   */
+  public PriceSnapshot parse(InputStream payload) throws IOException {
+    try (JsonParser parser = jsonFactory.createParser(payload)) {
+      return parse(parser);
+    }
+  }
+
+  private PriceSnapshot parse(JsonParser parser) throws IOException {
+    expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+    String updated = null;
+    String updatedIso = null;
+    String updatedUk = null;
+    boolean hasTime = false;
+    String disclaimer = null;
+    String chartName = null;
+
+    int count = 0;
+    String[] codes = new String[INITIAL_CAPACITY];
+    String[] symbols = new String[INITIAL_CAPACITY];
+    String[] rateTexts = new String[INITIAL_CAPACITY];
+    String[] descriptions = new String[INITIAL_CAPACITY];
+    double[] rates = new double[INITIAL_CAPACITY];
+
+    String field;
+    while ((field = parser.nextFieldName()) != null) {
+      JsonToken value = parser.nextToken();
+      switch (field) {
+        case "time":
+          if (value == JsonToken.VALUE_NULL) {
+            break;
+          }
+          expect(parser, value, JsonToken.START_OBJECT);
+          hasTime = true;
+          String timeField;
+          while ((timeField = parser.nextFieldName()) != null) {
+            parser.nextToken();
+            switch (timeField) {
+              case "updated":
+                updated = parser.getValueAsString();
+                break;
+              case "updatedISO":
+                updatedIso = parser.getValueAsString();
+                break;
+              case "updateduk":
+                updatedUk = parser.getValueAsString();
+                break;
+              default:
+                parser.skipChildren();
+            }
+          }
+          break;
+        case "disclaimer":
+          disclaimer = parser.getValueAsString();
+          break;
+        case "chartName":
+          chartName = parser.getValueAsString();
+          break;
+        case "bpi":
+          if (value == JsonToken.VALUE_NULL) {
+            break;
+          }
+          expect(parser, value, JsonToken.START_OBJECT);
+          String key;
+          while ((key = parser.nextFieldName()) != null) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            if (count == codes.length) {
+              int capacity = count * 2;
+              codes = Arrays.copyOf(codes, capacity);
+              symbols = Arrays.copyOf(symbols, capacity);
+              rateTexts = Arrays.copyOf(rateTexts, capacity);
+              descriptions = Arrays.copyOf(descriptions, capacity);
+              rates = Arrays.copyOf(rates, capacity);
+            }
+            // Field names are already canonicalized by Jackson; map them onto the known codes
+            codes[count] = canonicalCode(key);
+            rates[count] = Double.NaN;
+            String currencyField;
+            while ((currencyField = parser.nextFieldName()) != null) {
+              JsonToken currencyValue = parser.nextToken();
+              switch (currencyField) {
+                case "code":
+                  if (currencyValue != JsonToken.VALUE_STRING) {
+                    break;
+                  }
+                  codes[count] =
+                      canonicalCode(
+                          parser.getTextCharacters(),
+                          parser.getTextOffset(),
+                          parser.getTextLength());
+                  break;
+                case "symbol":
+                  symbols[count] = parser.getValueAsString();
+                  break;
+                case "rate":
+                  rateTexts[count] = parser.getValueAsString();
+                  break;
+                case "description":
+                  descriptions[count] = parser.getValueAsString();
+                  break;
+                case "rate_float":
+                  if (currencyValue.isNumeric()) {
+                    rates[count] = parser.getDoubleValue();
+                  }
+                  break;
+                default:
+                  parser.skipChildren();
+              }
+            }
+            count++;
+          }
+          break;
+        default:
+          parser.skipChildren();
+      }
+    }
+
+    return new PriceSnapshot(
+        updated,
+        updatedIso,
+        updatedUk,
+        hasTime,
+        disclaimer,
+        chartName,
+        Arrays.copyOf(codes, count),
+        Arrays.copyOf(symbols, count),
+        Arrays.copyOf(rateTexts, count),
+        Arrays.copyOf(descriptions, count),
+        Arrays.copyOf(rates, count));
+  }
+
+  private static void expect(JsonParser parser, JsonToken actual, JsonToken expected)
+      throws JsonParseException {
+    if (actual != expected) {
+      throw new JsonParseException(
+          parser, "Unexpected token " + actual + " in CoinDesk payload, expected " + expected);
+    }
+  }
+
+  static String canonicalCode(String code) {
+    for (String known : KNOWN_CODES) {
+      if (known.equals(code)) {
+        return known;
+      }
+    }
+    return code;
+  }
+
+  static String canonicalCode(char[] buffer, int offset, int length) {
+    for (String known : KNOWN_CODES) {
+      if (known.length() == length && regionMatches(known, buffer, offset)) {
+        return known;
+      }
+    }
+    return new String(buffer, offset, length);
+  }
+
+  private static boolean regionMatches(String known, char[] buffer, int offset) {
+    for (int i = 0; i < known.length(); i++) {
+      if (known.charAt(i) != buffer[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,395 @@
+package io.jistud.coindesk.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jistud.coindesk.config.CoinDeskProperties;
+import io.jistud.coindesk.dto.PriceRatesUpdate;
+import io.jistud.coindesk.dto.SerializedJson;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Pushes CoinDesk price snapshots to stream subscribers. Each snapshot is serialized once and
+ * written to every subscriber by a small shared pool, so there is no thread per subscriber.
+ *
+ * <p>New subscribers first get the full {@value #SNAPSHOT_EVENT} and then {@value #RATES_EVENT}
+ * diffs. A subscriber still writing an earlier message when a new one arrives has its pending
+ * message replaced by the latest full snapshot, so slow consumers skip intermediate updates
+ * instead of queueing them. One that keeps falling behind is evicted.
+ *
+ * <p>Writes block, so one to a client that stopped reading could hold a pool thread until the
+ * servlet write times out. A watchdog evicts any subscriber whose write has been in flight longer
+ * than {@code coindesk.stream.write-timeout} and adds a pool thread to stand in for the blocked
+ * one until its write returns, so stuck clients never starve the others.
+ */
+@Component
+@Profile("!reactive")
+public class CoinDeskPriceBroadcaster implements DisposableBean {
+
+  /** Event name of a message carrying a full {@code CoinDeskResponse}. */
+  public static final String SNAPSHOT_EVENT = "snapshot";
+
+  /** Event name of a message carrying a {@code PriceRatesUpdate} diff. */
+  public static final String RATES_EVENT = "rates";
+
+  private static final Logger logger = LoggerFactory.getLogger(CoinDeskPriceBroadcaster.class);
+
+  /** Transport a subscriber receives messages through, e.g. an SSE emitter. */
+  public interface Sink {
+
+    /**
+     * Writes one message. Calls for the same sink never overlap.
+     *
+     * @param event Event name, {@code snapshot} or {@code rates}
+     * @param json UTF-8 JSON payload; must not be modified
+     * @throws IOException if the subscriber is gone
+     */
+    void send(String event, byte[] json) throws IOException;
+
+    /** Closes the transport after the subscriber has been evicted. */
+    void close();
+  }
+
+  private final ObjectMapper objectMapper;
+  private final int maxSubscribers;
+  private final int maxSkippedUpdates;
+  private final int fanoutThreads;
+  private final long writeTimeoutNanos;
+  private final ThreadPoolExecutor fanoutExecutor;
+  private final ScheduledExecutorService watchdog;
+  private final ConcurrentMap<Sink, Subscriber> subscribers = new ConcurrentHashMap<>();
+  // Evicted subscribers whose sink is closed once their write in flight returns
+  private final Set<Subscriber> closing = ConcurrentHashMap.newKeySet();
+  // Held while publishing and while subscribing, so a new subscriber gets either the previous
+  // snapshot followed by the next update, or the new snapshot, but never a diff on its own
+  private final ReentrantLock publishLock = new ReentrantLock();
+  private Message latestSnapshot;
+  private int stuckWrites;
+
+  private final Timer fanoutLatency;
+  private final Counter evictions;
+
+  @Autowired
+  public CoinDeskPriceBroadcaster(
+      ObjectMapper objectMapper, CoinDeskProperties properties, MeterRegistry meterRegistry) {
+    CoinDeskProperties.Stream stream = properties.getStream();
+    this.objectMapper = objectMapper;
+    this.maxSubscribers = stream.getMaxSubscribers();
+    this.maxSkippedUpdates = stream.getMaxSkippedUpdates();
+    this.fanoutThreads = stream.getFanoutThreads();
+    this.writeTimeoutNanos = stream.getWriteTimeout().toNanos();
+    CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("coindesk-stream-");
+    threadFactory.setDaemon(true);
+    this.fanoutExecutor =
+        new ThreadPoolExecutor(
+            fanoutThreads,
+            fanoutThreads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            threadFactory);
+    CustomizableThreadFactory watchdogFactory =
+        new CustomizableThreadFactory("coindesk-stream-watchdog-");
+    watchdogFactory.setDaemon(true);
+    this.watchdog = Executors.newSingleThreadScheduledExecutor(watchdogFactory);
+    long checkIntervalNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(10), writeTimeoutNanos / 4);
+    watchdog.scheduleWithFixedDelay(
+        this::evictStuckWriters, checkIntervalNanos, checkIntervalNanos, TimeUnit.NANOSECONDS);
+    this.fanoutLatency =
+        Timer.builder("coindesk.stream.fanout.latency")
+            .description("Time from a snapshot being published to it reaching a subscriber")
+            .register(meterRegistry);
+    this.evictions =
+        Counter.builder("coindesk.stream.evictions")
+            .description("Stream subscribers evicted for falling behind or failing")
+            .register(meterRegistry);
+    Gauge.builder("coindesk.stream.subscribers", subscribers, Map::size)
+        .description("Connected price stream subscribers")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Registers a subscriber and queues the current snapshot for it, if there is one.
+   *
+   * @param sink Transport to write messages to
+   * @return false if the subscriber limit has been reached and the sink was not registered
+   */
+  public boolean subscribe(Sink sink) {
+    if (subscribers.size() >= maxSubscribers) {
+      return false;
+    }
+    Subscriber subscriber = new Subscriber(sink);
+    publishLock.lock();
+    try {
+      subscribers.put(sink, subscriber);
+      if (latestSnapshot != null) {
+        subscriber.offer(latestSnapshot, latestSnapshot);
+      }
+    } finally {
+      publishLock.unlock();
+    }
+    return true;
+  }
+
+  /**
+   * Removes a subscriber whose transport has completed, timed out or failed.
+   *
+   * @param sink Transport passed to {@link #subscribe}
+   */
+  public void unsubscribe(Sink sink) {
+    subscribers.remove(sink);
+  }
+
+  /** @return The number of connected subscribers */
+  public int getSubscriberCount() {
+    return subscribers.size();
+  }
+
+  /**
+   * Fans a new snapshot out to every subscriber. Only serializes and enqueues; writes happen on
+   * the fan-out pool, so holding the publish lock while enqueuing is cheap.
+   *
+   * @param event The published snapshot
+   */
+  @EventListener
+  public void onSnapshotUpdated(PriceSnapshotUpdatedEvent event) {
+    try {
+      long now = System.nanoTime();
+      Message snapshot =
+          new Message(
+              SNAPSHOT_EVENT,
+              SerializedJson.of(objectMapper, event.getCurrent().toResponse()).getBody(),
+              now);
+      Message update =
+          event.getPrevious() == null
+              ? snapshot
+              : new Message(
+                  RATES_EVENT,
+                  SerializedJson.of(objectMapper, diff(event.getPrevious(), event.getCurrent()))
+                      .getBody(),
+                  now);
+      publishLock.lock();
+      try {
+        latestSnapshot = snapshot;
+        for (Subscriber subscriber : subscribers.values()) {
+          subscriber.offer(update, snapshot);
+        }
+      } finally {
+        publishLock.unlock();
+      }
+    } catch (RuntimeException e) {
+      // Never fail the refresh that published the snapshot
+      logger.warn("Could not broadcast CoinDesk price snapshot: {}", e.getMessage());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    watchdog.shutdownNow();
+    fanoutExecutor.shutdownNow();
+    subscribers.keySet().forEach(Sink::close);
+    subscribers.clear();
+  }
+
+  /**
+   * Waits for queued writes to finish. Intended for tests and orderly shutdown.
+   *
+   * @param timeout Maximum time to wait
+   * @param unit Unit of the timeout
+   * @return true if every subscriber had nothing left to write within the timeout
+   * @throws InterruptedException if interrupted while waiting
+   */
+  boolean awaitQuiescence(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (System.nanoTime() < deadline) {
+      if (closing.isEmpty() && subscribers.values().stream().allMatch(Subscriber::isIdle)) {
+        return true;
+      }
+      Thread.sleep(1);
+    }
+    return false;
+  }
+
+  static PriceRatesUpdate diff(PriceSnapshot previous, PriceSnapshot current) {
+    Map<String, Double> changed = new LinkedHashMap<>();
+    for (int i = 0; i < current.size(); i++) {
+      String code = current.code(i);
+      double rate = current.rate(i);
+      int old = previous.indexOf(code);
+      // A missing rate is NaN in the snapshot and null on the wire; compare treats NaN as equal
+      if (old < 0 || Double.compare(previous.rate(old), rate) != 0) {
+        changed.put(code, Double.isNaN(rate) ? null : rate);
+      }
+    }
+    return new PriceRatesUpdate(current.getUpdatedIso(), changed);
+  }
+
+  private void evict(Subscriber subscriber, String reason) {
+    if (subscribers.remove(subscriber.sink, subscriber)) {
+      evictions.increment();
+      logger.debug("Evicting price stream subscriber: {}", reason);
+      closing.add(subscriber);
+      subscriber.evicted = true;
+      // Closing waits for a write in flight, so leave it to the writer if there is one
+      if (!subscriber.draining.get()) {
+        subscriber.close();
+      }
+    }
+  }
+
+  /** Evicts subscribers whose write has blocked too long and stands in for their threads. */
+  private void evictStuckWriters() {
+    long now = System.nanoTime();
+    for (Subscriber subscriber : subscribers.values()) {
+      long startedAt = subscriber.writeStartedAtNanos;
+      if (startedAt != 0
+          && now - startedAt > writeTimeoutNanos
+          && subscriber.stuck.compareAndSet(false, true)) {
+        resizePool(1);
+        evict(subscriber, "write blocked for over " + writeTimeoutNanos / 1_000_000 + " ms");
+      }
+    }
+  }
+
+  private synchronized void resizePool(int delta) {
+    stuckWrites += delta;
+    int size = fanoutThreads + stuckWrites;
+    // The maximum must never drop below the core size, so order the two updates accordingly
+    if (delta > 0) {
+      fanoutExecutor.setMaximumPoolSize(size);
+      fanoutExecutor.setCorePoolSize(size);
+    } else {
+      fanoutExecutor.setCorePoolSize(size);
+      fanoutExecutor.setMaximumPoolSize(size);
+    }
+  }
+
+  /** A serialized stream message and when its snapshot was published. */
+  private static final class Message {
+    private final String event;
+    private final byte[] json;
+    private final long publishedAtNanos;
+
+    private Message(String event, byte[] json, long publishedAtNanos) {
+      this.event = event;
+      this.json = json;
+      this.publishedAtNanos = publishedAtNanos;
+    }
+  }
+
+  /**
+   * Per-subscriber mailbox holding at most one pending message, drained by at most one pool task
+   * at a time.
+   */
+  private final class Subscriber implements Runnable {
+    private final Sink sink;
+    private final AtomicReference<Message> pending = new AtomicReference<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicBoolean stuck = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    // When the write in flight started, or 0 between writes
+    private volatile long writeStartedAtNanos;
+    private volatile boolean evicted;
+    // Only read and written under the publish lock
+    private boolean primed;
+
+    private Subscriber(Sink sink) {
+      this.sink = sink;
+    }
+
+    private void offer(Message update, Message snapshot) {
+      // A diff is only valid against the message before it, so a subscriber that has never been
+      // sent a snapshot, or has skipped anything, gets the full snapshot instead
+      Message next = primed ? update : snapshot;
+      primed = true;
+      Message replaced = pending.getAndUpdate(current -> current == null ? next : snapshot);
+      if (replaced != null && skipped.incrementAndGet() > maxSkippedUpdates) {
+        evict(this, "skipped " + skipped.get() + " updates");
+        return;
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      if (draining.compareAndSet(false, true)) {
+        try {
+          fanoutExecutor.execute(this);
+        } catch (RejectedExecutionException e) {
+          draining.set(false);
+          evict(this, "fan-out pool shut down");
+        }
+      }
+    }
+
+    private boolean isIdle() {
+      return pending.get() == null && !draining.get();
+    }
+
+    private void close() {
+      if (closed.compareAndSet(false, true)) {
+        sink.close();
+        closing.remove(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        Message message;
+        while (!evicted && (message = pending.getAndSet(null)) != null) {
+          writeStartedAtNanos = System.nanoTime();
+          try {
+            sink.send(message.event, message.json);
+          } finally {
+            writeStartedAtNanos = 0;
+          }
+          skipped.set(0);
+          fanoutLatency.record(System.nanoTime() - message.publishedAtNanos, TimeUnit.NANOSECONDS);
+        }
+      } catch (IOException | RuntimeException e) {
+        evict(this, e.toString());
+      } finally {
+        draining.set(false);
+        if (stuck.get()) {
+          // The watchdog added a thread for this write; give it back now that it has returned
+          resizePool(-1);
+        }
+      }
+      if (evicted) {
+        close();
+      } else if (pending.get() != null) {
+        // A message may have been offered after the loop saw an empty mailbox
+        schedule();
+      }
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package io.jistud.coindesk.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.jistud.coindesk.dto.CoinDeskResponse;
+import io.jistud.coindesk.dto.CoinDeskTransformedResponse;
+
+/**
+ * Combines a raw CoinDesk response with localized coin information from the in-memory
+ * {@link CoinI18nIndex}. Shared by the blocking and reactive CoinDesk services.
+ */
+@Component
+public class CoinDeskResponseTransformer {
+
+  private static final Logger logger = LoggerFactory.getLogger(CoinDeskResponseTransformer.class);
+
+  private final CoinI18nIndexHolder indexHolder;
+
+  @Autowired
+  public CoinDeskResponseTransformer(CoinI18nIndexHolder indexHolder) {
+    this.indexHolder = indexHolder;
+  }
+
+  /** @return The i18n index the next {@link #transform(CoinDeskResponse, String)} will use */
+  public CoinI18nIndex currentIndex() {
+    return indexHolder.current();
+  }
+
+  /**
+   * Transforms a CoinDesk response into its localized representation
+   *
+   * @param coinDeskResponse Raw CoinDesk API response
+   * @param langCode Optional language code (e.g., "zh-TW", "en") for localized names
+   * @return Transformed CoinDesk response with localized names when language specified
+   */
+  public CoinDeskTransformedResponse transform(CoinDeskResponse coinDeskResponse, String langCode) {
+    return transform(coinDeskResponse, indexHolder.current(), langCode);
+  }
+
+  /**
+   * Transforms a CoinDesk response into its localized representation using a given index
+   * snapshot, so callers can cache the result against that snapshot.
+   *
+   * @param coinDeskResponse Raw CoinDesk API response
+   * @param index i18n index to resolve names from
+   * @param langCode Optional language code (e.g., "zh-TW", "en") for localized names
+   * @return Transformed CoinDesk response with localized names when language specified
+   */
+  public CoinDeskTransformedResponse transform(
+      CoinDeskResponse coinDeskResponse, CoinI18nIndex index, String langCode) {
+    return transform(
+        coinDeskResponse.getChartName(),
+        coinDeskResponse.getTime().getUpdatedISO(),
+        index,
+        langCode);
+  }
+
+  /**
+   * Transforms a parsed price snapshot into its localized representation using a given index
+   * snapshot, without materializing the raw response DTO.
+   *
+   * @param prices Parsed CoinDesk price snapshot
+   * @param index i18n index to resolve names from
+   * @param langCode Optional language code (e.g., "zh-TW", "en") for localized names
+   * @return Transformed CoinDesk response with localized names when language specified
+   */
+  public CoinDeskTransformedResponse transform(
+      PriceSnapshot prices, CoinI18nIndex index, String langCode) {
+    return transform(prices.getChartName(), prices.getUpdatedIso(), index, langCode);
+  }
+
+  private CoinDeskTransformedResponse transform(
+      String chartName, String updatedIso, CoinI18nIndex index, String langCode) {
+    // 1. Create the transformed response
+    CoinDeskTransformedResponse transformedResponse = new CoinDeskTransformedResponse();
+
+    // 2. Set the default name from the CoinDesk response
+    transformedResponse.setName(chartName);
+
+    // 3. Set the update time by parsing the ISO timestamp from CoinDesk response
+    transformedResponse.setUpdateTime(parseUpdateTime(updatedIso));
+
+    // 4. Look up the coin by name (Bitcoin) and resolve its name along the language's fallback
+    // chain, e.g. zh-TW -> zh -> default name
+    Long coinId = index.findCoinId(chartName);
+
+    if (coinId != null) {
+      transformedResponse.setLocalizedName(index.resolveName(coinId, langCode));
+    } else {
+      // If coin not found in database, use the default name from CoinDesk API
+      transformedResponse.setLocalizedName(chartName);
+      logger.warn("Coin '{}' not found in database, using default name", chartName);
+    }
+
+    return transformedResponse;
+  }
+
+  /**
+   * Parses CoinDesk's {@code updatedISO} timestamp into the system's local time.
+   *
+   * @param isoTime ISO-8601 timestamp with an offset, e.g. {@code 2023-02-21T14:22:00+00:00}
+   * @return The local date-time, or the current time if the timestamp cannot be parsed
+   */
+  static LocalDateTime parseUpdateTime(String isoTime) {
+    try {
+      // Parse as ZonedDateTime and then convert to LocalDateTime
+      DateTimeFormatter formatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+      return LocalDateTime.ofInstant(
+          Instant.from(formatter.parse(isoTime)), ZoneId.systemDefault());
+    } catch (Exception e) {
+      logger.warn(
+          "Could not parse timestamp: {}, error: {}, using current time instead",
+          isoTime,
+          e.getMessage());
+      return LocalDateTime.now();
+    }
+  }
+}
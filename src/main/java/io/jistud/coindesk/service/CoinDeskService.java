@@ -1,13 +1,20 @@
 package io.jistud.coindesk.service;
 
+import java.time.Duration;
+import java.util.Optional;
+
 import io.jistud.coindesk.dto.CoinDeskResponse;
 import io.jistud.coindesk.dto.CoinDeskTransformedResponse;
+import io.jistud.coindesk.dto.SerializedJson;
 
 /** Service for retrieving enriched coin details including external API data */
 public interface CoinDeskService {
 
   /**
-   * Retrieves current Bitcoin price information from the CoinDesk API
+   * Retrieves current Bitcoin price information from the CoinDesk API. Responses are cached for
+   * {@code coindesk.cache.ttl}; when the cached snapshot expires a single refresh is made and
+   * concurrent callers wait for it. When the background poller is enabled the last good snapshot
+   * is always served and callers only block if no snapshot has been fetched yet.
    *
    * @return Raw CoinDesk API response containing current Bitcoin price information
    * @throws RuntimeException if there is an error communicating with the API or parsing the
@@ -15,6 +22,27 @@ public interface CoinDeskService {
    */
   CoinDeskResponse getCurrentBitcoinPrice();
 
+  /**
+   * Same as {@link #getCurrentBitcoinPrice()}, as JSON serialized once per snapshot
+   *
+   * @return Serialized CoinDesk response with its ETag
+   */
+  SerializedJson getCurrentBitcoinPriceJson();
+
+  /**
+   * Fetches a new snapshot from the CoinDesk API and publishes it to subsequent callers
+   *
+   * @throws RuntimeException if the API call fails; the previous snapshot is kept in that case
+   */
+  void refreshSnapshot();
+
+  /**
+   * Gets the age of the snapshot currently being served
+   *
+   * @return Time since the snapshot was fetched, or empty if nothing has been fetched yet
+   */
+  Optional<Duration> getSnapshotAge();
+
   /**
    * Gets a transformed response that combines CoinDesk API data with localized coin information
    *
@@ -22,4 +50,13 @@ public interface CoinDeskService {
    * @return Transformed CoinDesk response with localized names when language specified
    */
   CoinDeskTransformedResponse getTransformedCoinDeskData(String langCode);
+
+  /**
+   * Same as {@link #getTransformedCoinDeskData(String)}, as JSON serialized once per snapshot and
+   * language
+   *
+   * @param langCode Optional language code (e.g., "zh-TW", "en") for localized names
+   * @return Serialized transformed response with its ETag
+   */
+  SerializedJson getTransformedCoinDeskDataJson(String langCode);
 }
@@ -3,131 +3,490 @@ package io.jistud.coindesk.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jistud.coindesk.config.CoinDeskProperties;
 import io.jistud.coindesk.dto.CoinDeskResponse;
 import io.jistud.coindesk.dto.CoinDeskTransformedResponse;
-import io.jistud.coindesk.entity.Coin;
-import io.jistud.coindesk.entity.CoinI18n;
-import io.jistud.coindesk.repository.CoinI18nRepository;
-import io.jistud.coindesk.repository.CoinRepository;
-
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import io.jistud.coindesk.dto.SerializedJson;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
 
 @Service
+@Profile("!reactive")
 public class CoinDeskServiceImpl implements CoinDeskService {
 
   private static final Logger logger = LoggerFactory.getLogger(CoinDeskServiceImpl.class);
 
-  private static final String COINDESK_API_URL = "https://kengp3.github.io/blog/coindesk.json";
+  /** Upper bound on distinct language codes kept, so arbitrary ?lang= values cannot grow it. */
+  static final int MAX_CACHED_LANGUAGES = 64;
 
   private final RestTemplate restTemplate;
-  private final CoinRepository coinRepository;
-  private final CoinI18nRepository coinI18nRepository;
+  private final CoinDeskPayloadParser payloadParser;
+  private final CoinDeskResponseTransformer transformer;
+  private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final String apiUrl;
+  private final long cacheTtlNanos;
+  private final boolean backgroundRefresh;
+
+  // Single-flight guard: only the lock holder calls the upstream, everyone else waits for it
+  private final Lock refreshLock = new ReentrantLock();
+  private final AtomicReference<CachedPrice> snapshot = new AtomicReference<>();
+
+  // Transformed responses by language code, each tagged with the price snapshot and i18n index
+  // version it was built from; changing either one invalidates every entry without a racy clear()
+  private final ConcurrentMap<String, TransformedEntry> transformedByLang =
+      new ConcurrentHashMap<>();
+
+  private final Counter cacheHits;
+  private final Counter cacheMisses;
+  private final Counter staleServed;
+  private final Timer refreshTimer;
+  private final Counter modifiedResponses;
+  private final Counter notModifiedResponses;
+  private final Counter bytesReceived;
+  private final Map<UpstreamError, Counter> upstreamErrors = new EnumMap<>(UpstreamError.class);
+  private final Counter transformedHits;
+  private final Counter transformedMisses;
 
   @Autowired
-  public CoinDeskServiceImpl(RestTemplate restTemplate, 
-                            CoinRepository coinRepository,
-                            CoinI18nRepository coinI18nRepository) {
+  public CoinDeskServiceImpl(
+      RestTemplate restTemplate,
+      CoinDeskPayloadParser payloadParser,
+      CoinDeskResponseTransformer transformer,
+      CoinDeskProperties properties,
+      ObjectMapper objectMapper,
+      ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry) {
     this.restTemplate = restTemplate;
-    this.coinRepository = coinRepository;
-    this.coinI18nRepository = coinI18nRepository;
+    this.payloadParser = payloadParser;
+    this.transformer = transformer;
+    this.objectMapper = objectMapper;
+    this.eventPublisher = eventPublisher;
+    this.apiUrl = properties.getApiUrl();
+    this.cacheTtlNanos = properties.getCache().getTtl().toNanos();
+    this.backgroundRefresh = properties.getPoller().isEnabled();
+    this.cacheHits =
+        Counter.builder("coindesk.price.cache")
+            .description("CoinDesk price snapshot cache lookups")
+            .tag("result", "hit")
+            .register(meterRegistry);
+    this.cacheMisses =
+        Counter.builder("coindesk.price.cache")
+            .description("CoinDesk price snapshot cache lookups")
+            .tag("result", "miss")
+            .register(meterRegistry);
+    this.staleServed =
+        Counter.builder("coindesk.price.cache")
+            .description("CoinDesk price snapshot cache lookups")
+            .tag("result", "stale")
+            .register(meterRegistry);
+    this.refreshTimer =
+        Timer.builder("coindesk.price.refresh")
+            .description("Latency of upstream CoinDesk refreshes")
+            .register(meterRegistry);
+    this.modifiedResponses =
+        Counter.builder("coindesk.upstream.responses")
+            .description("CoinDesk API responses by status")
+            .tag("status", "200")
+            .register(meterRegistry);
+    this.notModifiedResponses =
+        Counter.builder("coindesk.upstream.responses")
+            .description("CoinDesk API responses by status")
+            .tag("status", "304")
+            .register(meterRegistry);
+    this.bytesReceived =
+        Counter.builder("coindesk.upstream.received")
+            .description("Response body bytes received from the CoinDesk API, before decompression")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    for (UpstreamError error : UpstreamError.values()) {
+      upstreamErrors.put(
+          error,
+          Counter.builder("coindesk.upstream.errors")
+              .description("Failed CoinDesk API calls by cause")
+              .tag("cause", error.name().toLowerCase(Locale.ROOT))
+              .register(meterRegistry));
+    }
+    this.transformedHits =
+        Counter.builder("coindesk.transformed.cache")
+            .description("Transformed CoinDesk response cache lookups")
+            .tag("result", "hit")
+            .register(meterRegistry);
+    this.transformedMisses =
+        Counter.builder("coindesk.transformed.cache")
+            .description("Transformed CoinDesk response cache lookups")
+            .tag("result", "miss")
+            .register(meterRegistry);
+    Gauge.builder("coindesk.price.snapshot.age", this, CoinDeskServiceImpl::snapshotAgeSeconds)
+        .description("Age of the CoinDesk price snapshot currently being served")
+        .baseUnit("seconds")
+        .register(meterRegistry);
   }
 
   @Override
   public CoinDeskResponse getCurrentBitcoinPrice() {
+    return currentPrice().prices.toResponse();
+  }
+
+  @Override
+  public SerializedJson getCurrentBitcoinPriceJson() {
+    return currentPrice().json;
+  }
+
+  private CachedPrice currentPrice() {
+    // With the background poller enabled, any snapshot is served as-is and refreshed off-thread
+    CachedPrice cached = snapshot.get();
+    if (cached != null && (backgroundRefresh || cached.isFresh(cacheTtlNanos))) {
+      cacheHits.increment();
+      return cached;
+    }
+
+    refreshLock.lock();
+    try {
+      // Another caller may have refreshed the snapshot while we were waiting for the lock
+      cached = snapshot.get();
+      if (cached != null && (backgroundRefresh || cached.isFresh(cacheTtlNanos))) {
+        cacheHits.increment();
+        return cached;
+      }
+
+      cacheMisses.increment();
+      try {
+        return refresh();
+      } catch (RuntimeException e) {
+        if (cached == null) {
+          throw e;
+        }
+        logger.warn(
+            "CoinDesk refresh failed, serving snapshot from {}s ago: {}",
+            cached.ageNanos() / 1_000_000_000L,
+            e.getMessage());
+        staleServed.increment();
+        return cached;
+      }
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  @Override
+  public void refreshSnapshot() {
+    refreshLock.lock();
+    try {
+      refresh();
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  @Override
+  public Optional<Duration> getSnapshotAge() {
+    CachedPrice cached = snapshot.get();
+    return cached == null ? Optional.empty() : Optional.of(Duration.ofNanos(cached.ageNanos()));
+  }
+
+  /** Fetches a new snapshot and publishes it. Must be called while holding the refresh lock. */
+  private CachedPrice refresh() {
+    CachedPrice previous = snapshot.get();
+    CachedPrice refreshed = refreshTimer.record(() -> fetchCurrentBitcoinPrice(previous));
+    snapshot.set(refreshed);
+    // A revalidated snapshot keeps its prices instance, so only genuinely new data is announced
+    if (previous == null || previous.prices != refreshed.prices) {
+      eventPublisher.publishEvent(
+          new PriceSnapshotUpdatedEvent(
+              previous == null ? null : previous.prices, refreshed.prices));
+    }
+    return refreshed;
+  }
+
+  private double snapshotAgeSeconds() {
+    CachedPrice cached = snapshot.get();
+    return cached == null ? Double.NaN : cached.ageNanos() / 1e9;
+  }
+
+  /**
+   * Calls the CoinDesk API directly, bypassing the snapshot cache. The request is conditional on
+   * the previous snapshot's validators, and a modified body is streamed into the parser rather
+   * than buffered and data-bound.
+   *
+   * @param previous The snapshot currently being served, or null if there is none
+   * @return The new snapshot, or the previous one revalidated if the API reports no change
+   */
+  private CachedPrice fetchCurrentBitcoinPrice(CachedPrice previous) {
     logger.info("Fetching current Bitcoin price from CoinDesk API");
 
     try {
-      CoinDeskResponse response =
-          restTemplate.getForObject(COINDESK_API_URL, CoinDeskResponse.class);
+      CachedPrice fetched =
+          restTemplate.execute(
+              apiUrl,
+              HttpMethod.GET,
+              request -> addRequestHeaders(request.getHeaders(), previous),
+              response -> readResponse(response, previous));
 
-      if (response == null) {
+      if (fetched == null) {
         logger.error("Received null response from CoinDesk API");
         throw new RuntimeException("Received null response from CoinDesk API");
       }
 
       logger.info("Successfully fetched Bitcoin price data");
-      return response;
+      return fetched;
     } catch (RestClientException e) {
+      upstreamErrors.get(UpstreamError.of(e)).increment();
       logger.error("Error fetching data from CoinDesk API: {}", e.getMessage());
       throw e; // Re-throw to be handled by caller or global exception handler
     } catch (Exception e) {
+      upstreamErrors.get(UpstreamError.of(e)).increment();
       logger.error("Unexpected error processing CoinDesk API response: {}", e.getMessage());
       throw new RuntimeException("Error processing CoinDesk API response", e);
     }
   }
 
+  private void addRequestHeaders(HttpHeaders headers, CachedPrice previous) {
+    headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+    headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+    if (previous == null) {
+      return;
+    }
+    if (previous.eTag != null) {
+      headers.setIfNoneMatch(previous.eTag);
+    }
+    if (previous.lastModified >= 0) {
+      headers.setIfModifiedSince(previous.lastModified);
+    }
+  }
+
+  private CachedPrice readResponse(ClientHttpResponse response, CachedPrice previous)
+      throws IOException {
+    if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && previous != null) {
+      notModifiedResponses.increment();
+      return previous.revalidated(System.nanoTime());
+    }
+
+    HttpHeaders headers = response.getHeaders();
+    CountingInputStream wire = new CountingInputStream(response.getBody());
+    try {
+      InputStream body =
+          "gzip".equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING))
+              ? new GZIPInputStream(wire)
+              : wire;
+      PriceSnapshot prices = payloadParser.parse(body);
+      modifiedResponses.increment();
+      return new CachedPrice(
+          prices,
+          SerializedJson.of(objectMapper, prices.toResponse()),
+          headers.getETag(),
+          headers.getLastModified(),
+          System.nanoTime());
+    } finally {
+      bytesReceived.increment(wire.count);
+    }
+  }
+
   @Override
   public CoinDeskTransformedResponse getTransformedCoinDeskData(String langCode) {
-    logger.info("Fetching transformed CoinDesk data with language: {}", langCode);
-    
+    return transformed(langCode).response;
+  }
+
+  @Override
+  public SerializedJson getTransformedCoinDeskDataJson(String langCode) {
+    return transformed(langCode).json;
+  }
+
+  private TransformedEntry transformed(String langCode) {
+    logger.debug("Fetching transformed CoinDesk data with language: {}", langCode);
+
     try {
-      // 1. Get current Bitcoin price from CoinDesk API
-      CoinDeskResponse coinDeskResponse = getCurrentBitcoinPrice();
-      
-      // 2. Create the transformed response
-      CoinDeskTransformedResponse transformedResponse = new CoinDeskTransformedResponse();
-      
-      // 3. Set the default name from the CoinDesk response
-      transformedResponse.setName(coinDeskResponse.getChartName());
-      
-      // 4. Set the update time by parsing the ISO timestamp from CoinDesk response
-      String isoTime = coinDeskResponse.getTime().getUpdatedISO();
-      LocalDateTime updateTime;
-      try {
-          // Parse as ZonedDateTime and then convert to LocalDateTime
-          DateTimeFormatter formatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
-          updateTime = LocalDateTime.ofInstant(
-              Instant.from(formatter.parse(isoTime)),
-              ZoneId.systemDefault());
-      } catch (Exception e) {
-          logger.warn("Could not parse timestamp: {}, error: {}, using current time instead", 
-                   isoTime, e.getMessage());
-          updateTime = LocalDateTime.now();
+      // Get current Bitcoin price from CoinDesk API and enrich it with the localized name
+      PriceSnapshot prices = currentPrice().prices;
+
+      // Pin the index before transforming: if it is replaced mid-transform, the entry is stored
+      // against the old index and the next request rebuilds it
+      CoinI18nIndex index = transformer.currentIndex();
+      String key = langCode == null ? "" : langCode;
+      TransformedEntry entry = transformedByLang.get(key);
+      if (entry != null && entry.isFor(prices, index)) {
+        transformedHits.increment();
+        return entry;
       }
-      transformedResponse.setUpdateTime(updateTime);
-      
-      // 5. Look up the coin in our database by name (Bitcoin)
-      Optional<Coin> coinOpt = coinRepository.findByName(coinDeskResponse.getChartName());
-      
-      if (coinOpt.isPresent()) {
-        Coin coin = coinOpt.get();
-        
-        // 6. If langCode is provided, look for a localized name
-        if (langCode != null && !langCode.isEmpty()) {
-          Optional<CoinI18n> i18nOpt = coinI18nRepository.findByCoinIdAndLangCode(coin.getId(), langCode);
-          
-          // If localized name exists for the requested language, use it
-          if (i18nOpt.isPresent()) {
-            transformedResponse.setLocalizedName(i18nOpt.get().getName());
-          } else {
-            // Fall back to the default name if no translation exists
-            transformedResponse.setLocalizedName(coin.getName());
-            logger.info("No translation found for language {} and coin {}, using default name", 
-                      langCode, coin.getName());
-          }
-        } else {
-          // If no language specified, use default name
-          transformedResponse.setLocalizedName(coin.getName());
-        }
-      } else {
-        // If coin not found in database, use the default name from CoinDesk API
-        transformedResponse.setLocalizedName(coinDeskResponse.getChartName());
-        logger.warn("Coin '{}' not found in database, using default name", 
-                  coinDeskResponse.getChartName());
+
+      transformedMisses.increment();
+      CoinDeskTransformedResponse transformed = transformer.transform(prices, index, langCode);
+      TransformedEntry rebuilt =
+          new TransformedEntry(
+              prices,
+              index,
+              transformed,
+              SerializedJson.of(objectMapper, transformed));
+      if (entry != null || transformedByLang.size() < MAX_CACHED_LANGUAGES) {
+        transformedByLang.put(key, rebuilt);
       }
-      
-      return transformedResponse;
+      return rebuilt;
     } catch (Exception e) {
       logger.error("Error transforming CoinDesk data: {}", e.getMessage());
       throw new RuntimeException("Error transforming CoinDesk data", e);
     }
   }
+
+  /**
+   * A parsed CoinDesk snapshot and its JSON, serialized once, together with the upstream
+   * validators used for conditional requests and the monotonic time it was loaded at.
+   */
+  private static final class CachedPrice {
+    private final PriceSnapshot prices;
+    private final SerializedJson json;
+    private final String eTag;
+    private final long lastModified;
+    private final long loadedAtNanos;
+
+    private CachedPrice(
+        PriceSnapshot prices,
+        SerializedJson json,
+        String eTag,
+        long lastModified,
+        long loadedAtNanos) {
+      this.prices = prices;
+      this.json = json;
+      this.eTag = eTag;
+      this.lastModified = lastModified;
+      this.loadedAtNanos = loadedAtNanos;
+    }
+
+    /** @return The same snapshot, confirmed unchanged by the upstream at the given time */
+    private CachedPrice revalidated(long nowNanos) {
+      return new CachedPrice(prices, json, eTag, lastModified, nowNanos);
+    }
+
+    private long ageNanos() {
+      return System.nanoTime() - loadedAtNanos;
+    }
+
+    private boolean isFresh(long ttlNanos) {
+      return ageNanos() < ttlNanos;
+    }
+  }
+
+  /**
+   * A transformed response, its JSON, and the price snapshot and i18n index it was built from.
+   */
+  private static final class TransformedEntry {
+    private final PriceSnapshot source;
+    private final CoinI18nIndex index;
+    private final CoinDeskTransformedResponse response;
+    private final SerializedJson json;
+
+    private TransformedEntry(
+        PriceSnapshot source,
+        CoinI18nIndex index,
+        CoinDeskTransformedResponse response,
+        SerializedJson json) {
+      this.source = source;
+      this.index = index;
+      this.response = response;
+      this.json = json;
+    }
+
+    private boolean isFor(PriceSnapshot currentSource, CoinI18nIndex currentIndex) {
+      // Identity checks: a revalidated snapshot keeps its prices instance, and every index update
+      // swaps in a new instance
+      return source == currentSource && index == currentIndex;
+    }
+  }
+
+  /** Counts the bytes read from the wire so transfer size is measured before decompression. */
+  private static final class CountingInputStream extends FilterInputStream {
+    private long count;
+
+    private CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        count++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int read = super.read(buffer, offset, length);
+      if (read > 0) {
+        count += read;
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = super.skip(n);
+      count += skipped;
+      return skipped;
+    }
+  }
+
+  /** Causes of failed CoinDesk API calls, reported as the {@code cause} tag of the counter. */
+  private enum UpstreamError {
+    TIMEOUT,
+    CONNECTION,
+    CLIENT_ERROR,
+    SERVER_ERROR,
+    INVALID_RESPONSE,
+    OTHER;
+
+    static UpstreamError of(Exception e) {
+      if (e instanceof RestClientResponseException) {
+        return ((RestClientResponseException) e).getRawStatusCode() >= 500
+            ? SERVER_ERROR
+            : CLIENT_ERROR;
+      }
+      // RestTemplate wraps I/O failures, including those of the response parser
+      Throwable cause = e instanceof RestClientException && e.getCause() != null ? e.getCause() : e;
+      if (cause instanceof JsonProcessingException) {
+        return INVALID_RESPONSE;
+      }
+      if (cause instanceof InterruptedIOException) {
+        return TIMEOUT;
+      }
+      if (cause instanceof IOException) {
+        return CONNECTION;
+      }
+      return OTHER;
+    }
+  }
 }
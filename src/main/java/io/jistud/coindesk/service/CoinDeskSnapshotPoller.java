@@ -0,0 +1,51 @@
+package io.jistud.coindesk.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import io.jistud.coindesk.config.CoinDeskProperties;
+
+/**
+ * Refreshes the CoinDesk price snapshot on a fixed delay so request threads never wait on the
+ * upstream. Failures are logged and the previous snapshot keeps being served.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "coindesk.poller", name = "enabled", havingValue = "true")
+public class CoinDeskSnapshotPoller implements SchedulingConfigurer {
+
+  private static final Logger logger = LoggerFactory.getLogger(CoinDeskSnapshotPoller.class);
+
+  private final CoinDeskService coinDeskService;
+  private final long intervalMillis;
+
+  @Autowired
+  public CoinDeskSnapshotPoller(CoinDeskService coinDeskService, CoinDeskProperties properties) {
+    this.coinDeskService = coinDeskService;
+    this.intervalMillis = properties.getPoller().getInterval().toMillis();
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+    taskRegistrar.addFixedDelayTask(new IntervalTask(this::poll, intervalMillis, 0));
+  }
+
+  /** Refreshes the snapshot once, keeping the last good one if the upstream call fails. */
+  void poll() {
+    try {
+      coinDeskService.refreshSnapshot();
+    } catch (RuntimeException e) {
+      logger.warn(
+          "Background CoinDesk refresh failed, snapshot age is {}: {}",
+          coinDeskService.getSnapshotAge().orElse(null),
+          e.getMessage());
+    }
+  }
+}
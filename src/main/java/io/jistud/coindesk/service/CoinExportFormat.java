@@ -0,0 +1,45 @@
+package io.jistud.coindesk.service;
+
+import java.util.Locale;
+
+/** Formats the coin catalog can be exported in. */
+public enum CoinExportFormat {
+
+  /** One JSON object per coin and line, with its localized names in {@code i18nNames}. */
+  NDJSON("application/x-ndjson", "ndjson"),
+
+  /** One line per coin and localized name; coins without localized names get one line. */
+  CSV("text/csv", "csv");
+
+  private final String mediaType;
+  private final String fileExtension;
+
+  CoinExportFormat(String mediaType, String fileExtension) {
+    this.mediaType = mediaType;
+    this.fileExtension = fileExtension;
+  }
+
+  public String getMediaType() {
+    return mediaType;
+  }
+
+  public String getFileExtension() {
+    return fileExtension;
+  }
+
+  /**
+   * Resolves a format from its request parameter value.
+   *
+   * @param value Format name, case-insensitive
+   * @return The matching format
+   * @throws IllegalArgumentException if no format has that name
+   */
+  public static CoinExportFormat fromParameter(String value) {
+    for (CoinExportFormat format : values()) {
+      if (format.name().equals(value.toUpperCase(Locale.ROOT))) {
+        return format;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported export format: " + value);
+  }
+}
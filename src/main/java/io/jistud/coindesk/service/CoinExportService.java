@@ -0,0 +1,44 @@
+package io.jistud.coindesk.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jistud.coindesk.repository.CoinExportRow;
+import io.jistud.coindesk.repository.CoinRepository;
+
+/** Exports the full coin catalog, streaming it from the database to the caller's stream. */
+@Service
+public class CoinExportService {
+
+  private final CoinRepository coinRepository;
+  private final CoinExportWriter writer;
+
+  @Autowired
+  public CoinExportService(CoinRepository coinRepository, ObjectMapper objectMapper) {
+    this.coinRepository = coinRepository;
+    this.writer = new CoinExportWriter(objectMapper);
+  }
+
+  /**
+   * Writes every coin with its localized names. The database cursor stays open, inside a
+   * read-only transaction, until the last row has been written.
+   *
+   * @param format Output format
+   * @param out Target stream; flushed but not closed
+   * @return The number of coins written
+   * @throws IOException if writing fails, e.g. because the client disconnected
+   */
+  @Transactional(readOnly = true)
+  public long export(CoinExportFormat format, OutputStream out) throws IOException {
+    try (Stream<CoinExportRow> rows = coinRepository.streamExportRows()) {
+      return writer.write(rows, format, out);
+    }
+  }
+}
@@ -0,0 +1,143 @@
+package io.jistud.coindesk.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jistud.coindesk.repository.CoinExportRow;
+
+/**
+ * Writes export rows to a stream as they are read. Only the localized names of the coin being
+ * written are held in memory, so the footprint does not depend on the size of the catalog.
+ */
+class CoinExportWriter {
+
+  static final String CSV_HEADER = "id,name,lang_code,localized_name";
+
+  private final ObjectMapper objectMapper;
+
+  CoinExportWriter(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Writes rows in the given format. The target is flushed but not closed.
+   *
+   * @param rows Rows ordered by coin id
+   * @param format Output format
+   * @param out Target stream
+   * @return The number of coins written
+   * @throws IOException if writing fails
+   */
+  long write(Stream<CoinExportRow> rows, CoinExportFormat format, OutputStream out)
+      throws IOException {
+    try {
+      return format == CoinExportFormat.CSV ? writeCsv(rows, out) : writeNdjson(rows, out);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private long writeNdjson(Stream<CoinExportRow> rows, OutputStream out) throws IOException {
+    long coins = 0;
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      Iterator<CoinExportRow> iterator = rows.iterator();
+      Long id = null;
+      String name = null;
+      Map<String, String> i18nNames = new LinkedHashMap<>();
+      while (iterator.hasNext()) {
+        CoinExportRow row = iterator.next();
+        if (!row.getId().equals(id)) {
+          if (id != null) {
+            writeCoin(generator, id, name, i18nNames);
+            coins++;
+          }
+          id = row.getId();
+          name = row.getName();
+          i18nNames.clear();
+        }
+        if (row.getLangCode() != null) {
+          i18nNames.put(row.getLangCode(), row.getLocalizedName());
+        }
+      }
+      if (id != null) {
+        writeCoin(generator, id, name, i18nNames);
+        coins++;
+      }
+    }
+    out.flush();
+    return coins;
+  }
+
+  private static void writeCoin(
+      JsonGenerator generator, Long id, String name, Map<String, String> i18nNames)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeNumberField("id", id);
+    generator.writeStringField("name", name);
+    generator.writeObjectFieldStart("i18nNames");
+    for (Map.Entry<String, String> entry : i18nNames.entrySet()) {
+      generator.writeStringField(entry.getKey(), entry.getValue());
+    }
+    generator.writeEndObject();
+    generator.writeEndObject();
+    generator.writeRaw('\n');
+  }
+
+  private long writeCsv(Stream<CoinExportRow> rows, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(CSV_HEADER);
+    writer.write("\r\n");
+    long coins = 0;
+    Long previousId = null;
+    Iterator<CoinExportRow> iterator = rows.iterator();
+    while (iterator.hasNext()) {
+      CoinExportRow row = iterator.next();
+      if (!row.getId().equals(previousId)) {
+        previousId = row.getId();
+        coins++;
+      }
+      writer.write(row.getId().toString());
+      writer.write(',');
+      writeCsvField(writer, row.getName());
+      writer.write(',');
+      writeCsvField(writer, row.getLangCode());
+      writer.write(',');
+      writeCsvField(writer, row.getLocalizedName());
+      writer.write("\r\n");
+    }
+    writer.flush();
+    return coins;
+  }
+
+  // RFC 4180: quote fields holding a delimiter, quote or line break, doubling embedded quotes
+  private static void writeCsvField(Writer writer, String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+    }
+    if (!quote) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+}
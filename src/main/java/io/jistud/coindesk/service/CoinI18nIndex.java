@@ -0,0 +1,148 @@
+package io.jistud.coindesk.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.entity.CoinI18n;
+
+/**
+ * Immutable, read-optimized view of every coin and its localized names. An update never changes an
+ * index; it builds a new one with the changed coins replaced, so a reader that holds an index sees
+ * one consistent state for every lookup it makes.
+ */
+public final class CoinI18nIndex {
+
+  private final Map<String, Long> idsByName;
+  private final Map<Long, IndexedCoin> coinsById;
+
+  /** Creates an empty index. */
+  public CoinI18nIndex() {
+    this(Collections.emptyMap(), Collections.emptyMap());
+  }
+
+  /**
+   * Builds an index from coins whose localized names are already initialized.
+   *
+   * @param coins Coins to index, with their i18n names loaded
+   */
+  public CoinI18nIndex(Collection<Coin> coins) {
+    Map<String, Long> idsByName = new HashMap<>();
+    Map<Long, IndexedCoin> coinsById = new HashMap<>();
+    for (Coin coin : coins) {
+      put(idsByName, coinsById, coin);
+    }
+    this.idsByName = idsByName;
+    this.coinsById = coinsById;
+  }
+
+  private CoinI18nIndex(Map<String, Long> idsByName, Map<Long, IndexedCoin> coinsById) {
+    this.idsByName = idsByName;
+    this.coinsById = coinsById;
+  }
+
+  /**
+   * Builds a copy of this index with changed coins re-indexed: the given coins replace what is
+   * indexed for them, and the other ids are removed. This index is left unchanged.
+   *
+   * @param coinIds Ids of the changed coins, including deleted ones
+   * @param coins The changed coins that still exist, with their i18n names loaded
+   * @return The updated index
+   */
+  public CoinI18nIndex updated(Collection<Long> coinIds, Collection<Coin> coins) {
+    Map<String, Long> idsByName = new HashMap<>(this.idsByName);
+    Map<Long, IndexedCoin> coinsById = new HashMap<>(this.coinsById);
+    Set<Long> removed = new HashSet<>(coinIds);
+    for (Coin coin : coins) {
+      put(idsByName, coinsById, coin);
+      removed.remove(coin.getId());
+    }
+    for (Long coinId : removed) {
+      IndexedCoin previous = coinsById.remove(coinId);
+      if (previous != null) {
+        idsByName.remove(previous.name, coinId);
+      }
+    }
+    return new CoinI18nIndex(idsByName, coinsById);
+  }
+
+  private static void put(
+      Map<String, Long> idsByName, Map<Long, IndexedCoin> coinsById, Coin coin) {
+    Map<String, String> byLang = new HashMap<>();
+    for (CoinI18n i18n : coin.getI18nNames()) {
+      byLang.put(normalize(i18n.getLangCode()), i18n.getName());
+    }
+    IndexedCoin previous =
+        coinsById.put(
+            coin.getId(), new IndexedCoin(coin.getName(), Collections.unmodifiableMap(byLang)));
+    if (previous != null && !previous.name.equals(coin.getName())) {
+      idsByName.remove(previous.name, coin.getId());
+    }
+    idsByName.put(coin.getName(), coin.getId());
+  }
+
+  /**
+   * @param name Exact coin name
+   * @return The coin's id, or null if no coin has that name
+   */
+  public Long findCoinId(String name) {
+    return idsByName.get(name);
+  }
+
+  /** @return The number of indexed coins */
+  public int size() {
+    return coinsById.size();
+  }
+
+  /**
+   * Resolves a coin's display name for a language, falling back along the language's subtags and
+   * then to the coin's default name, e.g. {@code zh-TW → zh → default}.
+   *
+   * @param coinId Coin id
+   * @param langCode Requested language code, or null/empty for the default name
+   * @return The most specific localized name, the default name, or null if the coin is unknown
+   */
+  public String resolveName(Long coinId, String langCode) {
+    IndexedCoin coin = coinsById.get(coinId);
+    if (coin == null) {
+      return null;
+    }
+    String defaultName = coin.name;
+    if (langCode == null || langCode.isEmpty()) {
+      return defaultName;
+    }
+    Map<String, String> byLang = coin.localizedNames;
+    String tag = normalize(langCode);
+    while (true) {
+      String name = byLang.get(tag);
+      if (name != null) {
+        return name;
+      }
+      int separator = tag.lastIndexOf('-');
+      if (separator <= 0) {
+        return defaultName;
+      }
+      tag = tag.substring(0, separator);
+    }
+  }
+
+  private static String normalize(String langCode) {
+    return langCode.replace('_', '-').toLowerCase(Locale.ROOT);
+  }
+
+  /** A coin's default name and its localized names by lower-cased language code. */
+  private static final class IndexedCoin {
+    private final String name;
+    private final Map<String, String> localizedNames;
+
+    private IndexedCoin(String name, Map<String, String> localizedNames) {
+      this.name = name;
+      this.localizedNames = localizedNames;
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package io.jistud.coindesk.service;
+
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.jistud.coindesk.repository.CoinRepository;
+
+/**
+ * Holds the current {@link CoinI18nIndex}. The index is loaded at startup and, after each committed
+ * change, replaced by a copy with the changed coins re-indexed, so readers only ever see committed
+ * data and never query the database.
+ */
+@Component
+public class CoinI18nIndexHolder {
+
+  private static final Logger logger = LoggerFactory.getLogger(CoinI18nIndexHolder.class);
+
+  private final CoinRepository coinRepository;
+  // Serializes updates, so a full rebuild and a coin update never interleave and neither can
+  // replace the other's newer index. A lock rather than synchronized, since updates do I/O.
+  private final ReentrantLock updateLock = new ReentrantLock();
+  private volatile CoinI18nIndex current = new CoinI18nIndex();
+
+  @Autowired
+  public CoinI18nIndexHolder(CoinRepository coinRepository) {
+    this.coinRepository = coinRepository;
+  }
+
+  /** @return The most recently built index; never null */
+  public CoinI18nIndex current() {
+    return current;
+  }
+
+  /** Rebuilds the index from the database and swaps it in. */
+  @PostConstruct
+  public void reload() {
+    updateLock.lock();
+    try {
+      CoinI18nIndex index = new CoinI18nIndex(coinRepository.findAllWithI18nNames());
+      current = index;
+      logger.info("Loaded i18n index with {} coins", index.size());
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * Re-indexes the changed coins once a change has been committed. Runs in a new read-only
+   * transaction so it reads the committed rows rather than the finished transaction's entities.
+   *
+   * @param event The committed coin change
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+  public void onCoinChanged(CoinChangedEvent event) {
+    Set<Long> coinIds = event.getCoinIds();
+    if (coinIds.isEmpty()) {
+      return;
+    }
+    updateLock.lock();
+    try {
+      current = current.updated(coinIds, coinRepository.findAllWithI18nNamesByIdIn(coinIds));
+    } finally {
+      updateLock.unlock();
+    }
+  }
+}
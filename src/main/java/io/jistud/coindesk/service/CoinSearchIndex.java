@@ -0,0 +1,296 @@
+package io.jistud.coindesk.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import io.jistud.coindesk.dto.CoinSearchResult;
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.entity.CoinI18n;
+
+/**
+ * In-memory type-ahead index over coin names and localized names. Names are kept in a sorted set
+ * for prefix lookups and in trigram posting lists for substring lookups. Both are sorted by name,
+ * so a search stops as soon as it has found enough matches instead of visiting every candidate.
+ *
+ * <p>Searches never block. Updates are serialized and replace posting lists copy-on-write, so a
+ * search that overlaps the update of a coin may miss that coin or still see its old names, but
+ * never reads a half-written list.
+ */
+public final class CoinSearchIndex {
+
+  /** Length of the n-grams in the substring index. Shorter queries only match name prefixes. */
+  static final int GRAM_LENGTH = 3;
+
+  private static final Entry[] NO_ENTRIES = new Entry[0];
+
+  private static final Comparator<Entry> ORDER =
+      Comparator.comparing((Entry entry) -> entry.normalized)
+          .thenComparingLong(entry -> entry.coinId)
+          .thenComparing(entry -> entry.lang, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  private final ConcurrentSkipListSet<Entry> byName = new ConcurrentSkipListSet<>(ORDER);
+  private final ConcurrentMap<Long, Entry[]> postings = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, IndexedCoin> coins = new ConcurrentHashMap<>();
+
+  /** Creates an empty index. */
+  public CoinSearchIndex() {}
+
+  /**
+   * Builds an index from coins whose localized names are already initialized. Faster than adding
+   * the coins one by one, since every posting list is built once.
+   *
+   * @param coins Coins to index, with their i18n names loaded
+   * @return The new index
+   */
+  public static CoinSearchIndex of(Collection<Coin> coins) {
+    CoinSearchIndex index = new CoinSearchIndex();
+    List<Entry> entries = new ArrayList<>();
+    for (Coin coin : coins) {
+      IndexedCoin indexed = toIndexedCoin(coin);
+      index.coins.put(coin.getId(), indexed);
+      entries.addAll(Arrays.asList(indexed.entries));
+    }
+    entries.sort(ORDER);
+    index.byName.addAll(entries);
+
+    Map<Long, List<Entry>> lists = new HashMap<>();
+    for (Entry entry : entries) {
+      for (long gram : grams(entry.normalized)) {
+        lists.computeIfAbsent(gram, key -> new ArrayList<>()).add(entry);
+      }
+    }
+    lists.forEach((gram, list) -> index.postings.put(gram, list.toArray(NO_ENTRIES)));
+    return index;
+  }
+
+  /** @return The number of indexed coins */
+  public int size() {
+    return coins.size();
+  }
+
+  /**
+   * Adds a coin, or replaces the names indexed for it.
+   *
+   * @param coin Coin with its i18n names loaded
+   */
+  public void put(Coin coin) {
+    update(Collections.singleton(coin.getId()), Collections.singletonList(coin));
+  }
+
+  /**
+   * Removes a coin and all its names.
+   *
+   * @param coinId Id of the coin; unknown ids are ignored
+   */
+  public void remove(Long coinId) {
+    update(Collections.singleton(coinId), Collections.emptyList());
+  }
+
+  /**
+   * Re-indexes changed coins: the given coins replace what is indexed for them, and the other ids
+   * are removed. Each posting list touched is copied once, however many of its entries change.
+   *
+   * @param coinIds Ids of the changed coins, including deleted ones
+   * @param coins The changed coins that still exist, with their i18n names loaded
+   */
+  public synchronized void update(Collection<Long> coinIds, Collection<Coin> coins) {
+    Map<Long, Set<Entry>> removedByGram = new HashMap<>();
+    for (Long coinId : coinIds) {
+      IndexedCoin previous = this.coins.remove(coinId);
+      if (previous == null) {
+        continue;
+      }
+      for (Entry entry : previous.entries) {
+        byName.remove(entry);
+        for (long gram : grams(entry.normalized)) {
+          removedByGram
+              .computeIfAbsent(gram, key -> Collections.newSetFromMap(new IdentityHashMap<>()))
+              .add(entry);
+        }
+      }
+    }
+
+    Map<Long, List<Entry>> addedByGram = new HashMap<>();
+    for (Coin coin : coins) {
+      IndexedCoin indexed = toIndexedCoin(coin);
+      for (Entry entry : indexed.entries) {
+        byName.add(entry);
+        for (long gram : grams(entry.normalized)) {
+          addedByGram.computeIfAbsent(gram, key -> new ArrayList<>()).add(entry);
+        }
+      }
+      this.coins.put(coin.getId(), indexed);
+    }
+
+    Set<Long> grams = new HashSet<>(removedByGram.keySet());
+    grams.addAll(addedByGram.keySet());
+    for (long gram : grams) {
+      Set<Entry> removed = removedByGram.getOrDefault(gram, Collections.emptySet());
+      List<Entry> added = addedByGram.getOrDefault(gram, Collections.emptyList());
+      postings.compute(
+          gram, (key, list) -> replace(list == null ? NO_ENTRIES : list, removed, added));
+    }
+  }
+
+  /**
+   * Finds coins with a default or localized name containing the query, ignoring case. Coins whose
+   * name starts with the query rank first; within each group names are in alphabetical order. A
+   * coin is listed once, under its best-ranked name.
+   *
+   * @param query Text to look for; must not be empty
+   * @param langCode Only match localized names in this language, or null for every language.
+   *     Default names always match.
+   * @param limit Maximum number of coins to return
+   * @return Matching coins, best first
+   */
+  public List<CoinSearchResult> search(String query, String langCode, int limit) {
+    String needle = normalize(query);
+    String lang = langCode == null || langCode.isEmpty() ? null : normalizeLangCode(langCode);
+    Map<Long, CoinSearchResult> results = new LinkedHashMap<>();
+
+    for (Entry entry : byName.tailSet(Entry.probe(needle))) {
+      if (results.size() >= limit || !entry.normalized.startsWith(needle)) {
+        break;
+      }
+      collect(entry, lang, results);
+    }
+
+    if (results.size() < limit && needle.length() >= GRAM_LENGTH) {
+      for (Entry entry : candidates(needle)) {
+        if (results.size() >= limit) {
+          break;
+        }
+        // Prefix matches were collected above
+        if (!entry.normalized.startsWith(needle) && entry.normalized.contains(needle)) {
+          collect(entry, lang, results);
+        }
+      }
+    }
+    return new ArrayList<>(results.values());
+  }
+
+  private void collect(Entry entry, String lang, Map<Long, CoinSearchResult> results) {
+    if (lang != null && entry.lang != null && !entry.lang.equals(lang)) {
+      return;
+    }
+    // The coin may have been removed since the entry was read
+    IndexedCoin coin = coins.get(entry.coinId);
+    if (coin != null && !results.containsKey(entry.coinId)) {
+      results.put(
+          entry.coinId, new CoinSearchResult(entry.coinId, coin.name, entry.name, entry.langCode));
+    }
+  }
+
+  /** @return The shortest posting list of the needle's grams; every match is in each of them */
+  private Entry[] candidates(String needle) {
+    Entry[] shortest = null;
+    for (long gram : grams(needle)) {
+      Entry[] list = postings.get(gram);
+      if (list == null) {
+        return NO_ENTRIES;
+      }
+      if (shortest == null || list.length < shortest.length) {
+        shortest = list;
+      }
+    }
+    return shortest == null ? NO_ENTRIES : shortest;
+  }
+
+  private static IndexedCoin toIndexedCoin(Coin coin) {
+    List<Entry> entries = new ArrayList<>();
+    entries.add(new Entry(coin.getId(), null, coin.getName()));
+    for (CoinI18n i18n : coin.getI18nNames()) {
+      entries.add(new Entry(coin.getId(), i18n.getLangCode(), i18n.getName()));
+    }
+    return new IndexedCoin(coin.getName(), entries.toArray(NO_ENTRIES));
+  }
+
+  /**
+   * @return A sorted copy of the list without the removed entries and with the added ones, or
+   *     null to drop a list that would be empty
+   */
+  private static Entry[] replace(Entry[] list, Set<Entry> removed, List<Entry> added) {
+    List<Entry> entries = new ArrayList<>(list.length + added.size());
+    for (Entry entry : list) {
+      if (!removed.contains(entry)) {
+        entries.add(entry);
+      }
+    }
+    entries.addAll(added);
+    if (entries.isEmpty()) {
+      return null;
+    }
+    // The kept entries are already in order, so this costs little more than merging the added ones
+    entries.sort(ORDER);
+    return entries.toArray(NO_ENTRIES);
+  }
+
+  /** @return The distinct grams of a normalized name, each packed into the low 48 bits */
+  private static Set<Long> grams(String normalized) {
+    Set<Long> grams = new LinkedHashSet<>();
+    for (int i = 0; i + GRAM_LENGTH <= normalized.length(); i++) {
+      grams.add(
+          ((long) normalized.charAt(i) << 32)
+              | ((long) normalized.charAt(i + 1) << 16)
+              | normalized.charAt(i + 2));
+    }
+    return grams;
+  }
+
+  private static String normalize(String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  private static String normalizeLangCode(String langCode) {
+    return langCode.replace('_', '-').toLowerCase(Locale.ROOT);
+  }
+
+  /** One searchable name: a coin's default name (no language) or one of its localized names. */
+  private static final class Entry {
+    private final long coinId;
+    private final String langCode;
+    private final String name;
+    // Case-insensitive forms used for ordering and matching
+    private final String lang;
+    private final String normalized;
+
+    private Entry(long coinId, String langCode, String name) {
+      this.coinId = coinId;
+      this.langCode = langCode;
+      this.name = name;
+      this.lang = langCode == null ? null : normalizeLangCode(langCode);
+      this.normalized = normalize(name);
+    }
+
+    /** @return An entry sorting before every indexed entry whose name starts with the prefix */
+    private static Entry probe(String normalizedPrefix) {
+      return new Entry(Long.MIN_VALUE, null, normalizedPrefix);
+    }
+  }
+
+  /** A coin's default name and every entry indexed for it, kept so the coin can be removed. */
+  private static final class IndexedCoin {
+    private final String name;
+    private final Entry[] entries;
+
+    private IndexedCoin(String name, Entry[] entries) {
+      this.name = name;
+      this.entries = entries;
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package io.jistud.coindesk.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.jistud.coindesk.dto.CoinSearchResult;
+import io.jistud.coindesk.repository.CoinRepository;
+
+/**
+ * Type-ahead search over coin names and localized names, answered from a {@link CoinSearchIndex}
+ * without querying the database. The index is loaded at startup and updated coin by coin after
+ * each committed change.
+ */
+@Service
+public class CoinSearchService {
+
+  private static final Logger logger = LoggerFactory.getLogger(CoinSearchService.class);
+
+  private final CoinRepository coinRepository;
+  // A lock rather than synchronized: updates query the database, and a virtual thread blocked on
+  // I/O inside a synchronized block stays pinned to its carrier thread
+  private final ReentrantLock updateLock = new ReentrantLock();
+  private volatile CoinSearchIndex index = new CoinSearchIndex();
+
+  @Autowired
+  public CoinSearchService(CoinRepository coinRepository) {
+    this.coinRepository = coinRepository;
+  }
+
+  /**
+   * Finds coins whose default or localized name contains the query, ignoring case. Coins whose
+   * name starts with the query come first.
+   *
+   * @param query Text to look for; must not be blank
+   * @param langCode Only match localized names in this language, or null for every language
+   * @param limit Maximum number of coins to return
+   * @return Matching coins, best first
+   */
+  public List<CoinSearchResult> search(String query, String langCode, int limit) {
+    return index.search(query.trim(), langCode, limit);
+  }
+
+  /** Rebuilds the whole index from the database and swaps it in. */
+  @PostConstruct
+  public void reload() {
+    updateLock.lock();
+    try {
+      CoinSearchIndex rebuilt = CoinSearchIndex.of(coinRepository.findAllWithI18nNames());
+      index = rebuilt;
+      logger.info("Loaded search index with {} coins", rebuilt.size());
+    } finally {
+      updateLock.unlock();
+    }
+  }
+
+  /**
+   * Re-indexes the changed coins once a change has been committed. Runs in a new read-only
+   * transaction so it reads the committed rows.
+   *
+   * @param event The committed coin change
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+  public void onCoinChanged(CoinChangedEvent event) {
+    Set<Long> coinIds = event.getCoinIds();
+    if (coinIds.isEmpty()) {
+      return;
+    }
+    updateLock.lock();
+    try {
+      index.update(coinIds, coinRepository.findAllWithI18nNamesByIdIn(coinIds));
+    } finally {
+      updateLock.unlock();
+    }
+  }
+}
@@ -4,7 +4,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import io.jistud.coindesk.dto.CoinBatchItemResult;
+import io.jistud.coindesk.dto.CoinCreateRequest;
 import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.exception.CoinNotFoundException;
+import io.jistud.coindesk.repository.CoinSummaryView;
 
 public interface CoinService {
 
@@ -17,6 +21,17 @@ public interface CoinService {
    */
   Coin createCoin(String name, Map<String, String> i18nNames);
 
+  /**
+   * Creates many coins at once with set-based queries and JDBC batches, reporting an outcome per
+   * item instead of failing the whole request on the first bad item
+   *
+   * @param requests The coins to create, in request order
+   * @param upsert Whether to merge the i18n names of coins that already exist instead of reporting
+   *     a conflict
+   * @return One result per request, in the same order
+   */
+  List<CoinBatchItemResult> createCoins(List<CoinCreateRequest> requests, boolean upsert);
+
   /**
    * Finds a coin by its ID
    *
@@ -25,6 +40,14 @@ public interface CoinService {
    */
   Optional<Coin> findById(Long id);
 
+  /**
+   * Finds a coin by its ID together with its internationalized names, in a single query
+   *
+   * @param id The coin ID
+   * @return Optional containing the coin with initialized i18n names if found, empty otherwise
+   */
+  Optional<Coin> findWithI18nNamesById(Long id);
+
   /**
    * Finds a coin by its name
    *
@@ -40,6 +63,15 @@ public interface CoinService {
    */
   List<Coin> findAll();
 
+  /**
+   * Lists coin ids and names in id order, starting after a cursor, without loading entities
+   *
+   * @param after Id of the last coin already seen, or null to start from the beginning
+   * @param limit Maximum number of summaries to return
+   * @return Up to {@code limit} summaries of coins with an id greater than {@code after}
+   */
+  List<CoinSummaryView> findSummaries(Long after, int limit);
+
   /**
    * Updates an existing coin by its ID with optional internationalized names. Existing i18n entries
    * not included in the update request will be preserved (merge approach).
@@ -47,8 +79,9 @@ public interface CoinService {
    * @param id The ID of the coin to update
    * @param name The updated name of the coin
    * @param i18nNames Map of language codes to localized names (can be null or empty)
-   * @return The updated coin
-   * @throws IllegalArgumentException if the coin does not exist
+   * @return The updated coin, with all its i18n names loaded
+   * @throws CoinNotFoundException if the coin does not exist
+   * @throws IllegalStateException if another coin already has the name
    */
   Coin updateCoin(Long id, String name, Map<String, String> i18nNames);
 
@@ -56,7 +89,7 @@ public interface CoinService {
    * Deletes a coin and all associated i18n entries by its ID
    *
    * @param id The ID of the coin to delete
-   * @throws IllegalArgumentException if the coin does not exist
+   * @throws CoinNotFoundException if the coin does not exist
    */
   void deleteCoin(Long id);
 }
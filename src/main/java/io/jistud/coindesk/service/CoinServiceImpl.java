@@ -1,54 +1,170 @@
 package io.jistud.coindesk.service;
 
-import java.util.HashMap;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.jistud.coindesk.dto.CoinBatchItemResult;
+import io.jistud.coindesk.dto.CoinCreateRequest;
 import io.jistud.coindesk.entity.Coin;
 import io.jistud.coindesk.entity.CoinI18n;
+import io.jistud.coindesk.exception.CoinNotFoundException;
+import io.jistud.coindesk.exception.ConstraintViolations;
+import io.jistud.coindesk.repository.CoinBatchRepository;
 import io.jistud.coindesk.repository.CoinI18nRepository;
 import io.jistud.coindesk.repository.CoinRepository;
+import io.jistud.coindesk.repository.CoinSummaryView;
 
 @Service
 public class CoinServiceImpl implements CoinService {
 
+  // Column sizes of coins.name, coin_i18n.name and coin_i18n.lang_code
+  private static final int MAX_NAME_LENGTH = 255;
+  private static final int MAX_LANG_CODE_LENGTH = 10;
+
   private final CoinRepository coinRepository;
   private final CoinI18nRepository coinI18nRepository;
+  private final CoinBatchRepository coinBatchRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Autowired
-  public CoinServiceImpl(CoinRepository coinRepository, CoinI18nRepository coinI18nRepository) {
+  public CoinServiceImpl(
+      CoinRepository coinRepository,
+      CoinI18nRepository coinI18nRepository,
+      CoinBatchRepository coinBatchRepository,
+      ApplicationEventPublisher eventPublisher) {
     this.coinRepository = coinRepository;
     this.coinI18nRepository = coinI18nRepository;
+    this.coinBatchRepository = coinBatchRepository;
+    this.eventPublisher = eventPublisher;
   }
 
   @Override
   @Transactional
   public Coin createCoin(String name, Map<String, String> i18nNames) {
-    // Business rule validation: check for uniqueness
-    if (coinRepository.existsByName(name)) {
-      throw new IllegalStateException("Coin with name '" + name + "' already exists");
-    }
-
-    // Create and save the coin
+    // Build the coin with its i18n names; the collection cascades, so one save persists them all
     Coin coin = new Coin(name);
-    coin = coinRepository.save(coin);
-
-    // Add i18n names if provided
     if (i18nNames != null && !i18nNames.isEmpty()) {
       for (Map.Entry<String, String> entry : i18nNames.entrySet()) {
-        CoinI18n i18n = new CoinI18n(coin, entry.getKey(), entry.getValue());
-        coin.addI18nName(i18n); // Add to the coin's collection
-        coinI18nRepository.save(i18n);
+        coin.addI18nName(new CoinI18n(coin, entry.getKey(), entry.getValue()));
       }
     }
 
-    // Refresh the coin to ensure all collections are properly loaded
-    return coinRepository.findById(coin.getId()).orElse(coin);
+    // Flush now so the unique constraint on coins.name, not a prior lookup, rejects a duplicate
+    try {
+      coin = coinRepository.saveAndFlush(coin);
+    } catch (DataIntegrityViolationException e) {
+      if (!ConstraintViolations.violates(e, Coin.NAME_CONSTRAINT)) {
+        throw e;
+      }
+      throw new IllegalStateException("Coin with name '" + name + "' already exists", e);
+    }
+
+    eventPublisher.publishEvent(new CoinChangedEvent(coin.getId()));
+
+    // The managed entity already holds everything the response needs
+    return coin;
+  }
+
+  @Override
+  @Transactional
+  public List<CoinBatchItemResult> createCoins(List<CoinCreateRequest> requests, boolean upsert) {
+    List<CoinBatchItemResult> results = new ArrayList<>(requests.size());
+    Map<String, Integer> indexByName = new LinkedHashMap<>();
+
+    // Per-item validation, including names repeated within the request
+    for (int i = 0; i < requests.size(); i++) {
+      CoinCreateRequest request = requests.get(i);
+      String name = request == null ? null : request.getName();
+      String invalid = validate(request);
+      if (invalid != null) {
+        results.add(
+            new CoinBatchItemResult(i, name, CoinBatchItemResult.Status.INVALID, null, invalid));
+      } else if (indexByName.containsKey(name)) {
+        results.add(
+            new CoinBatchItemResult(
+                i,
+                name,
+                CoinBatchItemResult.Status.CONFLICT,
+                null,
+                "Coin name repeats item " + indexByName.get(name)));
+      } else {
+        indexByName.put(name, i);
+        results.add(null);
+      }
+    }
+
+    // One set-based lookup tells which names already exist
+    Map<String, Long> existingIds = coinBatchRepository.findIdsByNames(indexByName.keySet());
+    List<String> newNames = new ArrayList<>();
+    for (String name : indexByName.keySet()) {
+      if (!existingIds.containsKey(name)) {
+        newNames.add(name);
+      }
+    }
+    Map<String, Long> createdIds = coinBatchRepository.insertCoins(newNames);
+
+    Map<Long, Map<String, String>> i18nByCoinId = new LinkedHashMap<>();
+    for (Map.Entry<String, Integer> entry : indexByName.entrySet()) {
+      String name = entry.getKey();
+      int index = entry.getValue();
+      Long id = createdIds.get(name);
+      CoinBatchItemResult.Status status = CoinBatchItemResult.Status.CREATED;
+      if (id == null && !existingIds.containsKey(name)) {
+        // Another transaction committed the name after the lookup, so the insert skipped it
+        results.set(
+            index,
+            new CoinBatchItemResult(
+                index,
+                name,
+                CoinBatchItemResult.Status.CONFLICT,
+                null,
+                "Coin with name '" + name + "' was created concurrently"));
+        continue;
+      }
+      if (id == null) {
+        id = existingIds.get(name);
+        if (!upsert) {
+          results.set(
+              index,
+              new CoinBatchItemResult(
+                  index,
+                  name,
+                  CoinBatchItemResult.Status.CONFLICT,
+                  id,
+                  "Coin with name '" + name + "' already exists"));
+          continue;
+        }
+        status = CoinBatchItemResult.Status.UPDATED;
+      }
+      Map<String, String> i18nNames = requests.get(index).getI18nNames();
+      if (i18nNames != null && !i18nNames.isEmpty()) {
+        i18nByCoinId.put(id, i18nNames);
+      }
+      results.set(index, new CoinBatchItemResult(index, name, status, id, null));
+    }
+    coinBatchRepository.upsertI18nNames(i18nByCoinId);
+
+    // One event for the whole batch, naming only the coins it wrote
+    Set<Long> changedIds = new LinkedHashSet<>(createdIds.values());
+    changedIds.addAll(i18nByCoinId.keySet());
+    if (!changedIds.isEmpty()) {
+      eventPublisher.publishEvent(CoinChangedEvent.bulk(changedIds));
+    }
+    return results;
   }
 
   @Override
@@ -56,6 +172,11 @@ public class CoinServiceImpl implements CoinService {
     return coinRepository.findById(id);
   }
 
+  @Override
+  public Optional<Coin> findWithI18nNamesById(Long id) {
+    return coinRepository.findWithI18nNamesById(id);
+  }
+
   @Override
   public Optional<Coin> findByName(String name) {
     return coinRepository.findByName(name);
@@ -66,75 +187,86 @@ public class CoinServiceImpl implements CoinService {
     return coinRepository.findAll();
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public List<CoinSummaryView> findSummaries(Long after, int limit) {
+    // Ids are generated from 1 upwards, so 0 sorts before every coin
+    return coinRepository.findSummariesAfter(after == null ? 0L : after, PageRequest.of(0, limit));
+  }
+
   @Override
   @Transactional
   public Coin updateCoin(Long id, String name, Map<String, String> i18nNames) {
-    // Find the coin by ID first
-    Coin coin =
-        coinRepository
-            .findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Coin with ID " + id + " not found"));
-
-    // Business rule validation: check for uniqueness only if trying to use a name that belongs to
-    // another coin
-    Optional<Coin> existingCoinWithName = coinRepository.findByName(name);
-    if (existingCoinWithName.isPresent() && !existingCoinWithName.get().getId().equals(id)) {
+    // Rename in one statement; the unique constraint on coins.name is the uniqueness check
+    int updated;
+    try {
+      updated = coinRepository.updateName(id, name, LocalDateTime.now());
+    } catch (DataIntegrityViolationException e) {
+      if (!ConstraintViolations.violates(e, Coin.NAME_CONSTRAINT)) {
+        throw e;
+      }
       throw new IllegalStateException(
-          "Coin with name '" + name + "' already exists for a different coin");
+          "Coin with name '" + name + "' already exists for a different coin", e);
+    }
+    if (updated == 0) {
+      throw new CoinNotFoundException(id);
     }
 
-    // Update the coin name
-    coin.setName(name);
-    coin = coinRepository.save(coin);
-
-    // Update i18n names if provided
+    // Merge i18n names in one batched upsert against the unique_coin_lang constraint. Entries not
+    // included in the i18nNames map are preserved, as specified in the method contract
     if (i18nNames != null && !i18nNames.isEmpty()) {
-      // Get existing i18n entries for this coin
-      List<CoinI18n> existingI18ns = coinI18nRepository.findByCoinId(id);
-
-      // Create a map of existing entries by language code for quick lookup
-      Map<String, CoinI18n> existingI18nMap = new HashMap<>();
-      for (CoinI18n i18n : existingI18ns) {
-        existingI18nMap.put(i18n.getLangCode(), i18n);
-      }
-
-      // Update or create i18n entries
-      for (Map.Entry<String, String> entry : i18nNames.entrySet()) {
-        String langCode = entry.getKey();
-        String i18nName = entry.getValue();
-
-        if (existingI18nMap.containsKey(langCode)) {
-          // Update existing entry
-          CoinI18n existingI18n = existingI18nMap.get(langCode);
-          existingI18n.setName(i18nName);
-          coinI18nRepository.save(existingI18n);
-        } else {
-          // Create new entry
-          CoinI18n newI18n = new CoinI18n(coin, langCode, i18nName);
-          coinI18nRepository.save(newI18n);
-        }
-      }
-
-      // Note: We don't delete entries that weren't in the i18nNames map,
-      // implementing the merge approach as specified in the method contract
+      coinBatchRepository.upsertI18nNames(Collections.singletonMap(id, i18nNames));
     }
 
-    return coin;
+    eventPublisher.publishEvent(new CoinChangedEvent(id));
+
+    // The writes bypassed the persistence context, so read the result back in one query
+    return coinRepository
+        .findWithI18nNamesById(id)
+        .orElseThrow(() -> new CoinNotFoundException(id));
   }
 
   @Override
   @Transactional
   public void deleteCoin(Long id) {
-    // Find the coin by ID
-    Coin coin =
-        coinRepository
-            .findById(id)
-            .orElseThrow(() -> new IllegalArgumentException("Coin with ID " + id + " not found"));
-
-    // Delete associated i18n entries first
+    // Delete associated i18n entries first, then let the row count tell whether the coin existed
     coinI18nRepository.deleteByCoinId(id);
+    if (coinRepository.deleteCoinById(id) == 0) {
+      throw new CoinNotFoundException(id);
+    }
+
+    eventPublisher.publishEvent(new CoinChangedEvent(id));
+  }
 
-    // Delete the coin
-    coinRepository.delete(coin);
+  /**
+   * Checks one bulk item against the same rules {@code POST /api/v1/coins} applies.
+   *
+   * @param request The item
+   * @return Why the item is invalid, or null if it is valid
+   */
+  private static String validate(CoinCreateRequest request) {
+    if (request == null || request.getName() == null || request.getName().trim().isEmpty()) {
+      return "Coin name is required";
+    }
+    if (request.getName().length() > MAX_NAME_LENGTH) {
+      return "Coin name must be between 1 and " + MAX_NAME_LENGTH + " characters";
+    }
+    if (request.getI18nNames() != null) {
+      for (Map.Entry<String, String> entry : request.getI18nNames().entrySet()) {
+        String langCode = entry.getKey();
+        String name = entry.getValue();
+        if (langCode == null || langCode.isEmpty() || langCode.length() > MAX_LANG_CODE_LENGTH) {
+          return "Language code must be between 1 and " + MAX_LANG_CODE_LENGTH + " characters";
+        }
+        if (name == null || name.trim().isEmpty() || name.length() > MAX_NAME_LENGTH) {
+          return "Localized name for '"
+              + langCode
+              + "' must be between 1 and "
+              + MAX_NAME_LENGTH
+              + " characters";
+        }
+      }
+    }
+    return null;
   }
 }
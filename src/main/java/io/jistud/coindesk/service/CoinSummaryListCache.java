@@ -0,0 +1,114 @@
+package io.jistud.coindesk.service;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jistud.coindesk.dto.CoinSummaryDto;
+import io.jistud.coindesk.dto.SerializedJson;
+import io.jistud.coindesk.repository.CoinSummaryView;
+
+/**
+ * Keeps serialized pages of the coin summary list. Pages are built on first use and rebuilt lazily
+ * after a coin change is committed.
+ */
+@Component
+public class CoinSummaryListCache {
+
+  /** Upper bound on distinct cursor/limit combinations kept. */
+  static final int MAX_CACHED_PAGES = 256;
+
+  private final CoinService coinService;
+  private final ObjectMapper objectMapper;
+
+  // Bumped after every committed change; a page built under an older generation is never served
+  private final AtomicLong generation = new AtomicLong();
+  private final ConcurrentMap<String, Entry> pages = new ConcurrentHashMap<>();
+
+  @Autowired
+  public CoinSummaryListCache(CoinService coinService, ObjectMapper objectMapper) {
+    this.coinService = coinService;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Gets one page of coin summaries, as served by {@code GET /api/v1/coins}.
+   *
+   * @param after Id of the last coin on the previous page, or null for the first page
+   * @param limit Maximum number of coins on the page
+   * @return The serialized page and the cursor of the page after it
+   */
+  public Page getPage(Long after, int limit) {
+    // Read the generation before querying, so a change committed mid-build invalidates the result
+    long expected = generation.get();
+    String key = after + ":" + limit;
+    Entry entry = pages.get(key);
+    if (entry != null && entry.generation == expected) {
+      return entry.page;
+    }
+
+    // One extra row tells whether there is a next page without a count query
+    List<CoinSummaryView> rows = coinService.findSummaries(after, limit + 1);
+    List<CoinSummaryDto> summaries =
+        rows.stream()
+            .limit(limit)
+            .map(row -> new CoinSummaryDto(row.getId(), row.getName()))
+            .collect(Collectors.toList());
+    Long nextCursor = rows.size() > limit ? summaries.get(limit - 1).getId() : null;
+    Page page = new Page(SerializedJson.of(objectMapper, summaries), nextCursor);
+    if (entry != null || pages.size() < MAX_CACHED_PAGES) {
+      pages.put(key, new Entry(expected, page));
+    }
+    return page;
+  }
+
+  /**
+   * Invalidates the cached pages once a coin change has been committed.
+   *
+   * @param event The committed coin change
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onCoinChanged(CoinChangedEvent event) {
+    generation.incrementAndGet();
+    pages.clear();
+  }
+
+  /** A serialized page of coin summaries and the cursor of the next page. */
+  public static final class Page {
+    private final SerializedJson json;
+    private final Long nextCursor;
+
+    private Page(SerializedJson json, Long nextCursor) {
+      this.json = json;
+      this.nextCursor = nextCursor;
+    }
+
+    public SerializedJson getJson() {
+      return json;
+    }
+
+    /** @return The {@code after} value for the next page, or null if this is the last page */
+    public Long getNextCursor() {
+      return nextCursor;
+    }
+  }
+
+  private static final class Entry {
+    private final long generation;
+    private final Page page;
+
+    private Entry(long generation, Page page) {
+      this.generation = generation;
+      this.page = page;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package io.jistud.coindesk.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.jistud.coindesk.dto.CoinDeskResponse;
+
+/**
+ * Compact, immutable view of one CoinDesk price document. Rates are held as primitive doubles in
+ * arrays indexed in document order, and known currency codes are shared canonical instances. This
+ * is what the price caches keep; response DTOs are built from it when a caller needs one.
+ */
+public final class PriceSnapshot {
+
+  private final String updated;
+  private final String updatedIso;
+  private final String updatedUk;
+  private final boolean hasTime;
+  private final String disclaimer;
+  private final String chartName;
+  private final String[] codes;
+  private final String[] symbols;
+  private final String[] rateTexts;
+  private final String[] descriptions;
+  private final double[] rates;
+
+  PriceSnapshot(
+      String updated,
+      String updatedIso,
+      String updatedUk,
+      boolean hasTime,
+      String disclaimer,
+      String chartName,
+      String[] codes,
+      String[] symbols,
+      String[] rateTexts,
+      String[] descriptions,
+      double[] rates) {
+    this.updated = updated;
+    this.updatedIso = updatedIso;
+    this.updatedUk = updatedUk;
+    this.hasTime = hasTime;
+    this.disclaimer = disclaimer;
+    this.chartName = chartName;
+    this.codes = codes;
+    this.symbols = symbols;
+    this.rateTexts = rateTexts;
+    this.descriptions = descriptions;
+    this.rates = rates;
+  }
+
+  public String getUpdatedIso() {
+    return updatedIso;
+  }
+
+  public String getChartName() {
+    return chartName;
+  }
+
+  /** @return Number of currencies in the snapshot */
+  public int size() {
+    return codes.length;
+  }
+
+  /** @return Canonical currency code at the given position */
+  public String code(int index) {
+    return codes[index];
+  }
+
+  /** @return Rate of the currency at the given position */
+  public double rate(int index) {
+    return rates[index];
+  }
+
+  /**
+   * Looks up the rate for a currency code
+   *
+   * @param code Currency code, e.g. "USD"
+   * @return The rate, or {@link Double#NaN} if the currency is not in the snapshot
+   */
+  public double rate(String code) {
+    int index = indexOf(code);
+    return index < 0 ? Double.NaN : rates[index];
+  }
+
+  /**
+   * Finds the position of a currency
+   *
+   * @param code Currency code, e.g. "USD"
+   * @return The position of the currency, or -1 if it is not in the snapshot
+   */
+  public int indexOf(String code) {
+    for (int i = 0; i < codes.length; i++) {
+      if (codes[i].equals(code)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Materializes the snapshot as the API response DTO. Each call builds a new, unshared DTO, so
+   * callers may modify it.
+   *
+   * @return CoinDesk response equivalent to the parsed document
+   */
+  public CoinDeskResponse toResponse() {
+    CoinDeskResponse response = new CoinDeskResponse();
+    if (hasTime) {
+      CoinDeskResponse.TimeInfo time = new CoinDeskResponse.TimeInfo();
+      time.setUpdated(updated);
+      time.setUpdatedISO(updatedIso);
+      time.setUpdateduk(updatedUk);
+      response.setTime(time);
+    }
+    response.setDisclaimer(disclaimer);
+    response.setChartName(chartName);
+
+    Map<String, CoinDeskResponse.CurrencyInfo> bpi = new LinkedHashMap<>();
+    for (int i = 0; i < codes.length; i++) {
+      CoinDeskResponse.CurrencyInfo currency = new CoinDeskResponse.CurrencyInfo();
+      currency.setCode(codes[i]);
+      currency.setSymbol(symbols[i]);
+      currency.setRate(rateTexts[i]);
+      currency.setDescription(descriptions[i]);
+      currency.setRateFloat(Double.isNaN(rates[i]) ? null : rates[i]);
+      bpi.put(codes[i], currency);
+    }
+    response.setBpi(bpi);
+    return response;
+  }
+}
@@ -0,0 +1,26 @@
+package io.jistud.coindesk.service;
+
+/**
+ * Published by {@link CoinDeskService} whenever a new price snapshot replaces the one being
+ * served. Not published when the upstream merely confirms the current snapshot is unchanged.
+ * Listeners run on the refreshing thread and must return quickly.
+ */
+public class PriceSnapshotUpdatedEvent {
+
+  private final PriceSnapshot previous;
+  private final PriceSnapshot current;
+
+  public PriceSnapshotUpdatedEvent(PriceSnapshot previous, PriceSnapshot current) {
+    this.previous = previous;
+    this.current = current;
+  }
+
+  /** @return The snapshot that was being served, or null if this is the first one */
+  public PriceSnapshot getPrevious() {
+    return previous;
+  }
+
+  public PriceSnapshot getCurrent() {
+    return current;
+  }
+}
@@ -0,0 +1,25 @@
+package io.jistud.coindesk.service;
+
+import io.jistud.coindesk.dto.CoinDeskResponse;
+import io.jistud.coindesk.dto.CoinDeskTransformedResponse;
+import reactor.core.publisher.Mono;
+
+/** Non-blocking counterpart of {@link CoinDeskService}, active under the "reactive" profile */
+public interface ReactiveCoinDeskService {
+
+  /**
+   * Retrieves current Bitcoin price information from the CoinDesk API. Responses are cached for
+   * {@code coindesk.cache.ttl} and concurrent subscribers share a single in-flight request.
+   *
+   * @return Raw CoinDesk API response containing current Bitcoin price information
+   */
+  Mono<CoinDeskResponse> getCurrentBitcoinPrice();
+
+  /**
+   * Gets a transformed response that combines CoinDesk API data with localized coin information
+   *
+   * @param langCode Optional language code (e.g., "zh-TW", "en") for localized names
+   * @return Transformed CoinDesk response with localized names when language specified
+   */
+  Mono<CoinDeskTransformedResponse> getTransformedCoinDeskData(String langCode);
+}
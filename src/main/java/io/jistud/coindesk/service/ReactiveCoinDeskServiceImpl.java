@@ -0,0 +1,93 @@
+package io.jistud.coindesk.service;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.jistud.coindesk.config.CoinDeskProperties;
+import io.jistud.coindesk.dto.CoinDeskResponse;
+import io.jistud.coindesk.dto.CoinDeskTransformedResponse;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+@Profile("reactive")
+public class ReactiveCoinDeskServiceImpl implements ReactiveCoinDeskService {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReactiveCoinDeskServiceImpl.class);
+
+  private final WebClient webClient;
+  private final CoinDeskPayloadParser payloadParser;
+  private final CoinDeskResponseTransformer transformer;
+  private final String apiUrl;
+  // Keeps the compact parsed snapshot; response DTOs are built from it per subscriber
+  private final Mono<PriceSnapshot> cachedPrice;
+
+  @Autowired
+  public ReactiveCoinDeskServiceImpl(
+      WebClient coinDeskWebClient,
+      CoinDeskPayloadParser payloadParser,
+      CoinDeskResponseTransformer transformer,
+      CoinDeskProperties properties) {
+    this.webClient = coinDeskWebClient;
+    this.payloadParser = payloadParser;
+    this.transformer = transformer;
+    this.apiUrl = properties.getApiUrl();
+
+    // Subscribers share one in-flight request; successes are kept for the TTL, errors are not kept
+    Duration ttl = properties.getCache().getTtl();
+    this.cachedPrice =
+        Mono.defer(this::fetchCurrentBitcoinPrice)
+            .cache(prices -> ttl, error -> Duration.ZERO, () -> Duration.ZERO);
+  }
+
+  @Override
+  public Mono<CoinDeskResponse> getCurrentBitcoinPrice() {
+    return cachedPrice.map(PriceSnapshot::toResponse);
+  }
+
+  @Override
+  public Mono<CoinDeskTransformedResponse> getTransformedCoinDeskData(String langCode) {
+    return cachedPrice
+        // The localized name lookup uses blocking JPA repositories, so keep it off the event loop
+        .publishOn(Schedulers.boundedElastic())
+        .map(prices -> transformer.transform(prices, transformer.currentIndex(), langCode))
+        .onErrorMap(
+            e -> {
+              logger.error("Error transforming CoinDesk data: {}", e.getMessage());
+              return new RuntimeException("Error transforming CoinDesk data", e);
+            });
+  }
+
+  private Mono<PriceSnapshot> fetchCurrentBitcoinPrice() {
+    logger.info("Fetching current Bitcoin price from CoinDesk API");
+
+    return webClient
+        .get()
+        .uri(apiUrl)
+        .accept(MediaType.APPLICATION_JSON)
+        .retrieve()
+        .bodyToMono(byte[].class)
+        .map(this::parse)
+        .switchIfEmpty(
+            Mono.error(() -> new RuntimeException("Received null response from CoinDesk API")))
+        .doOnSuccess(prices -> logger.info("Successfully fetched Bitcoin price data"))
+        .doOnError(e -> logger.error("Error fetching data from CoinDesk API: {}", e.getMessage()));
+  }
+
+  private PriceSnapshot parse(byte[] payload) {
+    try {
+      return payloadParser.parse(payload);
+    } catch (IOException e) {
+      throw Exceptions.propagate(e);
+    }
+  }
+}
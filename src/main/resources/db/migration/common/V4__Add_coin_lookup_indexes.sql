@@ -0,0 +1,14 @@
+-- findByLangCode filters on the language alone, which unique_coin_lang (coin_id first) cannot serve
+CREATE INDEX IF NOT EXISTS idx_coin_i18n_lang_code ON coin_i18n (lang_code);
+
+-- Lets the export join read a coin's language codes and localized names from the index alone.
+-- unique_coin_lang stays: deleteByCoinId and the FK use it, and the i18n upsert relies on it.
+CREATE INDEX IF NOT EXISTS idx_coin_i18n_coin_lang_name ON coin_i18n (coin_id, lang_code, name);
+
+-- Lower-cased copy of the name kept by the database, so case-insensitive lookups and prefix
+-- searches (name_lower = ?, name_lower LIKE 'x%') can use an index instead of LOWER(name) per row
+ALTER TABLE coins ADD COLUMN IF NOT EXISTS name_lower VARCHAR(255)
+    GENERATED ALWAYS AS (LOWER(name));
+CREATE INDEX IF NOT EXISTS idx_coins_name_lower ON coins (name_lower);
+
+COMMENT ON COLUMN coins.name_lower IS 'Lower-cased name, generated from name';
@@ -0,0 +1,51 @@
+package io.jistud.coindesk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.client.RestTemplate;
+
+import io.jistud.coindesk.controller.CoinController;
+import io.jistud.coindesk.controller.ReactiveCoinDeskController;
+import io.jistud.coindesk.controller.ReactiveCoinDeskTransformedController;
+import io.jistud.coindesk.service.CoinDeskPriceBroadcaster;
+import io.jistud.coindesk.service.CoinDeskService;
+import io.jistud.coindesk.service.ReactiveCoinDeskService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Boots the {@code reactive} profile on WebFlux and checks no servlet-only bean is loaded. */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    // The web application type is chosen before profile-specific files are read
+    properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles({"test", "reactive"})
+public class ReactiveProfileContextTest {
+
+  @Autowired private ApplicationContext context;
+
+  @Autowired private WebTestClient webTestClient;
+
+  @Test
+  @DisplayName("Should load only the reactive CoinDesk beans under the reactive profile")
+  void shouldLoadReactiveBeansOnly() {
+    assertEquals(1, context.getBeansOfType(ReactiveCoinDeskController.class).size());
+    assertEquals(1, context.getBeansOfType(ReactiveCoinDeskTransformedController.class).size());
+    assertEquals(1, context.getBeansOfType(ReactiveCoinDeskService.class).size());
+
+    assertTrue(context.getBeansOfType(CoinController.class).isEmpty());
+    assertTrue(context.getBeansOfType(CoinDeskService.class).isEmpty());
+    assertTrue(context.getBeansOfType(RestTemplate.class).isEmpty());
+    assertTrue(context.getBeansOfType(CoinDeskPriceBroadcaster.class).isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should not map the servlet-only coin endpoints on WebFlux")
+  void shouldNotMapServletEndpoints() {
+    webTestClient.get().uri("/api/v1/coins").exchange().expectStatus().isNotFound();
+  }
+}
@@ -0,0 +1,75 @@
+package io.jistud.coindesk;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.jistud.coindesk.config.StartupTimelineReporter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the application with the {@code startup} profile. Which beans are eager is checked in
+ * every build. The time budget, 15 s unless overridden with {@code -Dstartup.budget.millis}, is
+ * tagged {@value #BUDGET_TAG} and only checked by the {@code startup} Maven profile, which runs it
+ * in a JVM of its own: after other tests have warmed the JVM, wall-clock time says little.
+ */
+public class StartupBudgetTest {
+
+  static final String BUDGET_TAG = "startup-budget";
+
+  private static final Duration BUDGET =
+      Duration.ofMillis(Long.getLong("startup.budget.millis", 15_000));
+
+  @Test
+  @DisplayName("Should create controllers on first use and keep the search index eager")
+  void shouldCreateControllersOnFirstUse() {
+    try (ConfigurableApplicationContext context = start()) {
+      ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+      assertTrue(beanFactory.containsSingleton("entityManagerFactory"));
+      assertTrue(beanFactory.containsSingleton("coinSearchService"));
+      assertTrue(beanFactory.getBeanDefinition("coinController").isLazyInit());
+      assertFalse(beanFactory.containsSingleton("coinController"));
+    }
+  }
+
+  @Test
+  @Tag(BUDGET_TAG)
+  @DisplayName("Should be ready within the startup budget")
+  void shouldStartWithinBudget() {
+    long start = System.nanoTime();
+    try (ConfigurableApplicationContext context = start()) {
+      Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+      StartupTimeline timeline =
+          ((BufferingApplicationStartup) context.getApplicationStartup()).getBufferedTimeline();
+
+      assertTrue(
+          elapsed.compareTo(BUDGET) <= 0,
+          () ->
+              "Startup took "
+                  + elapsed.toMillis()
+                  + " ms, over the budget of "
+                  + BUDGET.toMillis()
+                  + " ms. "
+                  + StartupTimelineReporter.describe(timeline, 20));
+    }
+  }
+
+  private static ConfigurableApplicationContext start() {
+    return CoindeskApplication.application()
+        .run(
+            "--spring.profiles.active=test,startup",
+            "--spring.datasource.url=jdbc:h2:mem:startup-budget;MODE=MySQL",
+            "--server.port=0",
+            // Hibernate closes the JCache manager along with this context, and the other test
+            // contexts in this JVM share it, so leave the second-level cache off
+            "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+            "--spring.jpa.properties.hibernate.cache.use_query_cache=false");
+  }
+}
@@ -0,0 +1,132 @@
+package io.jistud.coindesk.config;
+
+import java.util.Arrays;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.repository.Repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsConfigTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private RepositoryMetricsPostProcessor postProcessor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("meterRegistry", meterRegistry);
+    postProcessor =
+        new RepositoryMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+  }
+
+  @Test
+  @DisplayName("Should bucket language codes into the configured tag values")
+  void shouldBucketLanguageCodes() {
+    MetricsConfig.LangTags langTags =
+        new MetricsConfig.LangTags(Arrays.asList("en", "zh-TW", "ja"));
+
+    assertEquals("zh-TW", langTags.of("zh-TW"));
+    assertEquals("zh-TW", langTags.of("zh_tw"));
+    assertEquals("en", langTags.of(" EN "));
+    assertEquals("other", langTags.of("fr"));
+    assertEquals("other", langTags.of("x-" + System.nanoTime()));
+    assertEquals("none", langTags.of(null));
+    assertEquals("none", langTags.of(""));
+  }
+
+  @Test
+  @DisplayName("Should time calls to a plain @Repository class by bean, method and outcome")
+  void shouldTimePlainRepository() {
+    JdbcCoinRepository repository =
+        (JdbcCoinRepository)
+            postProcessor.postProcessAfterInitialization(new JdbcCoinRepository(), "jdbcRepo");
+
+    assertEquals(3, repository.count());
+    assertThrows(IllegalStateException.class, repository::fail);
+    repository.toString();
+
+    assertEquals(1L, timerCount("jdbcRepo", "count", "success"));
+    assertEquals(1L, timerCount("jdbcRepo", "fail", "error"));
+    assertNull(
+        meterRegistry
+            .find(RepositoryMetricsPostProcessor.METRIC_NAME)
+            .tag("method", "toString")
+            .timer());
+  }
+
+  @Test
+  @DisplayName("Should record repeated calls on one timer per method and outcome")
+  void shouldReuseTimers() {
+    JdbcCoinRepository repository =
+        (JdbcCoinRepository)
+            postProcessor.postProcessAfterInitialization(new JdbcCoinRepository(), "jdbcRepo");
+
+    repository.count();
+    repository.count();
+    assertThrows(IllegalStateException.class, repository::fail);
+    assertThrows(IllegalStateException.class, repository::fail);
+
+    assertEquals(2L, timerCount("jdbcRepo", "count", "success"));
+    assertEquals(2L, timerCount("jdbcRepo", "fail", "error"));
+    assertEquals(
+        2, meterRegistry.find(RepositoryMetricsPostProcessor.METRIC_NAME).timers().size());
+  }
+
+  @Test
+  @DisplayName("Should add timing to an existing Spring Data repository proxy")
+  void shouldTimeSpringDataRepositoryProxy() {
+    ProxyFactory proxyFactory = new ProxyFactory();
+    proxyFactory.addInterface(NameRepository.class);
+    proxyFactory.addAdvice((MethodInterceptor) invocation -> "Bitcoin");
+    Object proxy = proxyFactory.getProxy();
+
+    Object processed = postProcessor.postProcessAfterInitialization(proxy, "nameRepository");
+
+    assertSame(proxy, processed);
+    assertEquals("Bitcoin", ((NameRepository) processed).findName(1L));
+    assertEquals(1L, timerCount("nameRepository", "findName", "success"));
+  }
+
+  @Test
+  @DisplayName("Should leave beans that are not repositories untouched")
+  void shouldIgnoreOtherBeans() {
+    Object bean = new Object();
+
+    assertSame(bean, postProcessor.postProcessAfterInitialization(bean, "other"));
+  }
+
+  private long timerCount(String repository, String method, String outcome) {
+    return meterRegistry
+        .get(RepositoryMetricsPostProcessor.METRIC_NAME)
+        .tag("repository", repository)
+        .tag("method", method)
+        .tag("outcome", outcome)
+        .timer()
+        .count();
+  }
+
+  interface NameRepository extends Repository<Object, Long> {
+    String findName(Long id);
+  }
+
+  @org.springframework.stereotype.Repository
+  static class JdbcCoinRepository {
+    public int count() {
+      return 3;
+    }
+
+    public void fail() {
+      throw new IllegalStateException("Query failed");
+    }
+  }
+}
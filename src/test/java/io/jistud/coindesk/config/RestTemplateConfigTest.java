@@ -0,0 +1,213 @@
+package io.jistud.coindesk.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.Configurable;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.jistud.coindesk.dto.CoinDeskResponse;
+import io.jistud.coindesk.repository.CoinRepository;
+import io.jistud.coindesk.service.CoinDeskPayloadParser;
+import io.jistud.coindesk.service.CoinDeskResponseTransformer;
+import io.jistud.coindesk.service.CoinDeskServiceImpl;
+import io.jistud.coindesk.service.CoinI18nIndexHolder;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/** Runs the pooled CoinDesk client against a local HTTP server. */
+public class RestTemplateConfigTest {
+
+  private static final String PAYLOAD =
+      "{\"time\": {\"updatedISO\": \"2023-02-21T14:22:00+00:00\"},"
+          + "\"chartName\": \"Bitcoin\","
+          + "\"bpi\": {\"USD\": {\"code\": \"USD\", \"rate_float\": 24870.9308}}}";
+
+  private final RestTemplateConfig config = new RestTemplateConfig();
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  // Released on teardown so handlers that stall a response let the server stop
+  private final CountDownLatch release = new CountDownLatch(1);
+  private SimpleMeterRegistry meterRegistry;
+  private CoinDeskProperties properties;
+  private CloseableHttpClient httpClient;
+  private RestTemplate restTemplate;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    serverExecutor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setExecutor(serverExecutor);
+    server.start();
+
+    meterRegistry = new SimpleMeterRegistry();
+    properties = new CoinDeskProperties();
+    CoinDeskProperties.Http http = properties.getHttp();
+    http.setMaxTotal(4);
+    http.setMaxPerRoute(1);
+    http.setConnectTimeout(Duration.ofMillis(500));
+    // Well above the lease timeout, so a held connection outlasts a request waiting for it
+    http.setReadTimeout(Duration.ofSeconds(1));
+    http.setConnectionRequestTimeout(Duration.ofMillis(200));
+    httpClient = config.coinDeskHttpClient(properties, meterRegistry);
+    restTemplate = config.restTemplate(new RestTemplateBuilder(), httpClient);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    release.countDown();
+    httpClient.close();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Should apply the pool limits and timeouts from coindesk.http")
+  void shouldApplyPoolLimitsAndTimeouts() {
+    assertEquals(4.0, poolGauge("httpcomponents.httpclient.pool.total.max"));
+    assertEquals(1.0, poolGauge("httpcomponents.httpclient.pool.route.max.default"));
+
+    RequestConfig requestConfig = ((Configurable) httpClient).getConfig();
+    assertEquals(500, requestConfig.getConnectTimeout());
+    assertEquals(1000, requestConfig.getSocketTimeout());
+    assertEquals(200, requestConfig.getConnectionRequestTimeout());
+  }
+
+  @Test
+  @DisplayName("Should give up on a response slower than the read timeout")
+  void shouldTimeOutSlowResponses() {
+    server.createContext("/slow", exchange -> respondAfterRelease(exchange));
+
+    ResourceAccessException exception =
+        assertThrows(
+            ResourceAccessException.class,
+            () -> restTemplate.getForObject(url("/slow"), String.class));
+
+    assertTrue(exception.getCause() instanceof SocketTimeoutException);
+  }
+
+  @Test
+  @DisplayName("Should time connection leases, including ones that wait for a full pool")
+  void shouldTimeConnectionLeases() throws Exception {
+    CountDownLatch leased = new CountDownLatch(1);
+    server.createContext(
+        "/held",
+        exchange -> {
+          leased.countDown();
+          respondAfterRelease(exchange);
+        });
+    server.createContext("/fast", exchange -> respond(exchange, new byte[0], false));
+
+    // The route allows one connection; hold it so the next request waits for the lease
+    ExecutorService caller = Executors.newSingleThreadExecutor();
+    try {
+      Future<?> held = caller.submit(() -> restTemplate.getForObject(url("/held"), String.class));
+      assertTrue(leased.await(5, TimeUnit.SECONDS));
+
+      ResourceAccessException exception =
+          assertThrows(
+              ResourceAccessException.class,
+              () -> restTemplate.getForObject(url("/fast"), String.class));
+      assertTrue(exception.getCause() instanceof ConnectionPoolTimeoutException);
+      held.cancel(true);
+    } finally {
+      caller.shutdownNow();
+    }
+
+    Timer acquire = meterRegistry.get("coindesk.http.pool.acquire").timer();
+    assertEquals(2, acquire.count());
+    assertTrue(acquire.max(TimeUnit.MILLISECONDS) >= 200);
+  }
+
+  @Test
+  @DisplayName("Should leave gzip bodies compressed for the streaming parser to decode")
+  void shouldDecodeGzipOnStreamingParsePath() throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+      gzip.write(PAYLOAD.getBytes(StandardCharsets.UTF_8));
+    }
+    byte[] body = compressed.toByteArray();
+    server.createContext(
+        "/coindesk.json",
+        exchange -> {
+          boolean gzip =
+              "gzip".equals(exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING));
+          respond(exchange, gzip ? body : PAYLOAD.getBytes(StandardCharsets.UTF_8), gzip);
+        });
+    properties.setApiUrl(url("/coindesk.json"));
+    CoinDeskServiceImpl coinDeskService =
+        new CoinDeskServiceImpl(
+            restTemplate,
+            new CoinDeskPayloadParser(),
+            new CoinDeskResponseTransformer(new CoinI18nIndexHolder(mock(CoinRepository.class))),
+            properties,
+            Jackson2ObjectMapperBuilder.json().build(),
+            event -> {},
+            meterRegistry);
+
+    CoinDeskResponse response = coinDeskService.getCurrentBitcoinPrice();
+
+    assertEquals(24870.9308, response.getBpi().get("USD").getRateFloat());
+    // The client did not decompress on its own, so the bytes counted are the compressed ones
+    assertEquals(body.length, meterRegistry.get("coindesk.upstream.received").counter().count());
+  }
+
+  private double poolGauge(String name) {
+    return meterRegistry.get(name).tag("httpclient", "coindesk").gauge().value();
+  }
+
+  private String url(String path) {
+    return "http://localhost:" + server.getAddress().getPort() + path;
+  }
+
+  private void respondAfterRelease(HttpExchange exchange) throws IOException {
+    try {
+      release.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    respond(exchange, new byte[0], false);
+  }
+
+  private static void respond(HttpExchange exchange, byte[] body, boolean gzip)
+      throws IOException {
+    exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+    if (gzip) {
+      exchange.getResponseHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package io.jistud.coindesk.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class VirtualThreadsTest {
+
+  @Test
+  @DisplayName("Should create named virtual threads on Java 21")
+  void shouldCreateVirtualThreads() throws Exception {
+    assumeTrue(VirtualThreads.isSupported());
+
+    ThreadFactory factory = VirtualThreads.factory("test-vt-");
+    Thread first = factory.newThread(() -> {});
+    Thread second = factory.newThread(() -> {});
+
+    assertTrue(VirtualThreads.isVirtual(first));
+    assertEquals("test-vt-0", first.getName());
+    assertEquals("test-vt-1", second.getName());
+  }
+
+  @Test
+  @DisplayName("Should run each task on its own virtual thread on Java 21")
+  void shouldRunTasksOnVirtualThreads() throws Exception {
+    assumeTrue(VirtualThreads.isSupported());
+
+    ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("test-vt-");
+    try {
+      Future<Boolean> virtual =
+          executor.submit(() -> VirtualThreads.isVirtual(Thread.currentThread()));
+      assertTrue(virtual.get());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Should refuse to create virtual threads before Java 21")
+  void shouldRefuseBeforeJava21() {
+    assumeFalse(VirtualThreads.isSupported());
+
+    assertThrows(IllegalStateException.class, () -> VirtualThreads.factory("test-vt-"));
+    assertThrows(
+        IllegalStateException.class, () -> VirtualThreads.newThreadPerTaskExecutor("test-vt-"));
+    assertFalse(VirtualThreads.isVirtual(Thread.currentThread()));
+    assertThrows(IllegalStateException.class, VirtualThreadsConfig::new);
+  }
+}
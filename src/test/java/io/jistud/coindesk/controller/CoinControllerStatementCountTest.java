@@ -0,0 +1,162 @@
+package io.jistud.coindesk.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import io.jistud.coindesk.repository.CoinRepository;
+import io.jistud.coindesk.service.CoinService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asserts that the coin endpoints run a fixed number of SQL statements however many localized
+ * names a coin has, i.e. that i18n names are never loaded lazily one collection at a time.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class CoinControllerStatementCountTest {
+
+  private static final long ID_ALLOCATION_SIZE = 50;
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Autowired private CoinService coinService;
+
+  @Autowired private CoinRepository coinRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @AfterEach
+  void tearDown() {
+    coinRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("GET /coins/{id} should load a coin and its i18n names in one statement")
+  void getCoinByIdRunsOneStatement() throws Exception {
+    Long few = coinService.createCoin("Bitcoin", i18nNames(1)).getId();
+    Long many = coinService.createCoin("Ethereum", i18nNames(6)).getId();
+
+    long fewStatements = countStatements(get("/api/v1/coins/{id}", few), status().isOk());
+    assertEquals(0, statistics.getCollectionFetchCount());
+    long manyStatements = countStatements(get("/api/v1/coins/{id}", many), status().isOk());
+    assertEquals(0, statistics.getCollectionFetchCount());
+
+    assertEquals(1, fewStatements);
+    assertEquals(1, manyStatements);
+  }
+
+  @Test
+  @DisplayName("POST /coins should batch i18n inserts and not re-read the created coin")
+  void createCoinRunsConstantStatements() throws Exception {
+    long fewStatements = countStatements(createRequest("Bitcoin", 1), status().isCreated());
+    assertEquals(0, statistics.getCollectionFetchCount());
+    long manyStatements = countStatements(createRequest("Ethereum", 6), status().isCreated());
+    assertEquals(0, statistics.getCollectionFetchCount());
+    assertEquals(7, statistics.getEntityInsertCount());
+
+    assertEquals(fewStatements, manyStatements);
+  }
+
+  @Test
+  @DisplayName("PUT /coins/{id} should run the same statements however many i18n names exist")
+  void updateCoinRunsConstantStatements() throws Exception {
+    Long few = coinService.createCoin("Bitcoin", i18nNames(1)).getId();
+    Long many = coinService.createCoin("Ethereum", i18nNames(6)).getId();
+    String body = "{\"name\":\"%s\",\"i18nNames\":{\"lang0\":\"Renamed\",\"new\":\"Added\"}}";
+
+    long fewStatements =
+        countStatements(
+            put("/api/v1/coins/{id}", few)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format(body, "Bitcoin 2")),
+            status().isOk());
+    assertEquals(0, statistics.getCollectionFetchCount());
+    long manyStatements =
+        countStatements(
+            put("/api/v1/coins/{id}", many)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.format(body, "Ethereum 2")),
+            status().isOk());
+    assertEquals(0, statistics.getCollectionFetchCount());
+
+    assertEquals(fewStatements, manyStatements);
+  }
+
+  /**
+   * Counts the statements a request prepares, leaving out id sequence calls. Those only happen
+   * once per pooled block of ids, so whether a request makes one depends on earlier tests.
+   */
+  private long countStatements(RequestBuilder request, ResultMatcher expectedStatus)
+      throws Exception {
+    long sequenceValues = sequenceValues();
+    statistics.clear();
+    mockMvc.perform(request).andExpect(expectedStatus);
+    long statements = statistics.getPrepareStatementCount();
+    return statements - (sequenceValues() - sequenceValues) / ID_ALLOCATION_SIZE;
+  }
+
+  private long sequenceValues() {
+    return jdbcTemplate.queryForObject(
+        "SELECT SUM(CURRENT_VALUE) FROM INFORMATION_SCHEMA.SEQUENCES"
+            + " WHERE SEQUENCE_NAME IN ('COINS_SEQ', 'COIN_I18N_SEQ')",
+        Long.class);
+  }
+
+  private RequestBuilder createRequest(String name, int languages) {
+    StringBuilder names = new StringBuilder();
+    i18nNames(languages)
+        .forEach(
+            (lang, localized) ->
+                names
+                    .append(names.length() == 0 ? "" : ",")
+                    .append('"')
+                    .append(lang)
+                    .append("\":\"")
+                    .append(localized)
+                    .append('"'));
+    return post("/api/v1/coins")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"name\":\"" + name + "\",\"i18nNames\":{" + names + "}}");
+  }
+
+  private static Map<String, String> i18nNames(int count) {
+    Map<String, String> names = new LinkedHashMap<>();
+    for (int i = 0; i < count; i++) {
+      names.put("lang" + i, "Name " + i);
+    }
+    return names;
+  }
+}
@@ -1,31 +1,58 @@
 package io.jistud.coindesk.controller;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.StreamUtils;
 
+import io.jistud.coindesk.dto.CoinBatchItemResult;
+import io.jistud.coindesk.dto.CoinSearchResult;
 import io.jistud.coindesk.entity.Coin;
 import io.jistud.coindesk.entity.CoinI18n;
+import io.jistud.coindesk.exception.CoinNotFoundException;
+import io.jistud.coindesk.repository.CoinSummaryView;
+import io.jistud.coindesk.service.CoinChangedEvent;
+import io.jistud.coindesk.service.CoinExportFormat;
+import io.jistud.coindesk.service.CoinExportService;
+import io.jistud.coindesk.service.CoinSearchService;
 import io.jistud.coindesk.service.CoinService;
+import io.jistud.coindesk.service.CoinSummaryListCache;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -33,12 +60,25 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CoinController.class)
+@Import(CoinSummaryListCache.class)
 public class CoinControllerTest {
 
   @Autowired private MockMvc mockMvc;
 
+  @Autowired private CoinSummaryListCache coinSummaryListCache;
+
+  @BeforeEach
+  void resetCoinListCache() {
+    // The cache bean outlives each test's mocks, so drop whatever a previous test left in it
+    coinSummaryListCache.onCoinChanged(CoinChangedEvent.bulk(Collections.emptySet()));
+  }
+
   @MockBean private CoinService coinService;
 
+  @MockBean private CoinExportService coinExportService;
+
+  @MockBean private CoinSearchService coinSearchService;
+
   @Test
   @DisplayName("Should create a new coin successfully")
   void shouldCreateNewCoinSuccessfully() throws Exception {
@@ -130,15 +170,57 @@ public class CoinControllerTest {
         .andExpect(jsonPath("$.message", containsString("already exists")));
   }
 
+  @Test
+  @DisplayName("Should create coins in bulk and return per-item results")
+  void shouldCreateCoinsInBulk() throws Exception {
+    // Arrange
+    String requestBody =
+        "[{\"name\":\"Bitcoin\",\"i18nNames\":{\"ja\":\"ビットコイン\"}},{\"name\":\"Ethereum\"}]";
+    when(coinService.createCoins(anyList(), eq(false)))
+        .thenReturn(
+            Arrays.asList(
+                new CoinBatchItemResult(0, "Bitcoin", CoinBatchItemResult.Status.CREATED, 1L, null),
+                new CoinBatchItemResult(
+                    1,
+                    "Ethereum",
+                    CoinBatchItemResult.Status.CONFLICT,
+                    2L,
+                    "Coin with name 'Ethereum' already exists")));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            post("/api/v1/coins/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].status", is("CREATED")))
+        .andExpect(jsonPath("$[0].id", is(1)))
+        .andExpect(jsonPath("$[0].message").doesNotExist())
+        .andExpect(jsonPath("$[1].status", is("CONFLICT")))
+        .andExpect(jsonPath("$[1].message", containsString("already exists")));
+  }
+
+  @Test
+  @DisplayName("Should return 400 for an empty bulk create request")
+  void shouldReturnBadRequestForEmptyBatch() throws Exception {
+    mockMvc
+        .perform(post("/api/v1/coins/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is("At least one coin is required")));
+
+    verify(coinService, never()).createCoins(anyList(), anyBoolean());
+  }
+
   @Test
   @DisplayName("Should return all coins when no parameters provided")
   void shouldReturnAllCoinsWhenNoParametersProvided() throws Exception {
     // Arrange
-    List<Coin> coins =
-        Arrays.asList(
-            createCoin(1L, "Bitcoin"), createCoin(2L, "Ethereum"), createCoin(3L, "Litecoin"));
+    List<CoinSummaryView> coins =
+        Arrays.asList(summary(1L, "Bitcoin"), summary(2L, "Ethereum"), summary(3L, "Litecoin"));
 
-    when(coinService.findAll()).thenReturn(coins);
+    when(coinService.findSummaries(null, 101)).thenReturn(coins);
 
     // Act & Assert
     mockMvc
@@ -151,7 +233,160 @@ public class CoinControllerTest {
         .andExpect(jsonPath("$[1].name", is("Ethereum")))
         .andExpect(jsonPath("$[2].id", is(3)))
         .andExpect(jsonPath("$[2].name", is("Litecoin")))
-        .andExpect(jsonPath("$[0].i18nNames").doesNotExist());
+        .andExpect(jsonPath("$[0].i18nNames").doesNotExist())
+        .andExpect(header().doesNotExist(CoinController.NEXT_CURSOR_HEADER));
+  }
+
+  @Test
+  @DisplayName("Should page coins by cursor and return the next cursor")
+  void shouldPageCoinsByCursor() throws Exception {
+    // Arrange: one row past the limit signals another page
+    when(coinService.findSummaries(1L, 3))
+        .thenReturn(
+            Arrays.asList(
+                summary(2L, "Ethereum"), summary(3L, "Litecoin"), summary(4L, "Dogecoin")));
+
+    // Act & Assert
+    mockMvc
+        .perform(get("/api/v1/coins").param("after", "1").param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].id", is(2)))
+        .andExpect(jsonPath("$[1].id", is(3)))
+        .andExpect(header().string(CoinController.NEXT_CURSOR_HEADER, "3"));
+  }
+
+  @Test
+  @DisplayName("Should cap the page size at the server maximum")
+  void shouldCapPageSize() throws Exception {
+    // Arrange
+    when(coinService.findSummaries(any(), anyInt())).thenReturn(Collections.emptyList());
+
+    // Act
+    mockMvc.perform(get("/api/v1/coins").param("limit", "100000")).andExpect(status().isOk());
+
+    // Assert
+    verify(coinService).findSummaries(null, CoinController.MAX_PAGE_SIZE + 1);
+  }
+
+  @Test
+  @DisplayName("Should return 400 when limit is below 1")
+  void shouldReturnBadRequestWhenLimitBelowOne() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/coins").param("limit", "0"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is("limit must be at least 1")));
+  }
+
+  @Test
+  @DisplayName("Should stream the coin export gzipped when the client accepts gzip")
+  void shouldStreamGzippedExport() throws Exception {
+    // Arrange
+    String line = "{\"id\":1,\"name\":\"Bitcoin\",\"i18nNames\":{}}\n";
+    when(coinExportService.export(eq(CoinExportFormat.NDJSON), any()))
+        .thenAnswer(
+            invocation -> {
+              OutputStream out = invocation.getArgument(1);
+              out.write(line.getBytes(StandardCharsets.UTF_8));
+              return 1L;
+            });
+
+    // Act
+    MvcResult started =
+        mockMvc
+            .perform(get("/api/v1/coins/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    MvcResult result =
+        mockMvc
+            .perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(CoinExportFormat.NDJSON.getMediaType()))
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn();
+
+    // Assert
+    byte[] body = result.getResponse().getContentAsByteArray();
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      assertEquals(line, StreamUtils.copyToString(in, StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  @DisplayName("Should return 400 for an unsupported export format")
+  void shouldReturnBadRequestForUnsupportedExportFormat() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/coins/export").param("format", "xml"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is("Unsupported export format: xml")));
+  }
+
+  @Test
+  @DisplayName("Should search coins by name with a capped limit")
+  void shouldSearchCoins() throws Exception {
+    // Arrange
+    when(coinSearchService.search("bit", "ja", CoinController.MAX_SEARCH_RESULTS))
+        .thenReturn(
+            Arrays.asList(
+                new CoinSearchResult(1L, "Bitcoin", "Bitcoin", null),
+                new CoinSearchResult(2L, "Wrapped Bitcoin", "Wrapped Bitcoin", null)));
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            get("/api/v1/coins/search")
+                .param("q", "bit")
+                .param("lang", "ja")
+                .param("limit", "1000"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0].id", is(1)))
+        .andExpect(jsonPath("$[0].matchedName", is("Bitcoin")))
+        .andExpect(jsonPath("$[0].langCode").doesNotExist())
+        .andExpect(jsonPath("$[1].name", is("Wrapped Bitcoin")));
+    verify(coinService, never()).findByName(any());
+  }
+
+  @Test
+  @DisplayName("Should return 400 when the search query is blank")
+  void shouldReturnBadRequestForBlankSearchQuery() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/coins/search").param("q", "  "))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is("q must not be blank")));
+    verify(coinSearchService, never()).search(anyString(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should serve the coin list from cache and honour If-None-Match")
+  void shouldServeCachedCoinListWithETag() throws Exception {
+    // Arrange
+    when(coinService.findSummaries(null, 101))
+        .thenReturn(Arrays.asList(summary(1L, "Bitcoin"), summary(2L, "Ethereum")));
+
+    // Act
+    MvcResult first =
+        mockMvc
+            .perform(get("/api/v1/coins"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn();
+    String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+    // Assert
+    mockMvc
+        .perform(get("/api/v1/coins").header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().bytes(new byte[0]));
+    verify(coinService, times(1)).findSummaries(null, 101);
+
+    // A committed change invalidates the cached list
+    coinSummaryListCache.onCoinChanged(new CoinChangedEvent(3L));
+    when(coinService.findSummaries(null, 101)).thenReturn(Arrays.asList(summary(1L, "Bitcoin")));
+    mockMvc
+        .perform(get("/api/v1/coins").header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(1)));
   }
 
   @Test
@@ -198,7 +433,7 @@ public class CoinControllerTest {
   @DisplayName("Should return empty array when no coins found")
   void shouldReturnEmptyArrayWhenNoCoinsFound() throws Exception {
     // Arrange
-    when(coinService.findAll()).thenReturn(Collections.emptyList());
+    when(coinService.findSummaries(null, 101)).thenReturn(Collections.emptyList());
 
     // Act & Assert
     mockMvc
@@ -266,7 +501,7 @@ public class CoinControllerTest {
     coin.setCreatedAt(now);
     coin.setUpdatedAt(now);
 
-    when(coinService.findById(coinId)).thenReturn(Optional.of(coin));
+    when(coinService.findWithI18nNamesById(coinId)).thenReturn(Optional.of(coin));
 
     // Act & Assert
     mockMvc
@@ -300,7 +535,7 @@ public class CoinControllerTest {
     coin.addI18nName(i18nEs);
     coin.addI18nName(i18nJa);
 
-    when(coinService.findById(coinId)).thenReturn(Optional.of(coin));
+    when(coinService.findWithI18nNamesById(coinId)).thenReturn(Optional.of(coin));
 
     // Act & Assert
     mockMvc
@@ -321,7 +556,7 @@ public class CoinControllerTest {
   void shouldReturn404WhenCoinIdNotFoundInGetById() throws Exception {
     // Arrange
     Long nonExistentId = 999L;
-    when(coinService.findById(nonExistentId)).thenReturn(Optional.empty());
+    when(coinService.findWithI18nNamesById(nonExistentId)).thenReturn(Optional.empty());
 
     // Act & Assert
     mockMvc
@@ -334,17 +569,14 @@ public class CoinControllerTest {
   void shouldUpdateCoinSuccessfully() throws Exception {
     // Arrange
     Long coinId = 1L;
-    String originalName = "Bitcoin";
     String updatedName = "BTC";
     String requestBody = "{\"name\":\"" + updatedName + "\"}";
 
-    Coin existingCoin = createCoin(coinId, originalName);
     Coin updatedCoin = createCoin(coinId, updatedName);
     LocalDateTime now = LocalDateTime.now();
     updatedCoin.setCreatedAt(now);
     updatedCoin.setUpdatedAt(now);
 
-    when(coinService.findById(coinId)).thenReturn(Optional.of(existingCoin));
     when(coinService.updateCoin(eq(coinId), eq(updatedName), any())).thenReturn(updatedCoin);
 
     // Act & Assert
@@ -365,14 +597,12 @@ public class CoinControllerTest {
   void shouldUpdateCoinWithI18nNames() throws Exception {
     // Arrange
     Long coinId = 1L;
-    String originalName = "Bitcoin";
     String updatedName = "BTC";
     String requestBody =
         "{\"name\":\""
             + updatedName
             + "\",\"i18nNames\":{\"en\":\"Bitcoin\",\"es\":\"Bitcóin\",\"ja\":\"ビットコイン\"}}";
 
-    Coin existingCoin = createCoin(coinId, originalName);
     Coin updatedCoin = createCoin(coinId, updatedName);
     LocalDateTime now = LocalDateTime.now();
     updatedCoin.setCreatedAt(now);
@@ -387,7 +617,6 @@ public class CoinControllerTest {
     updatedCoin.addI18nName(i18nEs);
     updatedCoin.addI18nName(i18nJa);
 
-    when(coinService.findById(coinId)).thenReturn(Optional.of(existingCoin));
     when(coinService.updateCoin(eq(coinId), eq(updatedName), anyMap())).thenReturn(updatedCoin);
 
     // Act & Assert
@@ -429,7 +658,7 @@ public class CoinControllerTest {
     String requestBody = "{\"name\":\"BTC\"}";
 
     when(coinService.updateCoin(eq(nonExistentId), anyString(), any()))
-        .thenThrow(new IllegalArgumentException("Coin with ID " + nonExistentId + " not found"));
+        .thenThrow(new CoinNotFoundException(nonExistentId));
 
     // Act & Assert
     mockMvc
@@ -437,7 +666,10 @@ public class CoinControllerTest {
             put("/api/v1/coins/{id}", nonExistentId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(requestBody))
-        .andExpect(status().isNotFound());
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.message", is("Coin with ID 999 not found")));
+
+    verify(coinService, never()).findById(any());
   }
 
   @Test
@@ -445,16 +677,9 @@ public class CoinControllerTest {
   void shouldReturn409WhenUpdatingCoinWithDuplicateName() throws Exception {
     // Arrange
     Long coinId = 1L;
-    String coinName = "Bitcoin";
     String duplicateName = "Ethereum";
     String requestBody = "{\"name\":\"" + duplicateName + "\"}";
 
-    Coin coin = createCoin(1L, coinName);
-    LocalDateTime now = LocalDateTime.now();
-    coin.setCreatedAt(now);
-    coin.setUpdatedAt(now);
-
-    when(coinService.findById(coinId)).thenReturn(Optional.of(coin));
     when(coinService.updateCoin(eq(coinId), eq(duplicateName), any()))
         .thenThrow(
             new IllegalStateException("Coin with name '" + duplicateName + "' already exists"));
@@ -474,13 +699,12 @@ public class CoinControllerTest {
   void shouldDeleteCoinSuccessfully() throws Exception {
     // Arrange
     Long coinId = 1L;
-    Coin coin = createCoin(coinId, "Bitcoin");
 
-    when(coinService.findById(coinId)).thenReturn(Optional.of(coin));
     doNothing().when(coinService).deleteCoin(coinId);
 
     // Act & Assert
     mockMvc.perform(delete("/api/v1/coins/{id}", coinId)).andExpect(status().isNoContent());
+    verify(coinService, never()).findById(any());
   }
 
   @Test
@@ -489,13 +713,13 @@ public class CoinControllerTest {
     // Arrange
     Long nonExistentId = 999L;
 
-    when(coinService.findById(nonExistentId)).thenReturn(Optional.empty());
-    doThrow(new IllegalArgumentException("Coin with ID " + nonExistentId + " not found"))
-        .when(coinService)
-        .deleteCoin(nonExistentId);
+    doThrow(new CoinNotFoundException(nonExistentId)).when(coinService).deleteCoin(nonExistentId);
 
     // Act & Assert
-    mockMvc.perform(delete("/api/v1/coins/{id}", nonExistentId)).andExpect(status().isNotFound());
+    mockMvc
+        .perform(delete("/api/v1/coins/{id}", nonExistentId))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.message", is("Coin with ID 999 not found")));
   }
 
   // Helper method to create coin objects for testing
@@ -504,4 +728,18 @@ public class CoinControllerTest {
     coin.setId(id);
     return coin;
   }
+
+  private static CoinSummaryView summary(Long id, String name) {
+    return new CoinSummaryView() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public String getName() {
+        return name;
+      }
+    };
+  }
 }
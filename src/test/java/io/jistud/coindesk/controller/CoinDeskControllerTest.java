@@ -1,20 +1,28 @@
 package io.jistud.coindesk.controller;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.jistud.coindesk.dto.CoinDeskResponse;
+import io.jistud.coindesk.dto.SerializedJson;
 import io.jistud.coindesk.service.CoinDeskService;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -23,6 +31,8 @@ public class CoinDeskControllerTest {
 
   @Autowired private MockMvc mockMvc;
 
+  @Autowired private ObjectMapper objectMapper;
+
   @MockBean private CoinDeskService coinDeskService;
 
   @Test
@@ -31,12 +41,14 @@ public class CoinDeskControllerTest {
     CoinDeskResponse mockResponse = createMockCoinDeskResponse();
 
     // Mock service behavior
-    when(coinDeskService.getCurrentBitcoinPrice()).thenReturn(mockResponse);
+    when(coinDeskService.getCurrentBitcoinPriceJson())
+        .thenReturn(SerializedJson.of(objectMapper, mockResponse));
 
     // Perform the test
     mockMvc
         .perform(get("/api/v1/coindesk").contentType(MediaType.APPLICATION_JSON))
         .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
         .andExpect(jsonPath("$.time.updated").value("Feb 21, 2023 14:22:00 UTC"))
         .andExpect(jsonPath("$.disclaimer").exists())
         .andExpect(jsonPath("$.chartName").value("Bitcoin"))
@@ -44,6 +56,34 @@ public class CoinDeskControllerTest {
         .andExpect(jsonPath("$.bpi.USD.rate_float").isNumber());
   }
 
+  @Test
+  public void getCoinDeskData_ShouldExposeSnapshotAgeHeader() throws Exception {
+    // Mock service behavior
+    when(coinDeskService.getCurrentBitcoinPriceJson())
+        .thenReturn(SerializedJson.of(objectMapper, createMockCoinDeskResponse()));
+    when(coinDeskService.getSnapshotAge()).thenReturn(Optional.of(Duration.ofSeconds(42)));
+
+    // Perform the test
+    mockMvc
+        .perform(get("/api/v1/coindesk").contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isOk())
+        .andExpect(header().string(CoinDeskController.SNAPSHOT_AGE_HEADER, "42"));
+  }
+
+  @Test
+  public void getCoinDeskData_ShouldReturnNotModifiedForMatchingETag() throws Exception {
+    // Mock service behavior
+    SerializedJson json = SerializedJson.of(objectMapper, createMockCoinDeskResponse());
+    when(coinDeskService.getCurrentBitcoinPriceJson()).thenReturn(json);
+
+    // Perform the test
+    mockMvc
+        .perform(get("/api/v1/coindesk").header(HttpHeaders.IF_NONE_MATCH, json.getETag()))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, json.getETag()))
+        .andExpect(content().bytes(new byte[0]));
+  }
+
   private CoinDeskResponse createMockCoinDeskResponse() {
     CoinDeskResponse response = new CoinDeskResponse();
 
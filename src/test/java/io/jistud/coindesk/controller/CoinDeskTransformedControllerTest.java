@@ -6,14 +6,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.jistud.coindesk.dto.CoinDeskTransformedResponse;
+import io.jistud.coindesk.dto.SerializedJson;
 import io.jistud.coindesk.service.CoinDeskService;
 
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -23,6 +28,9 @@ public class CoinDeskTransformedControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockBean
     private CoinDeskService coinDeskService;
 
@@ -32,7 +40,8 @@ public class CoinDeskTransformedControllerTest {
         CoinDeskTransformedResponse mockResponse = createMockTransformedResponse(null);
         
         // Mock service behavior
-        when(coinDeskService.getTransformedCoinDeskData(null)).thenReturn(mockResponse);
+        when(coinDeskService.getTransformedCoinDeskDataJson(null))
+                .thenReturn(SerializedJson.of(objectMapper, mockResponse));
 
         // Perform the test
         mockMvc.perform(get("/api/v1/transformed-coindesk")
@@ -52,7 +61,8 @@ public class CoinDeskTransformedControllerTest {
         CoinDeskTransformedResponse mockResponse = createMockTransformedResponse(langCode);
         
         // Mock service behavior
-        when(coinDeskService.getTransformedCoinDeskData(langCode)).thenReturn(mockResponse);
+        when(coinDeskService.getTransformedCoinDeskDataJson(langCode))
+                .thenReturn(SerializedJson.of(objectMapper, mockResponse));
 
         // Perform the test
         mockMvc.perform(get("/api/v1/transformed-coindesk")
@@ -64,6 +74,20 @@ public class CoinDeskTransformedControllerTest {
                 .andExpect(jsonPath("$.updateTime").exists());
     }
     
+    @Test
+    public void getTransformedCoinDeskData_MatchingETag_ShouldReturnNotModified() throws Exception {
+        // Prepare test data
+        SerializedJson json = SerializedJson.of(objectMapper, createMockTransformedResponse("zh-TW"));
+        when(coinDeskService.getTransformedCoinDeskDataJson("zh-TW")).thenReturn(json);
+
+        // Perform the test
+        mockMvc.perform(get("/api/v1/transformed-coindesk")
+                .param("lang", "zh-TW")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/" + json.getETag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, json.getETag()));
+    }
+
     private CoinDeskTransformedResponse createMockTransformedResponse(String langCode) {
         CoinDeskTransformedResponse response = new CoinDeskTransformedResponse();
         response.setName("Bitcoin");
@@ -0,0 +1,119 @@
+package io.jistud.coindesk.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Checks against the migrated H2 schema which rows the batch writes draw sequence ids for. */
+@SpringBootTest
+@ActiveProfiles("test")
+public class CoinBatchRepositoryTest {
+
+  @Autowired private CoinBatchRepository coinBatchRepository;
+
+  @Autowired private CoinRepository coinRepository;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transactionTemplate;
+
+  private Long coinId;
+
+  @BeforeEach
+  void setUp() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    coinId =
+        transactionTemplate.execute(
+            status -> {
+              Long id =
+                  coinBatchRepository
+                      .insertCoins(Collections.singletonList("Bitcoin"))
+                      .get("Bitcoin");
+              upsert(id, names("ビットコイン", null));
+              return id;
+            });
+  }
+
+  @AfterEach
+  void tearDown() {
+    coinRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Should update existing localized names without drawing ids")
+  void shouldNotAllocateIdsForUpdates() {
+    long before = nextI18nSequenceValue();
+
+    transactionTemplate.executeWithoutResult(status -> upsert(coinId, names("BTC", null)));
+
+    // Only the probe itself has drawn from the sequence in between
+    assertEquals(before + CoinBatchRepository.ID_ALLOCATION_SIZE, nextI18nSequenceValue());
+    assertEquals("BTC", i18nName("ja"));
+  }
+
+  @Test
+  @DisplayName("Should draw ids only for the localized names that are inserted")
+  void shouldAllocateIdsForInsertsOnly() {
+    long before = nextI18nSequenceValue();
+
+    transactionTemplate.executeWithoutResult(status -> upsert(coinId, names("BTC", "比特幣")));
+
+    assertEquals(before + 2 * CoinBatchRepository.ID_ALLOCATION_SIZE, nextI18nSequenceValue());
+    assertEquals("BTC", i18nName("ja"));
+    assertEquals("比特幣", i18nName("zh-TW"));
+  }
+
+  @Test
+  @DisplayName("Should skip names that already exist instead of failing the batch")
+  void shouldSkipExistingNamesOnInsert() {
+    Map<String, Long> created =
+        transactionTemplate.execute(
+            status -> coinBatchRepository.insertCoins(Arrays.asList("Bitcoin", "Litecoin")));
+
+    assertEquals(Collections.singleton("Litecoin"), created.keySet());
+    assertEquals(
+        Collections.singletonMap("Bitcoin", coinId),
+        coinBatchRepository.findIdsByNames(Collections.singleton("Bitcoin")));
+  }
+
+  private void upsert(Long id, Map<String, String> names) {
+    coinBatchRepository.upsertI18nNames(Collections.singletonMap(id, names));
+  }
+
+  private static Map<String, String> names(String japanese, String chinese) {
+    Map<String, String> names = new HashMap<>();
+    names.put("ja", japanese);
+    if (chinese != null) {
+      names.put("zh-TW", chinese);
+    }
+    return names;
+  }
+
+  private long nextI18nSequenceValue() {
+    return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR coin_i18n_seq", Long.class);
+  }
+
+  private String i18nName(String langCode) {
+    return jdbcTemplate.queryForObject(
+        "SELECT name FROM coin_i18n WHERE coin_id = ? AND lang_code = ?",
+        String.class,
+        coinId,
+        langCode);
+  }
+}
@@ -0,0 +1,60 @@
+package io.jistud.coindesk.repository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import io.jistud.coindesk.entity.Coin;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Runs the native name lookups against the migrated H2 schema and its generated columns. */
+@SpringBootTest
+@ActiveProfiles("test")
+public class CoinRepositoryTest {
+
+  @Autowired private CoinRepository coinRepository;
+
+  @BeforeEach
+  void setUp() {
+    coinRepository.save(new Coin("Bitcoin"));
+    coinRepository.save(new Coin("Bitcoin Cash"));
+    coinRepository.save(new Coin("Ethereum"));
+    coinRepository.save(new Coin("100% Coin"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    coinRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Should find names containing the text in any case through name_lower")
+  void shouldFindByNameContainingIgnoreCase() {
+    assertEquals(
+        Arrays.asList("Bitcoin", "Bitcoin Cash"),
+        names(coinRepository.findByNameContainingIgnoreCase("TCOI")));
+  }
+
+  @Test
+  @DisplayName("Should match LIKE wildcards in the text literally")
+  void shouldMatchWildcardsLiterally() {
+    assertEquals(
+        Collections.singletonList("100% Coin"),
+        names(coinRepository.findByNameContainingIgnoreCase("0%")));
+    assertTrue(coinRepository.findByNameContainingIgnoreCase("b_t").isEmpty());
+  }
+
+  private static List<String> names(List<Coin> coins) {
+    return coins.stream().map(Coin::getName).sorted().collect(Collectors.toList());
+  }
+}
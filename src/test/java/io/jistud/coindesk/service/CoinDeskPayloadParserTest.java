@@ -0,0 +1,89 @@
+package io.jistud.coindesk.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.jistud.coindesk.dto.CoinDeskResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoinDeskPayloadParserTest {
+
+  private static final String PAYLOAD =
+      "{"
+          + "\"time\": {"
+          + "\"updated\": \"Feb 21, 2023 14:22:00 UTC\","
+          + "\"updatedISO\": \"2023-02-21T14:22:00+00:00\","
+          + "\"updateduk\": \"Feb 21, 2023 at 14:22 GMT\""
+          + "},"
+          + "\"disclaimer\": \"This data was produced from the CoinDesk Bitcoin Price Index (USD).\","
+          + "\"chartName\": \"Bitcoin\","
+          + "\"unknown\": {\"nested\": [1, 2, 3]},"
+          + "\"bpi\": {"
+          + "\"USD\": {"
+          + "\"code\": \"USD\","
+          + "\"symbol\": \"&#36;\","
+          + "\"rate\": \"24,870.9308\","
+          + "\"description\": \"United States Dollar\","
+          + "\"rate_float\": 24870.9308"
+          + "},"
+          + "\"JPY\": {"
+          + "\"code\": \"JPY\","
+          + "\"symbol\": \"&yen;\","
+          + "\"rate\": \"3,358,571.49\","
+          + "\"description\": \"Japanese Yen\","
+          + "\"rate_float\": 3358571.4912"
+          + "}"
+          + "}"
+          + "}";
+
+  private final CoinDeskPayloadParser parser = new CoinDeskPayloadParser();
+
+  @Test
+  @DisplayName("Should parse rates into primitive doubles with canonical currency codes")
+  void shouldParseRatesWithCanonicalCodes() throws IOException {
+    PriceSnapshot snapshot =
+        parser.parse(new ByteArrayInputStream(PAYLOAD.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals("Bitcoin", snapshot.getChartName());
+    assertEquals("2023-02-21T14:22:00+00:00", snapshot.getUpdatedIso());
+    assertEquals(2, snapshot.size());
+    assertSame("USD", snapshot.code(0));
+    assertEquals("JPY", snapshot.code(1));
+    assertEquals(24870.9308, snapshot.rate("USD"));
+    assertEquals(3358571.4912, snapshot.rate(1));
+    assertTrue(Double.isNaN(snapshot.rate("GBP")));
+  }
+
+  @Test
+  @DisplayName("Should materialize a response equivalent to Jackson databind")
+  void shouldMaterializeEquivalentResponse() throws IOException {
+    CoinDeskResponse response =
+        parser.parse(PAYLOAD.getBytes(StandardCharsets.UTF_8)).toResponse();
+
+    assertEquals("Feb 21, 2023 14:22:00 UTC", response.getTime().getUpdated());
+    assertEquals("Feb 21, 2023 at 14:22 GMT", response.getTime().getUpdateduk());
+    assertEquals(
+        "This data was produced from the CoinDesk Bitcoin Price Index (USD).",
+        response.getDisclaimer());
+    CoinDeskResponse.CurrencyInfo usd = response.getBpi().get("USD");
+    assertEquals("&#36;", usd.getSymbol());
+    assertEquals("24,870.9308", usd.getRate());
+    assertEquals("United States Dollar", usd.getDescription());
+    assertEquals(24870.9308, usd.getRateFloat());
+  }
+
+  @Test
+  @DisplayName("Should reject truncated payloads")
+  void shouldRejectTruncatedPayloads() {
+    byte[] truncated =
+        "{\"time\": {\"updated\": \"Feb 21, 2023 14:22:00 UTC\"},"
+            .getBytes(StandardCharsets.UTF_8);
+
+    assertThrows(IOException.class, () -> parser.parse(truncated));
+  }
+}
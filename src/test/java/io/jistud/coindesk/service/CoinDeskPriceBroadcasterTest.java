@@ -0,0 +1,257 @@
+package io.jistud.coindesk.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import io.jistud.coindesk.config.CoinDeskProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoinDeskPriceBroadcasterTest {
+
+  private static final int SUBSCRIBERS = 5_000;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CoinDeskPriceBroadcaster broadcaster;
+
+  @BeforeEach
+  void setUp() {
+    CoinDeskProperties properties = new CoinDeskProperties();
+    properties.getStream().setMaxSubscribers(SUBSCRIBERS + 10);
+    properties.getStream().setFanoutThreads(4);
+    properties.getStream().setMaxSkippedUpdates(2);
+    meterRegistry = new SimpleMeterRegistry();
+    broadcaster =
+        new CoinDeskPriceBroadcaster(
+            Jackson2ObjectMapperBuilder.json().build(), properties, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    broadcaster.destroy();
+  }
+
+  @Test
+  @DisplayName("Should deliver every update to thousands of subscribers from a small pool")
+  void shouldFanOutToThousandsOfSubscribers() throws InterruptedException {
+    // Arrange
+    List<RecordingSink> sinks = new ArrayList<>();
+    for (int i = 0; i < SUBSCRIBERS; i++) {
+      RecordingSink sink = new RecordingSink();
+      sinks.add(sink);
+      assertTrue(broadcaster.subscribe(sink));
+    }
+
+    // Act
+    PriceSnapshot first = price("2023-02-21T14:22:00+00:00", 24870.9308, 20648.0489);
+    PriceSnapshot second = price("2023-02-21T14:23:00+00:00", 24871.5, 20648.0489);
+    broadcaster.onSnapshotUpdated(new PriceSnapshotUpdatedEvent(null, first));
+    assertTrue(broadcaster.awaitQuiescence(10, TimeUnit.SECONDS));
+    broadcaster.onSnapshotUpdated(new PriceSnapshotUpdatedEvent(first, second));
+    assertTrue(broadcaster.awaitQuiescence(10, TimeUnit.SECONDS));
+
+    // Assert
+    for (RecordingSink sink : sinks) {
+      assertEquals(2, sink.events.size());
+      assertEquals(CoinDeskPriceBroadcaster.SNAPSHOT_EVENT, sink.events.get(0));
+      assertEquals(CoinDeskPriceBroadcaster.RATES_EVENT, sink.events.get(1));
+      assertTrue(sink.payloads.get(1).contains("\"USD\":24871.5"));
+      assertFalse(sink.payloads.get(1).contains("GBP"), "unchanged rates are not sent");
+    }
+    assertEquals(SUBSCRIBERS, meterRegistry.get("coindesk.stream.subscribers").gauge().value());
+    assertEquals(
+        2L * SUBSCRIBERS, meterRegistry.get("coindesk.stream.fanout.latency").timer().count());
+  }
+
+  @Test
+  @DisplayName("Should conflate updates for a slow subscriber and evict it when it falls behind")
+  void shouldEvictSlowSubscriber() throws InterruptedException {
+    // Arrange
+    BlockingSink slow = new BlockingSink();
+    RecordingSink fast = new RecordingSink();
+    broadcaster.subscribe(slow);
+    broadcaster.subscribe(fast);
+
+    // Act: the slow sink blocks on its first write while further updates arrive
+    PriceSnapshot previous = price("2023-02-21T14:22:00+00:00", 24870.0, 20648.0);
+    broadcaster.onSnapshotUpdated(new PriceSnapshotUpdatedEvent(null, previous));
+    assertTrue(slow.writing.await(5, TimeUnit.SECONDS));
+    for (int i = 1; i <= 4; i++) {
+      awaitEvents(fast, i);
+      PriceSnapshot next = price("2023-02-21T14:3" + i + ":00+00:00", 24870.0 + i, 20648.0);
+      broadcaster.onSnapshotUpdated(new PriceSnapshotUpdatedEvent(previous, next));
+      previous = next;
+    }
+    slow.release.countDown();
+    assertTrue(broadcaster.awaitQuiescence(10, TimeUnit.SECONDS));
+
+    // Assert
+    assertTrue(slow.closed.get());
+    assertEquals(1, broadcaster.getSubscriberCount());
+    assertEquals(5, fast.events.size());
+    assertEquals(1.0, meterRegistry.get("coindesk.stream.evictions").counter().count());
+  }
+
+  @Test
+  @DisplayName("Should evict a subscriber whose write fails")
+  void shouldEvictFailedSubscriber() throws InterruptedException {
+    // Arrange
+    RecordingSink failing =
+        new RecordingSink() {
+          @Override
+          public void send(String event, byte[] json) throws IOException {
+            throw new IOException("Broken pipe");
+          }
+        };
+    broadcaster.subscribe(failing);
+
+    // Act
+    broadcaster.onSnapshotUpdated(
+        new PriceSnapshotUpdatedEvent(null, price("2023-02-21T14:22:00+00:00", 1.0, 2.0)));
+    assertTrue(broadcaster.awaitQuiescence(10, TimeUnit.SECONDS));
+
+    // Assert
+    assertTrue(failing.closed.get());
+    assertEquals(0, broadcaster.getSubscriberCount());
+  }
+
+  @Test
+  @DisplayName("Should keep delivering while writes to clients that stopped reading are blocked")
+  void shouldEvictSubscribersWithBlockedWrites() throws InterruptedException {
+    // Arrange: as many stuck clients as fan-out threads, and a short write timeout
+    broadcaster.destroy();
+    CoinDeskProperties properties = new CoinDeskProperties();
+    properties.getStream().setFanoutThreads(2);
+    properties.getStream().setWriteTimeout(Duration.ofMillis(100));
+    meterRegistry = new SimpleMeterRegistry();
+    broadcaster =
+        new CoinDeskPriceBroadcaster(
+            Jackson2ObjectMapperBuilder.json().build(), properties, meterRegistry);
+    BlockingSink stuck1 = new BlockingSink();
+    BlockingSink stuck2 = new BlockingSink();
+    RecordingSink fast = new RecordingSink();
+    broadcaster.subscribe(stuck1);
+    broadcaster.subscribe(stuck2);
+    broadcaster.subscribe(fast);
+
+    // Act
+    PriceSnapshot first = price("2023-02-21T14:22:00+00:00", 24870.0, 20648.0);
+    PriceSnapshot second = price("2023-02-21T14:23:00+00:00", 24871.0, 20648.0);
+    broadcaster.onSnapshotUpdated(new PriceSnapshotUpdatedEvent(null, first));
+    assertTrue(stuck1.writing.await(5, TimeUnit.SECONDS));
+    assertTrue(stuck2.writing.await(5, TimeUnit.SECONDS));
+    awaitEvents(fast, 1);
+    broadcaster.onSnapshotUpdated(new PriceSnapshotUpdatedEvent(first, second));
+    awaitEvents(fast, 2);
+
+    // Assert
+    assertEquals(1, broadcaster.getSubscriberCount());
+    assertEquals(2.0, meterRegistry.get("coindesk.stream.evictions").counter().count());
+    assertFalse(stuck1.closed.get(), "closing waits for the blocked write");
+    stuck1.release.countDown();
+    stuck2.release.countDown();
+    assertTrue(broadcaster.awaitQuiescence(10, TimeUnit.SECONDS));
+    assertTrue(stuck1.closed.get());
+    assertTrue(stuck2.closed.get());
+  }
+
+  @Test
+  @DisplayName("Should send a snapshot, not a diff, to a subscriber that has none yet")
+  void shouldStartEverySubscriberWithSnapshot() throws InterruptedException {
+    // Arrange: the subscriber joins before the broadcaster has seen any snapshot
+    RecordingSink sink = new RecordingSink();
+    broadcaster.subscribe(sink);
+
+    // Act
+    broadcaster.onSnapshotUpdated(
+        new PriceSnapshotUpdatedEvent(
+            price("2023-02-21T14:22:00+00:00", 1.0, 2.0),
+            price("2023-02-21T14:23:00+00:00", 1.5, 2.0)));
+    assertTrue(broadcaster.awaitQuiescence(10, TimeUnit.SECONDS));
+
+    // Assert
+    assertEquals(1, sink.events.size());
+    assertEquals(CoinDeskPriceBroadcaster.SNAPSHOT_EVENT, sink.events.get(0));
+  }
+
+  @Test
+  @DisplayName("Should refuse subscribers beyond the configured limit")
+  void shouldRefuseSubscribersBeyondLimit() {
+    for (int i = 0; i < SUBSCRIBERS + 10; i++) {
+      assertTrue(broadcaster.subscribe(new RecordingSink()));
+    }
+    assertFalse(broadcaster.subscribe(new RecordingSink()));
+  }
+
+  private static void awaitEvents(RecordingSink sink, int count) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (sink.events.size() < count && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(count, sink.events.size());
+  }
+
+  private static PriceSnapshot price(String updatedIso, double usd, double gbp) {
+    String[] none = new String[2];
+    return new PriceSnapshot(
+        null,
+        updatedIso,
+        null,
+        true,
+        null,
+        "Bitcoin",
+        new String[] {"USD", "GBP"},
+        none,
+        none,
+        none,
+        new double[] {usd, gbp});
+  }
+
+  private static class RecordingSink implements CoinDeskPriceBroadcaster.Sink {
+    final List<String> events = new CopyOnWriteArrayList<>();
+    final List<String> payloads = new CopyOnWriteArrayList<>();
+    final AtomicBoolean closed = new AtomicBoolean();
+
+    @Override
+    public void send(String event, byte[] json) throws IOException {
+      events.add(event);
+      payloads.add(new String(json, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void close() {
+      closed.set(true);
+    }
+  }
+
+  private static class BlockingSink extends RecordingSink {
+    final CountDownLatch writing = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    public void send(String event, byte[] json) throws IOException {
+      writing.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+      super.send(event, json);
+    }
+  }
+}
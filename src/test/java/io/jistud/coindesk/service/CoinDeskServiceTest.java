@@ -1,18 +1,45 @@
 package io.jistud.coindesk.service;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import io.jistud.coindesk.config.CoinDeskProperties;
 import io.jistud.coindesk.dto.CoinDeskResponse;
+import io.jistud.coindesk.dto.CoinDeskTransformedResponse;
+import io.jistud.coindesk.dto.SerializedJson;
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.entity.CoinI18n;
+import io.jistud.coindesk.repository.CoinRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,17 +51,64 @@ public class CoinDeskServiceTest {
 
   private static final String COINDESK_API_URL = "https://kengp3.github.io/blog/coindesk.json";
 
+  private static final String MOCK_RESPONSE =
+      "{"
+          + "\"time\": {"
+          + "\"updated\": \"Feb 21, 2023 14:22:00 UTC\","
+          + "\"updatedISO\": \"2023-02-21T14:22:00+00:00\","
+          + "\"updateduk\": \"Feb 21, 2023 at 14:22 GMT\""
+          + "},"
+          + "\"disclaimer\": \"This data was produced from the CoinDesk Bitcoin Price Index (USD).\","
+          + "\"chartName\": \"Bitcoin\","
+          + "\"bpi\": {"
+          + "\"USD\": {"
+          + "\"code\": \"USD\","
+          + "\"symbol\": \"&#36;\","
+          + "\"rate\": \"24,870.9308\","
+          + "\"description\": \"United States Dollar\","
+          + "\"rate_float\": 24870.9308"
+          + "}"
+          + "}"
+          + "}";
+
   @Mock private RestTemplate restTemplate;
 
+  @Mock private CoinRepository coinRepository;
+
+  private RestTemplate restTemplateInstance;
   private MockRestServiceServer mockServer;
+  private SimpleMeterRegistry meterRegistry;
+  private CoinI18nIndexHolder indexHolder;
+  private List<Object> publishedEvents;
   private CoinDeskService coinDeskService;
 
   @BeforeEach
   void setUp() {
-    RestTemplate restTemplateInstance = new RestTemplate();
+    restTemplateInstance = new RestTemplate();
     mockServer = MockRestServiceServer.createServer(restTemplateInstance);
+    meterRegistry = new SimpleMeterRegistry();
+    indexHolder = new CoinI18nIndexHolder(coinRepository);
+    publishedEvents = new CopyOnWriteArrayList<>();
+
+    coinDeskService = createService(Duration.ofMinutes(1));
+  }
 
-    coinDeskService = new CoinDeskServiceImpl(restTemplateInstance);
+  private CoinDeskService createService(Duration cacheTtl) {
+    return createService(cacheTtl, false);
+  }
+
+  private CoinDeskService createService(Duration cacheTtl, boolean backgroundRefresh) {
+    CoinDeskProperties properties = new CoinDeskProperties();
+    properties.getCache().setTtl(cacheTtl);
+    properties.getPoller().setEnabled(backgroundRefresh);
+    return new CoinDeskServiceImpl(
+        restTemplateInstance,
+        new CoinDeskPayloadParser(),
+        new CoinDeskResponseTransformer(indexHolder),
+        properties,
+        Jackson2ObjectMapperBuilder.json().build(),
+        publishedEvents::add,
+        meterRegistry);
   }
 
   @Test
@@ -116,6 +190,7 @@ public class CoinDeskServiceTest {
 
     // Verify mock server expectations were met
     mockServer.verify();
+    assertEquals(1.0, upstreamErrors("server_error"));
   }
 
   @Test
@@ -138,5 +213,314 @@ public class CoinDeskServiceTest {
 
     // Verify mock server expectations were met
     mockServer.verify();
+    assertEquals(1.0, upstreamErrors("invalid_response"));
+    assertEquals(0.0, upstreamErrors("server_error"));
+  }
+
+  @Test
+  @DisplayName("Should serve cached price within TTL without calling the API again")
+  void shouldServeCachedPriceWithinTtl() {
+    // Arrange
+    mockServer
+        .expect(ExpectedCount.once(), requestTo(COINDESK_API_URL))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(withSuccess(MOCK_RESPONSE, MediaType.APPLICATION_JSON));
+
+    // Act
+    CoinDeskResponse first = coinDeskService.getCurrentBitcoinPrice();
+    CoinDeskResponse second = coinDeskService.getCurrentBitcoinPrice();
+
+    // Assert
+    // Each call builds its own DTO from the one cached snapshot
+    assertNotSame(first, second);
+    assertEquals(
+        first.getBpi().get("USD").getRateFloat(), second.getBpi().get("USD").getRateFloat());
+    assertSame(
+        coinDeskService.getCurrentBitcoinPriceJson(), coinDeskService.getCurrentBitcoinPriceJson());
+    assertEquals(
+        1.0, meterRegistry.get("coindesk.price.cache").tag("result", "hit").counter().count());
+    assertEquals(
+        1.0, meterRegistry.get("coindesk.price.cache").tag("result", "miss").counter().count());
+    assertEquals(1L, meterRegistry.get("coindesk.price.refresh").timer().count());
+    mockServer.verify();
+  }
+
+  @Test
+  @DisplayName("Should serialize each snapshot once and keep its ETag across revalidation")
+  void shouldSerializeSnapshotOnce() throws InterruptedException {
+    // Arrange
+    coinDeskService = createService(Duration.ofMillis(1));
+    HttpHeaders validators = new HttpHeaders();
+    validators.setETag("\"v1\"");
+    mockServer
+        .expect(requestTo(COINDESK_API_URL))
+        .andRespond(withSuccess(MOCK_RESPONSE, MediaType.APPLICATION_JSON).headers(validators));
+    mockServer
+        .expect(requestTo(COINDESK_API_URL))
+        .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(validators));
+
+    // Act
+    SerializedJson first = coinDeskService.getCurrentBitcoinPriceJson();
+    Thread.sleep(10);
+    SerializedJson revalidated = coinDeskService.getCurrentBitcoinPriceJson();
+
+    // Assert
+    assertSame(first, revalidated);
+    assertTrue(new String(first.getBody(), StandardCharsets.UTF_8).contains("\"rate_float\""));
+    assertEquals(1, publishedEvents.size(), "a revalidated snapshot is not announced");
+    assertTrue(first.matches(first.getETag()));
+    mockServer.verify();
+  }
+
+  @Test
+  @DisplayName("Should refresh the price once the TTL has expired")
+  void shouldRefreshPriceAfterTtlExpires() throws InterruptedException {
+    // Arrange
+    coinDeskService = createService(Duration.ofMillis(1));
+    mockServer
+        .expect(ExpectedCount.times(2), requestTo(COINDESK_API_URL))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(withSuccess(MOCK_RESPONSE, MediaType.APPLICATION_JSON));
+
+    // Act
+    coinDeskService.getCurrentBitcoinPrice();
+    Thread.sleep(10);
+    coinDeskService.getCurrentBitcoinPrice();
+
+    // Assert
+    assertEquals(
+        2.0, meterRegistry.get("coindesk.price.cache").tag("result", "miss").counter().count());
+    mockServer.verify();
+  }
+
+  @Test
+  @DisplayName("Should make a single upstream call for concurrent callers")
+  void shouldMakeSingleUpstreamCallForConcurrentCallers() throws Exception {
+    // Arrange
+    mockServer
+        .expect(ExpectedCount.once(), requestTo(COINDESK_API_URL))
+        .andExpect(method(HttpMethod.GET))
+        .andRespond(withSuccess(MOCK_RESPONSE, MediaType.APPLICATION_JSON));
+
+    int callers = 16;
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<SerializedJson>> results = new ArrayList<>();
+
+    // Act
+    try {
+      for (int i = 0; i < callers; i++) {
+        Callable<SerializedJson> call =
+            () -> {
+              start.await();
+              return coinDeskService.getCurrentBitcoinPriceJson();
+            };
+        results.add(executor.submit(call));
+      }
+      start.countDown();
+
+      // Assert
+      SerializedJson expected = results.get(0).get(5, TimeUnit.SECONDS);
+      for (Future<SerializedJson> result : results) {
+        assertSame(expected, result.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(
+        1.0, meterRegistry.get("coindesk.price.cache").tag("result", "miss").counter().count());
+    mockServer.verify();
+  }
+
+  @Test
+  @DisplayName("Should keep serving the last good snapshot when a refresh fails")
+  void shouldServeLastGoodSnapshotWhenRefreshFails() throws InterruptedException {
+    // Arrange
+    coinDeskService = createService(Duration.ofMillis(1));
+    mockServer
+        .expect(requestTo(COINDESK_API_URL))
+        .andRespond(withSuccess(MOCK_RESPONSE, MediaType.APPLICATION_JSON));
+    mockServer.expect(requestTo(COINDESK_API_URL)).andRespond(withServerError());
+
+    // Act
+    SerializedJson first = coinDeskService.getCurrentBitcoinPriceJson();
+    Thread.sleep(10);
+    SerializedJson second = coinDeskService.getCurrentBitcoinPriceJson();
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(
+        1.0, meterRegistry.get("coindesk.price.cache").tag("result", "stale").counter().count());
+    assertTrue(coinDeskService.getSnapshotAge().isPresent());
+    mockServer.verify();
+  }
+
+  @Test
+  @DisplayName("Should serve the polled snapshot without calling the API when polling is enabled")
+  void shouldServePolledSnapshotWithoutBlocking() throws InterruptedException {
+    // Arrange
+    coinDeskService = createService(Duration.ofMillis(1), true);
+    mockServer
+        .expect(ExpectedCount.once(), requestTo(COINDESK_API_URL))
+        .andRespond(withSuccess(MOCK_RESPONSE, MediaType.APPLICATION_JSON));
+    assertFalse(coinDeskService.getSnapshotAge().isPresent());
+
+    // Act
+    coinDeskService.refreshSnapshot();
+    Thread.sleep(10);
+    CoinDeskResponse response = coinDeskService.getCurrentBitcoinPrice();
+
+    // Assert
+    assertEquals("Bitcoin", response.getChartName());
+    assertTrue(coinDeskService.getSnapshotAge().get().toMillis() >= 10);
+    assertTrue(meterRegistry.get("coindesk.price.snapshot.age").gauge().value() > 0);
+    mockServer.verify();
+  }
+
+  @Test
+  @DisplayName("Should revalidate with the ETag and reuse the snapshot on 304 Not Modified")
+  void shouldReuseSnapshotOnNotModified() throws InterruptedException {
+    // Arrange
+    coinDeskService = createService(Duration.ofMillis(1));
+    HttpHeaders validators = new HttpHeaders();
+    validators.setETag("\"v1\"");
+    mockServer
+        .expect(requestTo(COINDESK_API_URL))
+        .andExpect(header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+        .andRespond(
+            withSuccess(MOCK_RESPONSE, MediaType.APPLICATION_JSON).headers(validators));
+    mockServer
+        .expect(requestTo(COINDESK_API_URL))
+        .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+        .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(validators));
+
+    // Act
+    SerializedJson first = coinDeskService.getCurrentBitcoinPriceJson();
+    Thread.sleep(10);
+    SerializedJson second = coinDeskService.getCurrentBitcoinPriceJson();
+
+    // Assert
+    assertSame(first, second);
+    assertTrue(coinDeskService.getSnapshotAge().get().toMillis() < 10);
+    assertEquals(
+        1.0,
+        meterRegistry.get("coindesk.upstream.responses").tag("status", "200").counter().count());
+    assertEquals(
+        1.0,
+        meterRegistry.get("coindesk.upstream.responses").tag("status", "304").counter().count());
+    mockServer.verify();
+  }
+
+  @Test
+  @DisplayName("Should decode gzip responses and count compressed bytes")
+  void shouldDecodeGzipResponses() throws IOException {
+    // Arrange
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+      gzip.write(MOCK_RESPONSE.getBytes(StandardCharsets.UTF_8));
+    }
+    byte[] body = compressed.toByteArray();
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+    mockServer
+        .expect(requestTo(COINDESK_API_URL))
+        .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+
+    // Act
+    CoinDeskResponse response = coinDeskService.getCurrentBitcoinPrice();
+
+    // Assert
+    assertEquals(24870.9308, response.getBpi().get("USD").getRateFloat());
+    assertEquals(body.length, meterRegistry.get("coindesk.upstream.received").counter().count());
+    mockServer.verify();
+  }
+
+  @Test
+  @DisplayName("Should build each language's transformed response once per snapshot")
+  void shouldCacheTransformedResponsePerLanguage() {
+    // Arrange
+    Coin bitcoin = new Coin("Bitcoin");
+    bitcoin.setId(1L);
+    bitcoin.getI18nNames().add(new CoinI18n(bitcoin, "zh-TW", "比特幣"));
+    when(coinRepository.findAllWithI18nNames()).thenReturn(Collections.singletonList(bitcoin));
+    indexHolder.reload();
+    mockServer
+        .expect(ExpectedCount.once(), requestTo(COINDESK_API_URL))
+        .andRespond(withSuccess(MOCK_RESPONSE, MediaType.APPLICATION_JSON));
+
+    // Act
+    CoinDeskTransformedResponse first = coinDeskService.getTransformedCoinDeskData("zh-TW");
+    CoinDeskTransformedResponse second = coinDeskService.getTransformedCoinDeskData("zh-TW");
+    CoinDeskTransformedResponse defaultName = coinDeskService.getTransformedCoinDeskData(null);
+
+    // Assert
+    assertSame(first, second);
+    assertEquals("比特幣", first.getLocalizedName());
+    assertEquals("Bitcoin", defaultName.getLocalizedName());
+    assertEquals(
+        1.0,
+        meterRegistry.get("coindesk.transformed.cache").tag("result", "hit").counter().count());
+    assertEquals(
+        2.0,
+        meterRegistry.get("coindesk.transformed.cache").tag("result", "miss").counter().count());
+    mockServer.verify();
+  }
+
+  @Test
+  @DisplayName("Should resolve localized names along the language fallback chain")
+  void shouldResolveLocalizedNameFallbackChain() {
+    // Arrange
+    Coin bitcoin = new Coin("Bitcoin");
+    bitcoin.setId(1L);
+    bitcoin.getI18nNames().add(new CoinI18n(bitcoin, "zh", "比特币"));
+    when(coinRepository.findAllWithI18nNames()).thenReturn(Collections.singletonList(bitcoin));
+    indexHolder.reload();
+    mockServer
+        .expect(ExpectedCount.once(), requestTo(COINDESK_API_URL))
+        .andRespond(withSuccess(MOCK_RESPONSE, MediaType.APPLICATION_JSON));
+
+    // Act & Assert
+    assertEquals("比特币", coinDeskService.getTransformedCoinDeskData("zh-TW").getLocalizedName());
+    assertEquals("比特币", coinDeskService.getTransformedCoinDeskData("zh").getLocalizedName());
+    assertEquals("Bitcoin", coinDeskService.getTransformedCoinDeskData("ja").getLocalizedName());
+    verify(coinRepository, times(1)).findAllWithI18nNames();
+    mockServer.verify();
+  }
+
+  @Test
+  @DisplayName("Should rebuild transformed responses after a coin change is committed")
+  void shouldInvalidateTransformedResponsesOnCoinChange() {
+    // Arrange
+    Coin bitcoin = new Coin("Bitcoin");
+    bitcoin.setId(1L);
+    bitcoin.getI18nNames().add(new CoinI18n(bitcoin, "zh-TW", "比特幣"));
+    Coin renamed = new Coin("Bitcoin");
+    renamed.setId(1L);
+    renamed.getI18nNames().add(new CoinI18n(renamed, "zh-TW", "比特幣-更新"));
+    when(coinRepository.findAllWithI18nNames()).thenReturn(Collections.singletonList(bitcoin));
+    when(coinRepository.findAllWithI18nNamesByIdIn(Collections.singleton(1L)))
+        .thenReturn(Collections.singletonList(renamed));
+    indexHolder.reload();
+    mockServer
+        .expect(ExpectedCount.once(), requestTo(COINDESK_API_URL))
+        .andRespond(withSuccess(MOCK_RESPONSE, MediaType.APPLICATION_JSON));
+
+    // Act
+    CoinDeskTransformedResponse before = coinDeskService.getTransformedCoinDeskData("zh-TW");
+    indexHolder.onCoinChanged(new CoinChangedEvent(1L));
+    CoinDeskTransformedResponse after = coinDeskService.getTransformedCoinDeskData("zh-TW");
+
+    // Assert
+    assertEquals("比特幣", before.getLocalizedName());
+    assertEquals("比特幣-更新", after.getLocalizedName());
+    // Only the changed coin is read again, not the whole catalog
+    verify(coinRepository, times(1)).findAllWithI18nNames();
+    verify(coinRepository, times(1)).findAllWithI18nNamesByIdIn(Collections.singleton(1L));
+    mockServer.verify();
+  }
+
+  private double upstreamErrors(String cause) {
+    return meterRegistry.get("coindesk.upstream.errors").tag("cause", cause).counter().count();
   }
 }
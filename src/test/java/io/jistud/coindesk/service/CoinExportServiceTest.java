@@ -0,0 +1,123 @@
+package io.jistud.coindesk.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exports a large catalog seeded into the migrated H2 schema through the repository's cursor, and
+ * checks that the heap the export keeps reachable stays bounded while it runs.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class CoinExportServiceTest {
+
+  private static final long CATALOG_SIZE = 200_000;
+  // Far above the ids the sequences hand out to other tests
+  private static final long FIRST_ID = 1_000_000_000L;
+  private static final long SAMPLE_EVERY_LINES = 20_000;
+  // Several hundred bytes per row would be retained if the 400,000 rows were held at once
+  private static final long MAX_RETAINED_BYTES = 64L * 1024 * 1024;
+
+  @Autowired private CoinExportService coinExportService;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    // Seeded with plain SQL, so neither the persistence context nor the caches hold the coins
+    String range = " FROM SYSTEM_RANGE(" + FIRST_ID + ", " + (FIRST_ID + CATALOG_SIZE - 1) + ")";
+    jdbcTemplate.update("INSERT INTO coins (id, name) SELECT X, CONCAT('Coin ', X)" + range);
+    jdbcTemplate.update(
+        "INSERT INTO coin_i18n (id, coin_id, lang_code, name)"
+            + " SELECT 2 * X, X, 'en', CONCAT('Coin ', X)"
+            + range);
+    jdbcTemplate.update(
+        "INSERT INTO coin_i18n (id, coin_id, lang_code, name)"
+            + " SELECT 2 * X + 1, X, 'ja', CONCAT('コイン ', X)"
+            + range);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM coin_i18n");
+    jdbcTemplate.update("DELETE FROM coins");
+  }
+
+  @Test
+  @DisplayName("Should export a large seeded catalog without keeping it on the heap")
+  void shouldExportLargeCatalogInBoundedHeap() throws IOException {
+    for (CoinExportFormat format : CoinExportFormat.values()) {
+      // Arrange
+      HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+      long baseline = HeapSamplingOutputStream.reachableHeapBytes();
+
+      // Act
+      long coins = coinExportService.export(format, out);
+
+      // Assert
+      assertEquals(CATALOG_SIZE, coins);
+      assertTrue(out.samples >= 5, format + " took only " + out.samples + " heap samples");
+      long retained = out.peakHeapBytes - baseline;
+      assertTrue(
+          retained < MAX_RETAINED_BYTES,
+          format + " kept " + retained / (1024 * 1024) + " MB reachable while exporting");
+    }
+  }
+
+  /**
+   * Discards what is written, and every few thousand lines collects garbage and records how much
+   * heap is still reachable, i.e. what the export holds on to at that point.
+   */
+  private static class HeapSamplingOutputStream extends OutputStream {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private long lines;
+    private long nextSample = SAMPLE_EVERY_LINES;
+    private long samples;
+    private long peakHeapBytes;
+
+    static long reachableHeapBytes() {
+      System.gc();
+      return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    @Override
+    public void write(int b) {
+      if (b == '\n') {
+        lines++;
+      }
+      sampleIfDue();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      for (int i = off; i < off + len; i++) {
+        if (b[i] == '\n') {
+          lines++;
+        }
+      }
+      sampleIfDue();
+    }
+
+    private void sampleIfDue() {
+      if (lines >= nextSample) {
+        peakHeapBytes = Math.max(peakHeapBytes, reachableHeapBytes());
+        samples++;
+        nextSample = lines + SAMPLE_EVERY_LINES;
+      }
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package io.jistud.coindesk.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import io.jistud.coindesk.repository.CoinExportRow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoinExportWriterTest {
+
+  private static final long CATALOG_SIZE = 1_000_000;
+
+  private CoinExportWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    writer = new CoinExportWriter(Jackson2ObjectMapperBuilder.json().build());
+  }
+
+  @Test
+  @DisplayName("Should group a coin's rows into one NDJSON line")
+  void shouldWriteNdjson() throws IOException {
+    // Arrange
+    Stream<CoinExportRow> rows =
+        Stream.of(
+            row(1L, "Bitcoin", "en", "Bitcoin"),
+            row(1L, "Bitcoin", "zh-TW", "比特幣"),
+            row(2L, "Ethereum", null, null));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // Act
+    long coins = writer.write(rows, CoinExportFormat.NDJSON, out);
+
+    // Assert
+    assertEquals(2, coins);
+    assertEquals(
+        "{\"id\":1,\"name\":\"Bitcoin\",\"i18nNames\":{\"en\":\"Bitcoin\",\"zh-TW\":\"比特幣\"}}\n"
+            + "{\"id\":2,\"name\":\"Ethereum\",\"i18nNames\":{}}\n",
+        new String(out.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("Should write one CSV line per localized name and quote special characters")
+  void shouldWriteCsv() throws IOException {
+    // Arrange
+    Stream<CoinExportRow> rows =
+        Stream.of(
+            row(1L, "Bitcoin", "en", "Bitcoin"),
+            row(1L, "Bitcoin", "es", "Bit, \"coin\""),
+            row(2L, "Ethereum", null, null));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    // Act
+    long coins = writer.write(rows, CoinExportFormat.CSV, out);
+
+    // Assert
+    assertEquals(2, coins);
+    assertEquals(
+        Arrays.asList(
+            CoinExportWriter.CSV_HEADER,
+            "1,Bitcoin,en,Bitcoin",
+            "1,Bitcoin,es,\"Bit, \"\"coin\"\"\"",
+            "2,Ethereum,,"),
+        Arrays.asList(new String(out.toByteArray(), StandardCharsets.UTF_8).split("\r\n")));
+  }
+
+  @Test
+  @DisplayName("Should stream a million coins without holding them in memory")
+  void shouldStreamLargeCatalogIncrementally() throws IOException {
+    for (CoinExportFormat format : CoinExportFormat.values()) {
+      // Arrange: rows are generated on demand, two per coin, like a database cursor
+      LineCountingOutputStream out = new LineCountingOutputStream();
+      long linesPerCoin = format == CoinExportFormat.CSV ? 2 : 1;
+      AtomicLong maxCoinsBehind = new AtomicLong();
+      Stream<CoinExportRow> rows =
+          LongStream.rangeClosed(1, CATALOG_SIZE)
+              .peek(id -> maxCoinsBehind.accumulateAndGet(id - out.lines / linesPerCoin, Math::max))
+              .boxed()
+              .flatMap(
+                  id ->
+                      Stream.of(
+                          row(id, "Coin " + id, "en", "Coin " + id),
+                          row(id, "Coin " + id, "ja", "コイン " + id)));
+
+      // Act
+      long coins = writer.write(rows, format, out);
+
+      // Assert: output keeps pace with input, so only a buffer's worth of coins is ever pending
+      assertEquals(CATALOG_SIZE, coins);
+      assertTrue(out.lines >= CATALOG_SIZE * linesPerCoin, format + " wrote " + out.lines);
+      assertTrue(
+          maxCoinsBehind.get() < 1_000,
+          format + " fell " + maxCoinsBehind.get() + " coins behind its input");
+    }
+  }
+
+  private static CoinExportRow row(Long id, String name, String langCode, String localizedName) {
+    return new CoinExportRow() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public String getName() {
+        return name;
+      }
+
+      @Override
+      public String getLangCode() {
+        return langCode;
+      }
+
+      @Override
+      public String getLocalizedName() {
+        return localizedName;
+      }
+    };
+  }
+
+  /** Discards what is written, counting line breaks. */
+  private static class LineCountingOutputStream extends OutputStream {
+    private long lines;
+
+    @Override
+    public void write(int b) {
+      if (b == '\n') {
+        lines++;
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      long count = lines;
+      for (int i = off; i < off + len; i++) {
+        if (b[i] == '\n') {
+          count++;
+        }
+      }
+      lines = count;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package io.jistud.coindesk.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.entity.CoinI18n;
+import io.jistud.coindesk.repository.CoinRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CoinI18nIndexHolderTest {
+
+  @Mock private CoinRepository coinRepository;
+
+  private CoinI18nIndexHolder indexHolder;
+
+  @BeforeEach
+  void setUp() {
+    indexHolder = new CoinI18nIndexHolder(coinRepository);
+    when(coinRepository.findAllWithI18nNames())
+        .thenReturn(Arrays.asList(coin(1L, "Bitcoin", "比特幣"), coin(2L, "Ethereum", "以太幣")));
+    indexHolder.reload();
+  }
+
+  @Test
+  @DisplayName("Should re-read only the changed coin after a single-coin change")
+  void shouldUpdateChangedCoinOnly() {
+    // Arrange
+    when(coinRepository.findAllWithI18nNamesByIdIn(Collections.singleton(1L)))
+        .thenReturn(Collections.singletonList(coin(1L, "Bitcoin Core", "比特幣核心")));
+    CoinI18nIndex before = indexHolder.current();
+
+    // Act
+    indexHolder.onCoinChanged(new CoinChangedEvent(1L));
+
+    // Assert
+    CoinI18nIndex index = indexHolder.current();
+    assertNull(index.findCoinId("Bitcoin"));
+    assertEquals(1L, index.findCoinId("Bitcoin Core"));
+    assertEquals("比特幣核心", index.resolveName(1L, "zh-TW"));
+    assertEquals("以太幣", index.resolveName(2L, "zh-TW"));
+    assertNotSame(before, index);
+    assertEquals(1L, before.findCoinId("Bitcoin"));
+    assertEquals("比特幣", before.resolveName(1L, "zh-TW"));
+    verify(coinRepository, times(1)).findAllWithI18nNames();
+  }
+
+  @Test
+  @DisplayName("Should drop a coin that no longer exists")
+  void shouldRemoveDeletedCoin() {
+    when(coinRepository.findAllWithI18nNamesByIdIn(Collections.singleton(2L)))
+        .thenReturn(Collections.emptyList());
+
+    indexHolder.onCoinChanged(new CoinChangedEvent(2L));
+
+    assertNull(indexHolder.current().findCoinId("Ethereum"));
+    assertNull(indexHolder.current().resolveName(2L, "zh-TW"));
+    assertEquals(1, indexHolder.current().size());
+  }
+
+  @Test
+  @DisplayName("Should re-read only the coins a bulk change wrote")
+  void shouldUpdateBulkChangedCoinsOnly() {
+    Set<Long> coinIds = new HashSet<>(Arrays.asList(2L, 3L));
+    when(coinRepository.findAllWithI18nNamesByIdIn(coinIds))
+        .thenReturn(Arrays.asList(coin(2L, "Ethereum", "乙太幣"), coin(3L, "Litecoin", "萊特幣")));
+
+    indexHolder.onCoinChanged(CoinChangedEvent.bulk(coinIds));
+
+    assertEquals(3, indexHolder.current().size());
+    assertEquals("比特幣", indexHolder.current().resolveName(1L, "zh-TW"));
+    assertEquals("乙太幣", indexHolder.current().resolveName(2L, "zh-TW"));
+    assertEquals(3L, indexHolder.current().findCoinId("Litecoin"));
+    verify(coinRepository, times(1)).findAllWithI18nNames();
+  }
+
+  private static Coin coin(Long id, String name, String chinese) {
+    Coin coin = new Coin(name);
+    coin.setId(id);
+    coin.getI18nNames().add(new CoinI18n(coin, "zh-TW", chinese));
+    return coin;
+  }
+}
@@ -0,0 +1,55 @@
+package io.jistud.coindesk.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import io.jistud.coindesk.repository.CoinRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks against the migrated H2 schema that duplicate names are recognized by the {@code
+ * uk_coins_name} constraint they violate.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class CoinNameConstraintTest {
+
+  @Autowired private CoinService coinService;
+
+  @Autowired private CoinRepository coinRepository;
+
+  @AfterEach
+  void tearDown() {
+    coinRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Should report a duplicate name on create")
+  void shouldReportDuplicateNameOnCreate() {
+    coinService.createCoin("Bitcoin", null);
+
+    IllegalStateException exception =
+        assertThrows(IllegalStateException.class, () -> coinService.createCoin("Bitcoin", null));
+
+    assertEquals("Coin with name 'Bitcoin' already exists", exception.getMessage());
+  }
+
+  @Test
+  @DisplayName("Should report a duplicate name on rename")
+  void shouldReportDuplicateNameOnRename() {
+    coinService.createCoin("Bitcoin", null);
+    Long ethereum = coinService.createCoin("Ethereum", null).getId();
+
+    IllegalStateException exception =
+        assertThrows(
+            IllegalStateException.class, () -> coinService.updateCoin(ethereum, "Bitcoin", null));
+
+    assertEquals(
+        "Coin with name 'Bitcoin' already exists for a different coin", exception.getMessage());
+  }
+}
@@ -0,0 +1,103 @@
+package io.jistud.coindesk.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.jistud.coindesk.dto.CoinSearchResult;
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.entity.CoinI18n;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoinSearchIndexTest {
+
+  private CoinSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index =
+        CoinSearchIndex.of(
+            Arrays.asList(
+                coin(1L, "Bitcoin", "ja", "ビットコイン", "zh-TW", "比特幣"),
+                coin(2L, "Wrapped Bitcoin"),
+                coin(3L, "Ethereum", "ja", "イーサリアム"),
+                coin(4L, "Bitcoin Cash")));
+  }
+
+  @Test
+  @DisplayName("Should rank prefix matches before substring matches")
+  void shouldRankPrefixMatchesFirst() {
+    assertEquals(Arrays.asList(1L, 4L, 2L), ids(index.search("bitco", null, 10)));
+  }
+
+  @Test
+  @DisplayName("Should stop at the limit")
+  void shouldStopAtLimit() {
+    assertEquals(Arrays.asList(1L, 4L), ids(index.search("bitcoin", null, 2)));
+  }
+
+  @Test
+  @DisplayName("Should match localized names and report the matching language")
+  void shouldMatchLocalizedNames() {
+    List<CoinSearchResult> results = index.search("サリ", null, 10);
+
+    assertEquals(0, results.size(), "two-character queries only match prefixes");
+
+    results = index.search("ーサリ", null, 10);
+    assertEquals(1, results.size());
+    assertEquals("Ethereum", results.get(0).getName());
+    assertEquals("イーサリアム", results.get(0).getMatchedName());
+    assertEquals("ja", results.get(0).getLangCode());
+
+    assertEquals(Arrays.asList(1L), ids(index.search("比特", null, 10)));
+  }
+
+  @Test
+  @DisplayName("Should only match localized names in the requested language")
+  void shouldFilterByLanguage() {
+    assertEquals(Arrays.asList(1L), ids(index.search("比特幣", "zh_tw", 10)));
+    assertTrue(index.search("比特幣", "ja", 10).isEmpty());
+    // Default names match whatever the language
+    assertEquals(Arrays.asList(3L), ids(index.search("ether", "ja", 10)));
+  }
+
+  @Test
+  @DisplayName("Should list a coin once even when several of its names match")
+  void shouldListEachCoinOnce() {
+    index.put(coin(5L, "Tether", "en", "Tether USD"));
+
+    List<CoinSearchResult> results = index.search("tether", null, 10);
+
+    assertEquals(1, results.size());
+    assertEquals("Tether", results.get(0).getMatchedName());
+  }
+
+  @Test
+  @DisplayName("Should reflect renamed and removed coins")
+  void shouldUpdateIncrementally() {
+    index.put(coin(2L, "Wrapped Ether", "ja", "ラップドイーサ"));
+    index.remove(4L);
+
+    assertEquals(Arrays.asList(1L), ids(index.search("bitcoin", null, 10)));
+    assertEquals(Arrays.asList(3L, 2L), ids(index.search("ether", null, 10)));
+    assertEquals(3, index.size());
+  }
+
+  private static List<Long> ids(List<CoinSearchResult> results) {
+    return results.stream().map(CoinSearchResult::getId).collect(Collectors.toList());
+  }
+
+  private static Coin coin(Long id, String name, String... i18nNames) {
+    Coin coin = new Coin(name);
+    coin.setId(id);
+    for (int i = 0; i < i18nNames.length; i += 2) {
+      coin.addI18nName(new CoinI18n(coin, i18nNames[i], i18nNames[i + 1]));
+    }
+    return coin;
+  }
+}
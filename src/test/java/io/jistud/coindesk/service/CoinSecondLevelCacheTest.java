@@ -0,0 +1,206 @@
+package io.jistud.coindesk.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.jistud.coindesk.dto.CoinCreateRequest;
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.entity.CoinI18n;
+import io.jistud.coindesk.repository.CoinRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifies that coins are served from the second-level and query caches and that every write,
+ * including the ones made with plain JDBC, leaves no stale entry behind.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class CoinSecondLevelCacheTest {
+
+  @Autowired private CoinService coinService;
+
+  @Autowired private CoinRepository coinRepository;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @AfterEach
+  void tearDown() {
+    coinRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("Should serve a coin and its i18n names from the cache once loaded")
+  void shouldServeCoinFromCache() {
+    Long id = coinService.createCoin("Bitcoin", Collections.singletonMap("ja", "ビットコイン")).getId();
+    readI18nNames(id);
+
+    statistics.clear();
+    assertEquals(Collections.singletonMap("ja", "ビットコイン"), readI18nNames(id));
+
+    assertEquals(0, statistics.getPrepareStatementCount());
+    assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+  }
+
+  @Test
+  @DisplayName("Should publish hit ratios from the cache's own statistics")
+  void shouldPublishHitRatios() {
+    Long id = coinService.createCoin("Bitcoin", Collections.singletonMap("ja", "ビットコイン")).getId();
+    readI18nNames(id);
+    readI18nNames(id);
+
+    double hitRatio =
+        meterRegistry
+            .get("coindesk.cache.l2.hit.ratio")
+            .tag("region", Coin.CACHE_REGION)
+            .gauge()
+            .value();
+    assertTrue(hitRatio > 0 && hitRatio <= 1, "hit ratio " + hitRatio);
+    assertTrue(
+        meterRegistry
+                .get("cache.gets")
+                .tags("cache", Coin.CACHE_REGION, "result", "hit")
+                .functionCounter()
+                .count()
+            > 0);
+  }
+
+  @Test
+  @DisplayName("Should serve repeated findByName calls from the query cache")
+  void shouldServeFindByNameFromQueryCache() {
+    coinService.createCoin("Bitcoin", null);
+    assertTrue(coinService.findByName("Bitcoin").isPresent());
+
+    statistics.clear();
+    assertTrue(coinService.findByName("Bitcoin").isPresent());
+
+    assertEquals(1, statistics.getQueryCacheHitCount());
+    assertEquals(0, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  @DisplayName("Should not serve stale names after updateCoin")
+  void shouldEvictOnUpdate() {
+    Long id = coinService.createCoin("Bitcoin", Collections.singletonMap("ja", "ビットコイン")).getId();
+    readI18nNames(id);
+    assertTrue(coinService.findByName("Bitcoin").isPresent());
+
+    Map<String, String> i18nNames = new HashMap<>();
+    i18nNames.put("ja", "ビットコイン2");
+    i18nNames.put("zh-TW", "比特幣");
+    coinService.updateCoin(id, "Bitcoin Cash", i18nNames);
+
+    assertEquals(new TreeMap<>(i18nNames), readI18nNames(id));
+    assertEquals("Bitcoin Cash", coinService.findById(id).map(Coin::getName).orElse(null));
+    assertFalse(coinService.findByName("Bitcoin").isPresent());
+    assertTrue(coinService.findByName("Bitcoin Cash").isPresent());
+  }
+
+  @Test
+  @DisplayName("Should evict only the updated coin's localized names")
+  void shouldEvictOnlyTheUpdatedCoinsNames() {
+    Long bitcoin =
+        coinService.createCoin("Bitcoin", Collections.singletonMap("ja", "ビットコイン")).getId();
+    Long ethereum =
+        coinService.createCoin("Ethereum", Collections.singletonMap("ja", "イーサリアム")).getId();
+    Long bitcoinName = i18nId(bitcoin);
+    Long ethereumName = i18nId(ethereum);
+    Cache cache = entityManagerFactory.getCache();
+    assertTrue(cache.contains(CoinI18n.class, bitcoinName));
+    assertTrue(cache.contains(CoinI18n.class, ethereumName));
+
+    coinService.updateCoin(bitcoin, "Bitcoin", Collections.singletonMap("ja", "ビットコイン2"));
+
+    assertFalse(cache.contains(CoinI18n.class, bitcoinName));
+    assertTrue(cache.contains(CoinI18n.class, ethereumName));
+    assertEquals(Collections.singletonMap("ja", "ビットコイン2"), readI18nNames(bitcoin));
+  }
+
+  @Test
+  @DisplayName("Should not serve a deleted coin after deleteCoin")
+  void shouldEvictOnDelete() {
+    Long id = coinService.createCoin("Bitcoin", Collections.singletonMap("ja", "ビットコイン")).getId();
+    readI18nNames(id);
+    assertTrue(coinService.findByName("Bitcoin").isPresent());
+
+    coinService.deleteCoin(id);
+
+    assertFalse(coinService.findById(id).isPresent());
+    assertFalse(coinService.findByName("Bitcoin").isPresent());
+  }
+
+  @Test
+  @DisplayName("Should see coins written by the JDBC bulk writer")
+  void shouldEvictAfterBulkWrite() {
+    Long id = coinService.createCoin("Bitcoin", Collections.singletonMap("ja", "ビットコイン")).getId();
+    readI18nNames(id);
+    assertFalse(coinService.findByName("Ethereum").isPresent());
+
+    coinService.createCoins(
+        Arrays.asList(
+            request("Bitcoin", Collections.singletonMap("ko", "비트코인")),
+            request("Ethereum", null)),
+        true);
+
+    assertTrue(coinService.findByName("Ethereum").isPresent());
+    assertEquals(2, readI18nNames(id).size());
+  }
+
+  /** Loads a coin's i18n names the way lazy access does, through the second-level cache. */
+  private Map<String, String> readI18nNames(Long id) {
+    return new TransactionTemplate(transactionManager)
+        .execute(
+            status -> {
+              Map<String, String> names = new TreeMap<>();
+              for (CoinI18n i18n : coinRepository.findById(id).get().getI18nNames()) {
+                names.put(i18n.getLangCode(), i18n.getName());
+              }
+              return names;
+            });
+  }
+
+  /** Loads a coin's only localized name through the second-level cache and returns its id. */
+  private Long i18nId(Long coinId) {
+    return new TransactionTemplate(transactionManager)
+        .execute(
+            status ->
+                coinRepository.findById(coinId).get().getI18nNames().iterator().next().getId());
+  }
+
+  private static CoinCreateRequest request(String name, Map<String, String> i18nNames) {
+    CoinCreateRequest request = new CoinCreateRequest();
+    request.setName(name);
+    request.setI18nNames(i18nNames);
+    return request;
+  }
+}
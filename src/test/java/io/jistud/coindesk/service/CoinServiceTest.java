@@ -1,7 +1,9 @@
 package io.jistud.coindesk.service;
 
+import java.sql.SQLException;
 import java.util.*;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,14 +12,22 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import io.jistud.coindesk.dto.CoinBatchItemResult;
+import io.jistud.coindesk.dto.CoinCreateRequest;
 import io.jistud.coindesk.entity.Coin;
 import io.jistud.coindesk.entity.CoinI18n;
+import io.jistud.coindesk.exception.CoinNotFoundException;
+import io.jistud.coindesk.repository.CoinBatchRepository;
 import io.jistud.coindesk.repository.CoinI18nRepository;
 import io.jistud.coindesk.repository.CoinRepository;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,15 +37,21 @@ public class CoinServiceTest {
 
   @Mock private CoinI18nRepository coinI18nRepository;
 
+  @Mock private CoinBatchRepository coinBatchRepository;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
   @Captor private ArgumentCaptor<Coin> coinCaptor;
 
-  @Captor private ArgumentCaptor<CoinI18n> coinI18nCaptor;
+  @Captor private ArgumentCaptor<CoinChangedEvent> eventCaptor;
 
   private CoinService coinService;
 
   @BeforeEach
   void setUp() {
-    coinService = new CoinServiceImpl(coinRepository, coinI18nRepository);
+    coinService =
+        new CoinServiceImpl(
+            coinRepository, coinI18nRepository, coinBatchRepository, eventPublisher);
   }
 
   @Test
@@ -46,24 +62,25 @@ public class CoinServiceTest {
     Coin savedCoin = new Coin(coinName);
     savedCoin.setId(1L);
 
-    when(coinRepository.existsByName(coinName)).thenReturn(false);
-    when(coinRepository.save(any(Coin.class))).thenReturn(savedCoin);
+    when(coinRepository.saveAndFlush(any(Coin.class))).thenReturn(savedCoin);
 
     // Act
     Coin result = coinService.createCoin(coinName, null);
 
     // Assert
-    verify(coinRepository, times(1)).save(coinCaptor.capture());
+    verify(coinRepository, times(1)).saveAndFlush(coinCaptor.capture());
     Coin capturedCoin = coinCaptor.getValue();
 
     assertEquals(coinName, capturedCoin.getName());
     assertEquals(1L, result.getId());
     assertEquals(coinName, result.getName());
+    verify(coinRepository, never()).existsByName(any());
+    verify(coinRepository, never()).findById(any());
     verify(coinI18nRepository, never()).save(any(CoinI18n.class));
   }
 
   @Test
-  @DisplayName("Should create a coin with i18n names")
+  @DisplayName("Should create a coin with i18n names cascaded from the coin")
   void shouldCreateCoinWithI18nNames() {
     // Arrange
     String coinName = "Bitcoin";
@@ -71,59 +88,80 @@ public class CoinServiceTest {
     i18nNames.put("zh-TW", "比特幣");
     i18nNames.put("ja", "ビットコイン");
 
-    Coin savedCoin = new Coin(coinName);
-    savedCoin.setId(1L);
-
-    when(coinRepository.existsByName(coinName)).thenReturn(false);
-    when(coinRepository.save(any(Coin.class))).thenReturn(savedCoin);
+    when(coinRepository.saveAndFlush(any(Coin.class)))
+        .thenAnswer(
+            invocation -> {
+              Coin coin = invocation.getArgument(0);
+              coin.setId(1L);
+              return coin;
+            });
 
     // Act
     Coin result = coinService.createCoin(coinName, i18nNames);
 
     // Assert
-    verify(coinRepository, times(1)).save(coinCaptor.capture());
+    verify(coinRepository, times(1)).saveAndFlush(coinCaptor.capture());
     Coin capturedCoin = coinCaptor.getValue();
 
     assertEquals(coinName, capturedCoin.getName());
     assertEquals(1L, result.getId());
 
-    // Verify i18n entries were saved
-    verify(coinI18nRepository, times(2)).save(coinI18nCaptor.capture());
+    // The i18n entries travel with the coin instead of being saved one by one
+    verify(coinI18nRepository, never()).save(any(CoinI18n.class));
 
-    // Check that the captured values contain both language entries
+    // Check that the coin carries both language entries
     boolean zhTwFound = false;
     boolean jaFound = false;
 
-    for (CoinI18n i18n : coinI18nCaptor.getAllValues()) {
+    for (CoinI18n i18n : capturedCoin.getI18nNames()) {
       if ("zh-TW".equals(i18n.getLangCode()) && "比特幣".equals(i18n.getName())) {
         zhTwFound = true;
       } else if ("ja".equals(i18n.getLangCode()) && "ビットコイン".equals(i18n.getName())) {
         jaFound = true;
       }
-      assertEquals(savedCoin, i18n.getCoin());
+      assertEquals(capturedCoin, i18n.getCoin());
     }
 
     assertTrue(zhTwFound, "Traditional Chinese translation should be saved");
     assertTrue(jaFound, "Japanese translation should be saved");
+    assertEquals(2, result.getI18nNames().size(), "The response sees the cascaded entries");
   }
 
-  // We'll keep the unique name validation test as it's a business rule validation
   @Test
   @DisplayName("Should throw exception when coin name already exists")
   void shouldThrowExceptionWhenCoinNameAlreadyExists() {
-    // Arrange
+    // Arrange: the unique constraint rejects the insert
     String existingName = "Bitcoin";
-    when(coinRepository.existsByName(existingName)).thenReturn(true);
+    when(coinRepository.saveAndFlush(any(Coin.class)))
+        .thenThrow(violation("PUBLIC.UK_COINS_NAME_INDEX_4 ON PUBLIC.COINS(NAME) VALUES 1"));
 
     // Act & Assert
-    assertThrows(
-        IllegalStateException.class,
-        () -> {
-          coinService.createCoin(existingName, null);
-        });
+    Exception exception =
+        assertThrows(
+            IllegalStateException.class,
+            () -> {
+              coinService.createCoin(existingName, null);
+            });
 
-    verify(coinRepository).existsByName(existingName);
-    verify(coinRepository, never()).save(any(Coin.class));
+    assertEquals("Coin with name '" + existingName + "' already exists", exception.getMessage());
+    verify(coinRepository, never()).existsByName(any());
+    verify(eventPublisher, never()).publishEvent(any(CoinChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Should rethrow integrity violations of other constraints unchanged")
+  void shouldRethrowOtherIntegrityViolations() {
+    // Arrange: e.g. a name longer than the column allows
+    DataIntegrityViolationException violation = violation(null);
+    when(coinRepository.saveAndFlush(any(Coin.class))).thenThrow(violation);
+
+    // Act & Assert
+    DataIntegrityViolationException exception =
+        assertThrows(
+            DataIntegrityViolationException.class, () -> coinService.createCoin("Bitcoin", null));
+
+    assertSame(violation, exception);
+    verify(eventPublisher, never()).publishEvent(any(CoinChangedEvent.class));
   }
 
   @Test
@@ -207,18 +245,13 @@ public class CoinServiceTest {
   void shouldUpdateCoinNameSuccessfully() {
     // Arrange
     Long coinId = 1L;
-    String oldName = "Bitcoin";
     String newName = "Bitcoin Updated";
 
-    Coin existingCoin = new Coin(oldName);
-    existingCoin.setId(coinId);
-
     Coin updatedCoin = new Coin(newName);
     updatedCoin.setId(coinId);
 
-    when(coinRepository.findById(coinId)).thenReturn(Optional.of(existingCoin));
-    when(coinRepository.findByName(newName)).thenReturn(Optional.empty());
-    when(coinRepository.save(any(Coin.class))).thenReturn(updatedCoin);
+    when(coinRepository.updateName(eq(coinId), eq(newName), any())).thenReturn(1);
+    when(coinRepository.findWithI18nNamesById(coinId)).thenReturn(Optional.of(updatedCoin));
 
     // Act
     Coin result = coinService.updateCoin(coinId, newName, null);
@@ -226,131 +259,44 @@ public class CoinServiceTest {
     // Assert
     assertNotNull(result);
     assertEquals(newName, result.getName());
-    verify(coinRepository).findById(coinId);
-    verify(coinRepository).findByName(newName);
-    verify(coinRepository).save(any(Coin.class));
-    verify(coinI18nRepository, never()).save(any(CoinI18n.class));
+    verify(coinRepository, never()).findById(any());
+    verify(coinRepository, never()).findByName(any());
+    verify(coinRepository, never()).save(any(Coin.class));
+    verify(coinBatchRepository, never()).upsertI18nNames(any());
+    verify(eventPublisher).publishEvent(any(CoinChangedEvent.class));
   }
 
   @Test
-  @DisplayName("Should update coin with i18n names")
+  @DisplayName("Should merge i18n names with one upsert and preserve non-updated entries")
   void shouldUpdateCoinWithI18nNames() {
     // Arrange
     Long coinId = 1L;
     String coinName = "Bitcoin";
     Map<String, String> i18nNames = new HashMap<>();
-    i18nNames.put("zh-TW", "比特幣");
+    i18nNames.put("zh-TW", "比特幣-更新");
     i18nNames.put("ja", "ビットコイン");
 
-    Coin existingCoin = new Coin(coinName);
-    existingCoin.setId(coinId);
-
-    List<CoinI18n> existingI18ns = new ArrayList<>(); // Empty list, no existing i18ns
+    Coin updatedCoin = new Coin(coinName);
+    updatedCoin.setId(coinId);
+    updatedCoin.addI18nName(new CoinI18n(updatedCoin, "zh-TW", "比特幣-更新"));
+    updatedCoin.addI18nName(new CoinI18n(updatedCoin, "ja", "ビットコイン"));
+    updatedCoin.addI18nName(new CoinI18n(updatedCoin, "fr", "Bitcoin"));
 
-    when(coinRepository.findById(coinId)).thenReturn(Optional.of(existingCoin));
-    when(coinRepository.findByName(coinName))
-        .thenReturn(Optional.of(existingCoin)); // Same coin, should be allowed
-    when(coinRepository.save(any(Coin.class))).thenReturn(existingCoin);
-    when(coinI18nRepository.findByCoinId(coinId)).thenReturn(existingI18ns);
+    when(coinRepository.updateName(eq(coinId), eq(coinName), any())).thenReturn(1);
+    when(coinRepository.findWithI18nNamesById(coinId)).thenReturn(Optional.of(updatedCoin));
 
     // Act
     Coin result = coinService.updateCoin(coinId, coinName, i18nNames);
 
     // Assert
-    assertNotNull(result);
-    assertEquals(coinName, result.getName());
-    verify(coinRepository).findById(coinId);
-    verify(coinRepository).findByName(coinName);
-    verify(coinRepository).save(any(Coin.class));
-
-    // Verify i18n entries were saved
-    verify(coinI18nRepository, times(2)).save(coinI18nCaptor.capture());
-
-    // Check that the captured values contain both language entries
-    boolean zhTwFound = false;
-    boolean jaFound = false;
-
-    for (CoinI18n i18n : coinI18nCaptor.getAllValues()) {
-      if ("zh-TW".equals(i18n.getLangCode()) && "比特幣".equals(i18n.getName())) {
-        zhTwFound = true;
-      } else if ("ja".equals(i18n.getLangCode()) && "ビットコイン".equals(i18n.getName())) {
-        jaFound = true;
-      }
-      assertEquals(existingCoin, i18n.getCoin());
-    }
-
-    assertTrue(zhTwFound, "Traditional Chinese translation should be saved");
-    assertTrue(jaFound, "Japanese translation should be saved");
-  }
-
-  @Test
-  @DisplayName("Should update existing i18n names for coin and preserve non-updated entries")
-  void shouldUpdateExistingI18nNames() {
-    // Arrange
-    Long coinId = 1L;
-    String coinName = "Bitcoin";
-
-    // Updated i18n names - only updating zh-TW and ja, not fr
-    Map<String, String> updatedI18nNames = new HashMap<>();
-    updatedI18nNames.put("zh-TW", "比特幣-更新");
-    updatedI18nNames.put("ja", "ビットコイン-更新");
-
-    Coin existingCoin = new Coin(coinName);
-    existingCoin.setId(coinId);
-
-    // Existing i18n entries - includes three languages
-    CoinI18n existingZhTw = new CoinI18n(existingCoin, "zh-TW", "比特幣");
-    CoinI18n existingJa = new CoinI18n(existingCoin, "ja", "ビットコイン");
-    CoinI18n existingFr = new CoinI18n(existingCoin, "fr", "Bitcoin");
-    List<CoinI18n> existingI18ns = Arrays.asList(existingZhTw, existingJa, existingFr);
-
-    when(coinRepository.findById(coinId)).thenReturn(Optional.of(existingCoin));
-    when(coinRepository.findByName(coinName))
-        .thenReturn(Optional.of(existingCoin)); // Same coin, should be allowed
-    when(coinRepository.save(any(Coin.class))).thenReturn(existingCoin);
-    when(coinI18nRepository.findByCoinId(coinId)).thenReturn(existingI18ns);
-
-    // Act
-    Coin result = coinService.updateCoin(coinId, coinName, updatedI18nNames);
-
-    // Assert
-    assertNotNull(result);
-    assertEquals(coinName, result.getName());
-    verify(coinRepository).findById(coinId);
-    verify(coinRepository).findByName(coinName);
-    verify(coinRepository).save(any(Coin.class));
-
-    // Verify i18n entries were updated (only zh-TW and ja)
-    verify(coinI18nRepository, times(2)).save(coinI18nCaptor.capture());
-
-    // Check that the captured values contain updated language entries
-    boolean zhTwUpdated = false;
-    boolean jaUpdated = false;
-    boolean frInCaptor = false;
-
-    for (CoinI18n i18n : coinI18nCaptor.getAllValues()) {
-      if ("zh-TW".equals(i18n.getLangCode()) && "比特幣-更新".equals(i18n.getName())) {
-        zhTwUpdated = true;
-      } else if ("ja".equals(i18n.getLangCode()) && "ビットコイン-更新".equals(i18n.getName())) {
-        jaUpdated = true;
-      } else if ("fr".equals(i18n.getLangCode())) {
-        frInCaptor = true;
-      }
-    }
-
-    assertTrue(zhTwUpdated, "Traditional Chinese translation should be updated");
-    assertTrue(jaUpdated, "Japanese translation should be updated");
-    assertFalse(
-        frInCaptor,
-        "French translation should not be in the captor as it was not in the update request");
-
-    // Verify the French translation is preserved by not being deleted
+    verify(coinBatchRepository).upsertI18nNames(Collections.singletonMap(coinId, i18nNames));
+    verify(coinI18nRepository, never()).save(any(CoinI18n.class));
     verify(coinI18nRepository, never()).delete(any(CoinI18n.class));
-    verify(coinI18nRepository, never()).deleteById(any(Long.class));
+    assertEquals(3, result.getI18nNames().size(), "Languages not sent are preserved");
   }
 
   @Test
-  @DisplayName("Should throw exception when updating non-existent coin with i18n names")
+  @DisplayName("Should throw CoinNotFoundException when no coin has the ID")
   void shouldThrowExceptionWhenUpdatingNonExistentCoinWithI18nNames() {
     // Arrange
     Long coinId = 1L;
@@ -358,20 +304,19 @@ public class CoinServiceTest {
     Map<String, String> i18nNames = new HashMap<>();
     i18nNames.put("zh-TW", "比特幣");
 
-    when(coinRepository.findById(coinId)).thenReturn(Optional.empty());
+    when(coinRepository.updateName(eq(coinId), eq(newName), any())).thenReturn(0);
 
     // Act & Assert
     Exception exception =
         assertThrows(
-            IllegalArgumentException.class,
+            CoinNotFoundException.class,
             () -> {
               coinService.updateCoin(coinId, newName, i18nNames);
             });
 
     assertEquals("Coin with ID " + coinId + " not found", exception.getMessage());
-    verify(coinRepository).findById(coinId);
-    verify(coinRepository, never()).save(any(Coin.class));
-    verify(coinI18nRepository, never()).save(any(CoinI18n.class));
+    verify(coinBatchRepository, never()).upsertI18nNames(any());
+    verify(eventPublisher, never()).publishEvent(any(CoinChangedEvent.class));
   }
 
   @Test
@@ -380,19 +325,10 @@ public class CoinServiceTest {
   void shouldThrowExceptionWhenUpdatingCoinWithExistingNameForDifferentCoin() {
     // Arrange
     Long coinId = 1L;
-    Long differentCoinId = 2L;
-    String existingName = "Bitcoin";
     String newName = "Ethereum"; // Trying to use a name that already exists for a different coin
 
-    Coin existingCoin = new Coin(existingName);
-    existingCoin.setId(coinId);
-
-    Coin differentCoin = new Coin(newName);
-    differentCoin.setId(differentCoinId);
-
-    when(coinRepository.findById(coinId)).thenReturn(Optional.of(existingCoin));
-    when(coinRepository.findByName(newName))
-        .thenReturn(Optional.of(differentCoin)); // Different coin with this name exists
+    when(coinRepository.updateName(eq(coinId), eq(newName), any()))
+        .thenThrow(violation("PUBLIC.UK_COINS_NAME_INDEX_4 ON PUBLIC.COINS(NAME) VALUES 1"));
 
     // Act & Assert
     Exception exception =
@@ -405,40 +341,28 @@ public class CoinServiceTest {
     assertEquals(
         "Coin with name '" + newName + "' already exists for a different coin",
         exception.getMessage());
-    verify(coinRepository).findById(coinId);
-    verify(coinRepository).findByName(newName);
-    verify(coinRepository, never()).save(any(Coin.class));
+    verify(coinRepository, never()).findWithI18nNamesById(any());
+    verify(eventPublisher, never()).publishEvent(any(CoinChangedEvent.class));
   }
 
   @Test
   @DisplayName("Should allow updating a coin while keeping the same name")
   void shouldAllowUpdatingCoinWithSameName() {
-    // Arrange
+    // Arrange: renaming a coin to its own name does not trip the unique constraint
     Long coinId = 1L;
     String sameName = "Bitcoin";
-    Map<String, String> i18nNames = new HashMap<>();
-    i18nNames.put("zh-TW", "比特幣-新版");
-
-    Coin existingCoin = new Coin(sameName);
-    existingCoin.setId(coinId);
-
-    List<CoinI18n> existingI18ns = new ArrayList<>();
+    Coin coin = new Coin(sameName);
+    coin.setId(coinId);
 
-    when(coinRepository.findById(coinId)).thenReturn(Optional.of(existingCoin));
-    when(coinRepository.findByName(sameName))
-        .thenReturn(Optional.of(existingCoin)); // Same coin, same name
-    when(coinRepository.save(any(Coin.class))).thenReturn(existingCoin);
-    when(coinI18nRepository.findByCoinId(coinId)).thenReturn(existingI18ns);
+    when(coinRepository.updateName(eq(coinId), eq(sameName), any())).thenReturn(1);
+    when(coinRepository.findWithI18nNamesById(coinId)).thenReturn(Optional.of(coin));
 
     // Act
-    Coin result = coinService.updateCoin(coinId, sameName, i18nNames);
+    Coin result = coinService.updateCoin(coinId, sameName, Collections.emptyMap());
 
     // Assert
-    assertNotNull(result);
     assertEquals(sameName, result.getName());
-    verify(coinRepository).findById(coinId);
-    verify(coinRepository).findByName(sameName);
-    verify(coinRepository).save(any(Coin.class));
+    verify(coinBatchRepository, never()).upsertI18nNames(any());
   }
 
   @Test
@@ -446,20 +370,16 @@ public class CoinServiceTest {
   void shouldDeleteCoinAndI18nEntries() {
     // Arrange
     Long coinId = 1L;
-    Coin coin = new Coin("Bitcoin");
-    coin.setId(coinId);
-
-    when(coinRepository.findById(coinId)).thenReturn(Optional.of(coin));
-    doNothing().when(coinI18nRepository).deleteByCoinId(coinId);
-    doNothing().when(coinRepository).delete(coin);
+    when(coinRepository.deleteCoinById(coinId)).thenReturn(1);
 
     // Act
     coinService.deleteCoin(coinId);
 
     // Assert
-    verify(coinRepository).findById(coinId);
+    verify(coinRepository, never()).findById(any());
     verify(coinI18nRepository).deleteByCoinId(coinId);
-    verify(coinRepository).delete(coin);
+    verify(coinRepository).deleteCoinById(coinId);
+    verify(eventPublisher).publishEvent(any(CoinChangedEvent.class));
   }
 
   @Test
@@ -467,19 +387,119 @@ public class CoinServiceTest {
   void shouldThrowExceptionWhenDeletingNonExistentCoin() {
     // Arrange
     Long nonExistentId = 999L;
-    when(coinRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+    when(coinRepository.deleteCoinById(nonExistentId)).thenReturn(0);
 
     // Act & Assert
     Exception exception =
         assertThrows(
-            IllegalArgumentException.class,
+            CoinNotFoundException.class,
             () -> {
               coinService.deleteCoin(nonExistentId);
             });
 
     assertEquals("Coin with ID " + nonExistentId + " not found", exception.getMessage());
-    verify(coinRepository).findById(nonExistentId);
-    verify(coinI18nRepository, never()).deleteByCoinId(anyLong());
     verify(coinRepository, never()).delete(any(Coin.class));
+    verify(eventPublisher, never()).publishEvent(any(CoinChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Should create coins in bulk with set-based queries and report each item")
+  void shouldCreateCoinsInBulk() {
+    // Arrange
+    List<CoinCreateRequest> requests =
+        Arrays.asList(
+            createRequest("Bitcoin", Collections.singletonMap("ja", "ビットコイン")),
+            createRequest("Ethereum", null),
+            createRequest("", null),
+            createRequest("Bitcoin", null),
+            createRequest("Litecoin", Collections.singletonMap("en", "Litecoin")));
+    Map<String, Long> existing = Collections.singletonMap("Ethereum", 2L);
+    Map<String, Long> created = new HashMap<>();
+    created.put("Bitcoin", 10L);
+    created.put("Litecoin", 11L);
+    when(coinBatchRepository.findIdsByNames(anyCollection())).thenReturn(existing);
+    when(coinBatchRepository.insertCoins(Arrays.asList("Bitcoin", "Litecoin"))).thenReturn(created);
+
+    // Act
+    List<CoinBatchItemResult> results = coinService.createCoins(requests, false);
+
+    // Assert
+    assertEquals(5, results.size());
+    assertResult(results.get(0), CoinBatchItemResult.Status.CREATED, 10L);
+    assertResult(results.get(1), CoinBatchItemResult.Status.CONFLICT, 2L);
+    assertResult(results.get(2), CoinBatchItemResult.Status.INVALID, null);
+    assertResult(results.get(3), CoinBatchItemResult.Status.CONFLICT, null);
+    assertResult(results.get(4), CoinBatchItemResult.Status.CREATED, 11L);
+    Map<Long, Map<String, String>> i18n = new LinkedHashMap<>();
+    i18n.put(10L, Collections.singletonMap("ja", "ビットコイン"));
+    i18n.put(11L, Collections.singletonMap("en", "Litecoin"));
+    verify(coinBatchRepository).upsertI18nNames(i18n);
+    verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
+    assertEquals(new HashSet<>(Arrays.asList(10L, 11L)), eventCaptor.getValue().getCoinIds());
+    assertTrue(eventCaptor.getValue().isBulk());
+    verify(coinRepository, never()).save(any(Coin.class));
+  }
+
+  @Test
+  @DisplayName("Should report a name created concurrently as a conflict for that item only")
+  void shouldReportConcurrentlyCreatedNameAsConflict() {
+    // Arrange
+    List<CoinCreateRequest> requests =
+        Arrays.asList(createRequest("Bitcoin", null), createRequest("Litecoin", null));
+    when(coinBatchRepository.findIdsByNames(anyCollection())).thenReturn(Collections.emptyMap());
+    // Bitcoin was committed by another request between the lookup and the insert
+    when(coinBatchRepository.insertCoins(Arrays.asList("Bitcoin", "Litecoin")))
+        .thenReturn(Collections.singletonMap("Litecoin", 11L));
+
+    // Act
+    List<CoinBatchItemResult> results = coinService.createCoins(requests, true);
+
+    // Assert
+    assertResult(results.get(0), CoinBatchItemResult.Status.CONFLICT, null);
+    assertResult(results.get(1), CoinBatchItemResult.Status.CREATED, 11L);
+    verify(eventPublisher).publishEvent(eventCaptor.capture());
+    assertEquals(Collections.singleton(11L), eventCaptor.getValue().getCoinIds());
+  }
+
+  @Test
+  @DisplayName("Should merge i18n names into existing coins when upserting in bulk")
+  void shouldUpsertExistingCoinsInBulk() {
+    // Arrange
+    List<CoinCreateRequest> requests =
+        Collections.singletonList(
+            createRequest("Ethereum", Collections.singletonMap("ja", "イーサリアム")));
+    when(coinBatchRepository.findIdsByNames(anyCollection()))
+        .thenReturn(Collections.singletonMap("Ethereum", 2L));
+    when(coinBatchRepository.insertCoins(Collections.emptyList()))
+        .thenReturn(Collections.emptyMap());
+
+    // Act
+    List<CoinBatchItemResult> results = coinService.createCoins(requests, true);
+
+    // Assert
+    assertResult(results.get(0), CoinBatchItemResult.Status.UPDATED, 2L);
+    verify(coinBatchRepository)
+        .upsertI18nNames(
+            Collections.singletonMap(2L, Collections.singletonMap("ja", "イーサリアム")));
+  }
+
+  private static CoinCreateRequest createRequest(String name, Map<String, String> i18nNames) {
+    CoinCreateRequest request = new CoinCreateRequest();
+    request.setName(name);
+    request.setI18nNames(i18nNames);
+    return request;
+  }
+
+  private static void assertResult(
+      CoinBatchItemResult result, CoinBatchItemResult.Status status, Long id) {
+    assertEquals(status, result.getStatus(), () -> String.valueOf(result.getMessage()));
+    assertEquals(id, result.getId());
+  }
+
+  private static DataIntegrityViolationException violation(String constraintName) {
+    SQLException cause = new SQLException("Integrity constraint violation", "23000");
+    return new DataIntegrityViolationException(
+        "could not execute statement",
+        new ConstraintViolationException("could not execute statement", cause, constraintName));
   }
 }
@@ -0,0 +1,153 @@
+package io.jistud.coindesk.service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.jistud.coindesk.config.CoinDeskProperties;
+import io.jistud.coindesk.dto.CoinDeskResponse;
+import io.jistud.coindesk.dto.CoinDeskTransformedResponse;
+import io.jistud.coindesk.entity.Coin;
+import io.jistud.coindesk.entity.CoinI18n;
+import io.jistud.coindesk.repository.CoinRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveCoinDeskServiceTest {
+
+  private static final String MOCK_RESPONSE =
+      "{"
+          + "\"time\": {"
+          + "\"updated\": \"Feb 21, 2023 14:22:00 UTC\","
+          + "\"updatedISO\": \"2023-02-21T14:22:00+00:00\","
+          + "\"updateduk\": \"Feb 21, 2023 at 14:22 GMT\""
+          + "},"
+          + "\"disclaimer\": \"This data was produced from the CoinDesk Bitcoin Price Index (USD).\","
+          + "\"chartName\": \"Bitcoin\","
+          + "\"bpi\": {"
+          + "\"USD\": {"
+          + "\"code\": \"USD\","
+          + "\"symbol\": \"&#36;\","
+          + "\"rate\": \"24,870.9308\","
+          + "\"description\": \"United States Dollar\","
+          + "\"rate_float\": 24870.9308"
+          + "}"
+          + "}"
+          + "}";
+
+  @Mock private CoinRepository coinRepository;
+
+  private CoinI18nIndexHolder indexHolder;
+
+  private AtomicInteger upstreamCalls;
+  private HttpStatus upstreamStatus;
+  private ReactiveCoinDeskService coinDeskService;
+
+  @BeforeEach
+  void setUp() {
+    upstreamCalls = new AtomicInteger();
+    upstreamStatus = HttpStatus.OK;
+
+    WebClient webClient =
+        WebClient.builder()
+            .exchangeFunction(
+                request -> {
+                  upstreamCalls.incrementAndGet();
+                  return Mono.just(
+                          ClientResponse.create(upstreamStatus)
+                              .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                              .body(MOCK_RESPONSE)
+                              .build())
+                      .delayElement(Duration.ofMillis(20));
+                })
+            .build();
+
+    CoinDeskProperties properties = new CoinDeskProperties();
+    properties.getCache().setTtl(Duration.ofMinutes(1));
+    indexHolder = new CoinI18nIndexHolder(coinRepository);
+    coinDeskService =
+        new ReactiveCoinDeskServiceImpl(
+            webClient,
+            new CoinDeskPayloadParser(),
+            new CoinDeskResponseTransformer(indexHolder),
+            properties);
+  }
+
+  @Test
+  @DisplayName("Should fetch current Bitcoin price data without blocking")
+  void shouldFetchBitcoinPriceData() {
+    StepVerifier.create(coinDeskService.getCurrentBitcoinPrice())
+        .assertNext(
+            response -> {
+              assertEquals("Bitcoin", response.getChartName());
+              assertEquals(24870.9308, response.getBpi().get("USD").getRateFloat());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("Should share one upstream request between concurrent subscribers")
+  void shouldShareUpstreamRequestBetweenSubscribers() {
+    Mono<CoinDeskResponse> price = coinDeskService.getCurrentBitcoinPrice();
+
+    StepVerifier.create(Flux.merge(price, price, price, price).collectList())
+        .assertNext(responses -> assertEquals(4, responses.size()))
+        .verifyComplete();
+    StepVerifier.create(price).expectNextCount(1).verifyComplete();
+
+    assertEquals(1, upstreamCalls.get());
+  }
+
+  @Test
+  @DisplayName("Should not cache upstream errors")
+  void shouldNotCacheUpstreamErrors() {
+    upstreamStatus = HttpStatus.INTERNAL_SERVER_ERROR;
+    StepVerifier.create(coinDeskService.getCurrentBitcoinPrice())
+        .expectError(WebClientResponseException.class)
+        .verify();
+
+    upstreamStatus = HttpStatus.OK;
+    StepVerifier.create(coinDeskService.getCurrentBitcoinPrice())
+        .expectNextCount(1)
+        .verifyComplete();
+
+    assertEquals(2, upstreamCalls.get());
+  }
+
+  @Test
+  @DisplayName("Should transform response with localized name")
+  void shouldTransformResponseWithLocalizedName() {
+    Coin bitcoin = new Coin("Bitcoin");
+    bitcoin.setId(1L);
+    bitcoin.getI18nNames().add(new CoinI18n(bitcoin, "zh-TW", "比特幣"));
+    when(coinRepository.findAllWithI18nNames()).thenReturn(Collections.singletonList(bitcoin));
+    indexHolder.reload();
+
+    StepVerifier.create(coinDeskService.getTransformedCoinDeskData("zh-TW"))
+        .assertNext(
+            (CoinDeskTransformedResponse response) -> {
+              assertEquals("Bitcoin", response.getName());
+              assertEquals("比特幣", response.getLocalizedName());
+              assertNotNull(response.getUpdateTime());
+            })
+        .verifyComplete();
+  }
+}